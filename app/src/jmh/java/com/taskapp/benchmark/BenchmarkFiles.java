@@ -0,0 +1,88 @@
+package com.taskapp.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * ベンチマーク用のCSVファイルを一時ディレクトリに作成します。
+ * 内容は件数だけで決まるため、同じ件数なら毎回同じファイルになります。
+ */
+final class BenchmarkFiles {
+    private BenchmarkFiles() {
+    }
+
+    static Path createDirectory() throws IOException {
+        return Files.createTempDirectory("taskapp-jmh");
+    }
+
+    /**
+     * ユーザーCSVを作成します。コードはi、メールアドレスはuser{i}@example.com、パスワードはpassword{i}です。
+     */
+    static Path writeUsers(Path dir, int userCount) throws IOException {
+        Path path = dir.resolve("users.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            writer.write("Code,Name,Email,Password");
+            for (int i = 1; i <= userCount; i++) {
+                writer.newLine();
+                writer.write(i + ",ユーザー" + i + "," + email(i) + "," + password(i));
+            }
+        }
+        return path;
+    }
+
+    /**
+     * タスクCSVを作成します。コードは1からtaskCountまでで、ステータスは全て未着手です。
+     */
+    static Path writeTasks(Path dir, int taskCount, int userCount) throws IOException {
+        Path path = dir.resolve("tasks.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            writer.write("Code,Name,Status,Rep_User_Code");
+            for (int i = 1; i <= taskCount; i++) {
+                writer.newLine();
+                writer.write(i + ",task" + i + ",0," + (i % userCount + 1));
+            }
+        }
+        return path;
+    }
+
+    /**
+     * ログCSVを作成します。タスク1件あたり3件のログを持ちます。
+     */
+    static Path writeLogs(Path dir, int logCount, int userCount) throws IOException {
+        Path path = dir.resolve("logs.csv");
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            writer.write("Task_Code,Change_User_Code,Status,Change_Date");
+            for (int i = 0; i < logCount; i++) {
+                writer.newLine();
+                writer.write((i / 3 + 1) + "," + (i % userCount + 1) + "," + (i % 3) + ","
+                        + start.plusDays(i / 1_000));
+            }
+        }
+        return path;
+    }
+
+    static String email(int userCode) {
+        return "user" + userCode + "@example.com";
+    }
+
+    static String password(int userCode) {
+        return "password" + userCode;
+    }
+
+    /**
+     * ディレクトリを中身ごと削除します。
+     */
+    static void delete(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
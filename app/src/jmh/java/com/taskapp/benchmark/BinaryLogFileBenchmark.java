@@ -0,0 +1,80 @@
+package com.taskapp.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.taskapp.dataaccess.BinaryLogFile;
+import com.taskapp.dataaccess.LogDataAccess;
+import com.taskapp.model.Log;
+
+/**
+ * 同じログをCSVとバイナリ形式で持ち、全件の読み込みと1件の読み込みを比べます。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BinaryLogFileBenchmark {
+    private static final int USERS = 100;
+
+    @Param({ "100000", "1000000" })
+    public int size;
+
+    private Path dir;
+
+    private LogDataAccess csv;
+
+    private BinaryLogFile binary;
+
+    private long cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = BenchmarkFiles.createDirectory();
+        Path logs = BenchmarkFiles.writeLogs(dir, size, USERS);
+        Path binaryPath = dir.resolve("logs.bin");
+        BinaryLogFile.fromCsv(logs, binaryPath);
+        csv = new LogDataAccess(logs.toString());
+        binary = BinaryLogFile.open(binaryPath);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        binary.close();
+        BenchmarkFiles.delete(dir);
+    }
+
+    @Benchmark
+    public void csvForEach(Blackhole blackhole) {
+        csv.forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void binaryForEach(Blackhole blackhole) throws IOException {
+        binary.forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public Log binaryRead() throws IOException {
+        cursor = (cursor + 7_919) % size;
+        return binary.read(cursor);
+    }
+}
@@ -0,0 +1,90 @@
+package com.taskapp.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.taskapp.dataaccess.TaskDataAccess;
+import com.taskapp.dataaccess.UserDataAccess;
+import com.taskapp.model.Task;
+import com.taskapp.model.User;
+
+/**
+ * CSVを1回読み込む処理を計測します。
+ * gc.alloc.rate.normを件数（size）で割ると、1行あたりの割り当て量になります。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvParseBenchmark {
+    private static final int USERS = 100;
+
+    @Param({ "100000" })
+    public int size;
+
+    private Path dir;
+
+    private Path users;
+
+    private Path tasks;
+
+    private UserDataAccess taskUsers;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = BenchmarkFiles.createDirectory();
+        users = BenchmarkFiles.writeUsers(dir, size);
+        Path taskUsersPath = dir.resolve("task-users");
+        Files.createDirectories(taskUsersPath);
+        taskUsers = new UserDataAccess(BenchmarkFiles.writeUsers(taskUsersPath, USERS).toString());
+        taskUsers.findByCode(1);
+        tasks = BenchmarkFiles.writeTasks(dir, size, USERS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkFiles.delete(dir);
+    }
+
+    /**
+     * タスクCSVを読み込み、タスク表を作成します。
+     */
+    @Benchmark
+    public Task loadTasks() {
+        return new TaskDataAccess(tasks.toString(), taskUsers).findByCode(1);
+    }
+
+    /**
+     * ユーザーCSVを読み込み、ユーザー表を作成します。
+     */
+    @Benchmark
+    public User loadUsers() {
+        return new UserDataAccess(users.toString()).findByCode(1);
+    }
+
+    /**
+     * 該当しないメールアドレスでログインし、ユーザーCSVを最後まで走査します。
+     */
+    @Benchmark
+    public User scanUsers() {
+        return new UserDataAccess(users.toString()).findByEmailAndPassword("nobody@example.com", "password");
+    }
+}
@@ -0,0 +1,79 @@
+package com.taskapp.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.taskapp.dataaccess.LogDataAccess;
+import com.taskapp.dataaccess.StoreOptions;
+import com.taskapp.logic.CycleTimeAnalyzer;
+import com.taskapp.model.CycleTimeReport;
+
+/**
+ * CycleTimeAnalyzer#analyzeの所要時間を、並列度を変えて計測します。
+ * 並列処理は呼び出したForkJoinPoolの中で行われるため、並列度ごとのプールから呼び出します。
+ * parallelismが0の場合は利用できる全てのコアを使います。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CycleTimeBenchmark {
+    private static final int USERS = 100;
+
+    @Param({ "1000000", "10000000" })
+    public int size;
+
+    @Param({ "false", "true" })
+    public boolean offHeap;
+
+    @Param({ "1", "0" })
+    public int parallelism;
+
+    private Path dir;
+
+    private CycleTimeAnalyzer analyzer;
+
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = BenchmarkFiles.createDirectory();
+        Path logs = BenchmarkFiles.writeLogs(dir, size, USERS);
+        LogDataAccess logDataAccess = new LogDataAccess(logs.toString(),
+                StoreOptions.defaults().withOffHeapLogs(offHeap));
+        // ヒープの外への読み込みは計測に含めない
+        logDataAccess.findByTaskCode(1);
+        analyzer = new CycleTimeAnalyzer(logDataAccess);
+        pool = new ForkJoinPool(parallelism == 0 ? Runtime.getRuntime().availableProcessors() : parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        pool.shutdown();
+        BenchmarkFiles.delete(dir);
+    }
+
+    @Benchmark
+    public CycleTimeReport analyze() throws InterruptedException, ExecutionException {
+        return pool.submit(analyzer::analyze).get();
+    }
+}
@@ -0,0 +1,85 @@
+package com.taskapp.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.taskapp.dataaccess.UserDataAccess;
+import com.taskapp.dataset.DatasetGenerator;
+
+/**
+ * DatasetGeneratorで作成したusers.csv・tasks.csvを一時ディレクトリに用意する、ベンチマーク間で共有の状態です。
+ * 実際の利用に近い分布（ステータスの割合・担当者の偏り・日本語のタスク名）のデータで計測するために使います。
+ * タスク数はtasksで指定します（例: -p tasks=10000000）。
+ * logs.csvは使うベンチマークだけが{@link #logsCsv()}で作成し、ログ件数はタスク1件あたり3件です。
+ */
+@State(Scope.Benchmark)
+public class GeneratedDataset {
+    private static final long SEED = 42;
+
+    private static final int USERS = 1_000;
+
+    private static final int LOGS_PER_TASK = 3;
+
+    @Param({ "100000", "1000000" })
+    public int tasks;
+
+    private Path dir;
+
+    private Path tasksCsv;
+
+    private Path logsCsv;
+
+    private UserDataAccess userDataAccess;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = BenchmarkFiles.createDirectory();
+        DatasetGenerator generator = generator();
+        Path usersCsv = dir.resolve("users.csv");
+        generator.writeUsers(usersCsv);
+        tasksCsv = dir.resolve("tasks.csv");
+        generator.writeTasks(tasksCsv);
+        userDataAccess = new UserDataAccess(usersCsv.toString());
+        // ユーザーの読み込みは計測に含めない
+        userDataAccess.findByCode(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkFiles.delete(dir);
+    }
+
+    public Path tasksCsv() {
+        return tasksCsv;
+    }
+
+    /**
+     * ログCSVを取得します。初めて呼び出したときに作成するため、@Setupから呼び出してください。
+     */
+    Path logsCsv() throws IOException {
+        if (logsCsv == null) {
+            Path path = dir.resolve("logs.csv");
+            generator().writeLogs(path);
+            logsCsv = path;
+        }
+        return logsCsv;
+    }
+
+    /**
+     * 読み込み済みのユーザーのデータアクセスを取得します。
+     */
+    public UserDataAccess userDataAccess() {
+        return userDataAccess;
+    }
+
+    private DatasetGenerator generator() {
+        return new DatasetGenerator(SEED, USERS, tasks, (long) tasks * LOGS_PER_TASK);
+    }
+}
@@ -0,0 +1,110 @@
+package com.taskapp.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.taskapp.dataaccess.LogDataAccess;
+import com.taskapp.dataaccess.StoreOptions;
+import com.taskapp.model.Log;
+
+/**
+ * LogDataAccessの読み書きのスループットを計測します。
+ * 設定はアプリの既定と同じ（削除済みの印・グループコミット）で、ログをヒープの外に保持するかだけを切り替えます。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LogDataAccessBenchmark {
+    private static final int USERS = 100;
+
+    @Param({ "10000", "100000", "1000000" })
+    public int size;
+
+    @Param({ "false", "true" })
+    public boolean offHeap;
+
+    private Path dir;
+
+    private LogDataAccess logDataAccess;
+
+    private int cursor;
+
+    private final LocalDate date = LocalDate.of(2024, 6, 1);
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = BenchmarkFiles.createDirectory();
+        Path logs = BenchmarkFiles.writeLogs(dir, size, USERS);
+        logDataAccess = new LogDataAccess(logs.toString(),
+                StoreOptions.defaults().withTombstones(true).withGroupCommit(64, 50).withOffHeapLogs(offHeap));
+        // ヒープの外への読み込みは計測に含めない
+        logDataAccess.findByTaskCode(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkFiles.delete(dir);
+    }
+
+    @Benchmark
+    public List<Log> findAll() {
+        return logDataAccess.findAll();
+    }
+
+    @Benchmark
+    public long forEach() {
+        long[] sum = new long[1];
+        logDataAccess.forEach(log -> sum[0] += log.getStatus());
+        return sum[0];
+    }
+
+    @Benchmark
+    public List<Log> findByTaskCode() {
+        return logDataAccess.findByTaskCode(nextTaskCode());
+    }
+
+    @Benchmark
+    public void save() {
+        logDataAccess.save(new Log(nextTaskCode(), 1, 1, date));
+    }
+
+    /**
+     * データ件数を保つため、削除したタスクのログ3件を保存し直すまでを1回として計測します。
+     */
+    @Benchmark
+    public void deleteByTaskCodeAndSave() {
+        int taskCode = nextTaskCode();
+        logDataAccess.deleteByTaskCode(taskCode);
+        List<Log> logs = new ArrayList<>(3);
+        for (int status = 0; status < 3; status++) {
+            logs.add(new Log(taskCode, 1, status, date));
+        }
+        logDataAccess.saveAll(logs);
+    }
+
+    private int nextTaskCode() {
+        cursor = cursor % (size / 3) + 1;
+        return cursor;
+    }
+}
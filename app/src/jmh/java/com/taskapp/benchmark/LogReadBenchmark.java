@@ -0,0 +1,93 @@
+package com.taskapp.benchmark;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.taskapp.dataaccess.LogDataAccess;
+import com.taskapp.model.Log;
+
+/**
+ * バイト列から直接解析するLogDataAccess#findAllと、変更前のBufferedReaderによる読み込みの所要時間を比較します。
+ * どちらも毎回ファイルの先頭から全件を読み込みます。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LogReadBenchmark {
+    private static final int USERS = 1_000;
+
+    @Param({ "1000000", "5000000" })
+    public int size;
+
+    private Path dir;
+
+    private Path logs;
+
+    private LogDataAccess logDataAccess;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = BenchmarkFiles.createDirectory();
+        logs = BenchmarkFiles.writeLogs(dir, size, USERS);
+        logDataAccess = new LogDataAccess(logs.toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkFiles.delete(dir);
+    }
+
+    @Benchmark
+    public List<Log> parsedBytes() {
+        return logDataAccess.findAll();
+    }
+
+    /**
+     * 変更前のLogDataAccess#findAllと同じ読み込み処理です。
+     */
+    @Benchmark
+    public List<Log> bufferedReader() throws IOException {
+        List<Log> logs = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(this.logs.toFile()))) {
+            reader.readLine();
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] values = line.split(",");
+
+                if (values.length != 4) continue;
+
+                int taskCode = Integer.parseInt(values[0]);
+                int changeUserCode = Integer.parseInt(values[1]);
+                int status = Integer.parseInt(values[2]);
+                LocalDate date = LocalDate.parse(values[3]);
+
+                logs.add(new Log(taskCode, changeUserCode, status, date));
+            }
+        }
+        return logs;
+    }
+}
@@ -0,0 +1,80 @@
+package com.taskapp.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.taskapp.dataaccess.LogDataAccess;
+import com.taskapp.dataaccess.StoreOptions;
+import com.taskapp.model.Log;
+
+/**
+ * 複数のスレッドから同時にLogDataAccess#saveを呼び出すスループットを、書き込み方式ごとに比較します。
+ * modeは1件ずつ書き込む場合（perRecord）、グループコミット（grouped）と、それぞれfsyncを行う場合です。
+ * スレッド数は-tで変更できます（例: -t 16）。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class LogSaveBenchmark {
+    @Param({ "perRecord", "grouped", "fsync", "groupedFsync" })
+    public String mode;
+
+    private Path dir;
+
+    private LogDataAccess logDataAccess;
+
+    private final LocalDate date = LocalDate.of(2024, 6, 1);
+
+    /**
+     * スレッドごとに次に保存するログのタスクコードを持ちます。
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = BenchmarkFiles.createDirectory();
+        Path logs = BenchmarkFiles.writeLogs(dir, 0, 1);
+        StoreOptions options = switch (mode) {
+            case "perRecord" -> StoreOptions.defaults();
+            case "grouped" -> StoreOptions.defaults().withGroupCommit(64, 50);
+            case "fsync" -> StoreOptions.defaults().withFsync(true);
+            case "groupedFsync" -> StoreOptions.defaults().withGroupCommit(64, 50).withFsync(true);
+            default -> throw new IllegalArgumentException("mode: " + mode);
+        };
+        logDataAccess = new LogDataAccess(logs.toString(), options);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkFiles.delete(dir);
+    }
+
+    @Benchmark
+    public void save(Cursor cursor) {
+        logDataAccess.save(new Log(++cursor.next, 1, 0, date));
+    }
+}
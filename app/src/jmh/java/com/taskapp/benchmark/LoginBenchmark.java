@@ -0,0 +1,96 @@
+package com.taskapp.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.taskapp.dataaccess.UserDataAccess;
+import com.taskapp.exception.AppException;
+import com.taskapp.logic.UserLogic;
+import com.taskapp.model.User;
+
+/**
+ * 始業時のログインの集中を想定し、複数のスレッドから同時にUserLogic#loginを呼び出すスループットを計測します。
+ * ログインするユーザーは全ユーザーから無作為に選びます。
+ * 画面への出力を計測に含めないよう、System.outは書き捨てるPrintStreamに差し替えます。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class LoginBenchmark {
+    private static final int LOGINS = 4_096;
+
+    @Param({ "100000" })
+    public int size;
+
+    private Path dir;
+
+    private UserLogic userLogic;
+
+    private String[] emails;
+
+    private String[] passwords;
+
+    private PrintStream originalOut;
+
+    /**
+     * スレッドごとに次にログインさせるユーザーの位置を持ちます。
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = BenchmarkFiles.createDirectory();
+        userLogic = new UserLogic(new UserDataAccess(BenchmarkFiles.writeUsers(dir, size).toString()));
+
+        Random random = new Random(42);
+        emails = new String[LOGINS];
+        passwords = new String[LOGINS];
+        for (int i = 0; i < LOGINS; i++) {
+            int code = random.nextInt(size) + 1;
+            emails[i] = BenchmarkFiles.email(code);
+            passwords[i] = BenchmarkFiles.password(code);
+        }
+
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.setOut(originalOut);
+        BenchmarkFiles.delete(dir);
+    }
+
+    @Benchmark
+    public User login(Cursor cursor) throws AppException {
+        int i = cursor.next;
+        cursor.next = (i + 1) & (LOGINS - 1);
+        return userLogic.login(emails[i], passwords[i]);
+    }
+}
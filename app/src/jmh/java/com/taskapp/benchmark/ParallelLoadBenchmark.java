@@ -0,0 +1,72 @@
+package com.taskapp.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.taskapp.dataaccess.LogDataAccess;
+import com.taskapp.dataaccess.StoreOptions;
+import com.taskapp.dataaccess.TaskDataAccess;
+import com.taskapp.model.Log;
+import com.taskapp.model.Task;
+
+/**
+ * tasks.csvのタスク表への読み込みと、logs.csvのヒープの外への読み込みの所要時間を、並列度を変えて計測します。
+ * 並列処理は呼び出したForkJoinPoolの中で行われるため、並列度ごとのプールから読み込みます。
+ * parallelismが0の場合は利用できる全てのコアを使います。
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelLoadBenchmark {
+    @Param({ "1", "0" })
+    public int parallelism;
+
+    private Path logsCsv;
+
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp(GeneratedDataset dataset) throws IOException {
+        logsCsv = dataset.logsCsv();
+        pool = new ForkJoinPool(parallelism == 0 ? Runtime.getRuntime().availableProcessors() : parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public Task loadTasks(GeneratedDataset dataset) throws InterruptedException, ExecutionException {
+        TaskDataAccess taskDataAccess = new TaskDataAccess(dataset.tasksCsv().toString(), dataset.userDataAccess());
+        return pool.submit(() -> taskDataAccess.findByCode(dataset.tasks)).get();
+    }
+
+    @Benchmark
+    public List<Log> loadLogs() throws InterruptedException, ExecutionException {
+        LogDataAccess logDataAccess = new LogDataAccess(logsCsv.toString(),
+                StoreOptions.defaults().withOffHeapLogs(true));
+        return pool.submit(() -> logDataAccess.findByTaskCode(1)).get();
+    }
+}
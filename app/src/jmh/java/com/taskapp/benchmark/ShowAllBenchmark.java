@@ -0,0 +1,83 @@
+package com.taskapp.benchmark;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.taskapp.dataaccess.LogDataAccess;
+import com.taskapp.dataaccess.StoreOptions;
+import com.taskapp.dataaccess.TaskDataAccess;
+import com.taskapp.dataaccess.UserDataAccess;
+import com.taskapp.logic.TaskLogic;
+import com.taskapp.model.User;
+
+/**
+ * TaskLogic#showAllで全タスクを一覧表示するスループットを計測します。
+ * System.outは、JVMの標準出力と同じ構成（8KBのバッファ・自動フラッシュ）でファイルに書き込むPrintStreamに差し替えます。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ShowAllBenchmark {
+    private static final int USERS = 100;
+
+    @Param({ "1000", "100000" })
+    public int size;
+
+    private Path dir;
+
+    private TaskLogic taskLogic;
+
+    private User loginUser;
+
+    private PrintStream originalOut;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = BenchmarkFiles.createDirectory();
+        UserDataAccess userDataAccess = new UserDataAccess(BenchmarkFiles.writeUsers(dir, USERS).toString());
+        TaskDataAccess taskDataAccess = new TaskDataAccess(BenchmarkFiles.writeTasks(dir, size, USERS).toString(),
+                userDataAccess, StoreOptions.defaults().withJournal(true).withGroupCommit(64, 50));
+        LogDataAccess logDataAccess = new LogDataAccess(BenchmarkFiles.writeLogs(dir, 1, USERS).toString());
+        taskLogic = new TaskLogic(taskDataAccess, logDataAccess, userDataAccess);
+        loginUser = userDataAccess.findByCode(1);
+        taskDataAccess.findByCode(1);
+
+        originalOut = System.out;
+        System.setOut(new PrintStream(new BufferedOutputStream(
+                new FileOutputStream(dir.resolve("out.txt").toFile()), 8192), true, StandardCharsets.UTF_8));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.out.close();
+        System.setOut(originalOut);
+        BenchmarkFiles.delete(dir);
+    }
+
+    @Benchmark
+    public void showAll() {
+        taskLogic.showAll(loginUser);
+    }
+}
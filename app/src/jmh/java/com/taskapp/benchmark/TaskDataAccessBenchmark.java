@@ -0,0 +1,104 @@
+package com.taskapp.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.taskapp.dataaccess.StoreOptions;
+import com.taskapp.dataaccess.TaskDataAccess;
+import com.taskapp.dataaccess.UserDataAccess;
+import com.taskapp.model.Task;
+
+/**
+ * TaskDataAccessの読み書きのスループットを計測します。
+ * csvは1件ごとにCSVを書き直すアプリの既定の方式、journalはtaskapp.journalで有効にするジャーナル方式です。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskDataAccessBenchmark {
+    private static final int USERS = 100;
+
+    @Param({ "1000", "10000", "100000" })
+    public int size;
+
+    @Param({ "csv", "journal" })
+    public String mode;
+
+    private Path dir;
+
+    private TaskDataAccess taskDataAccess;
+
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = BenchmarkFiles.createDirectory();
+        UserDataAccess userDataAccess = new UserDataAccess(BenchmarkFiles.writeUsers(dir, USERS).toString());
+        Path tasks = BenchmarkFiles.writeTasks(dir, size, USERS);
+        StoreOptions options = mode.equals("journal")
+                ? StoreOptions.defaults().withJournal(true).withGroupCommit(64, 50)
+                : StoreOptions.defaults();
+        taskDataAccess = new TaskDataAccess(tasks.toString(), userDataAccess, options);
+        // 読み込みを計測に含めないよう、先にタスク表を作っておく
+        taskDataAccess.findByCode(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkFiles.delete(dir);
+    }
+
+    @Benchmark
+    public List<Task> findAll() {
+        return taskDataAccess.findAll();
+    }
+
+    @Benchmark
+    public Task findByCode() {
+        return taskDataAccess.findByCode(nextCode());
+    }
+
+    /**
+     * ステータスを0と1で交互に書き換えます。
+     */
+    @Benchmark
+    public void update() {
+        Task task = taskDataAccess.findByCode(nextCode());
+        task.setStatus(1 - task.getStatus());
+        taskDataAccess.update(task);
+    }
+
+    /**
+     * データ件数を保つため、削除したタスクを保存し直すまでを1回として計測します。
+     */
+    @Benchmark
+    public void deleteAndSave() {
+        Task task = taskDataAccess.findByCode(nextCode());
+        taskDataAccess.delete(task.getCode());
+        taskDataAccess.save(task);
+    }
+
+    private int nextCode() {
+        cursor = cursor % size + 1;
+        return cursor;
+    }
+}
@@ -0,0 +1,97 @@
+package com.taskapp.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.taskapp.dataaccess.LogDataAccess;
+import com.taskapp.dataaccess.StoreOptions;
+import com.taskapp.dataaccess.TaskDataAccess;
+import com.taskapp.dataaccess.UserDataAccess;
+import com.taskapp.exception.AppException;
+import com.taskapp.logic.TaskLogic;
+import com.taskapp.model.Task;
+import com.taskapp.model.User;
+
+/**
+ * TaskLogic#changeStatusのスループットを計測します。
+ * データ層はジャーナル・削除済みの印・グループコミットを有効にした設定です。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskLogicBenchmark {
+    private static final int USERS = 100;
+
+    @Param({ "1000", "10000", "100000" })
+    public int size;
+
+    private Path dir;
+
+    private TaskDataAccess taskDataAccess;
+
+    private TaskLogic taskLogic;
+
+    private User loginUser;
+
+    private int cursor;
+
+    private PrintStream originalOut;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = BenchmarkFiles.createDirectory();
+        UserDataAccess userDataAccess = new UserDataAccess(BenchmarkFiles.writeUsers(dir, USERS).toString());
+        taskDataAccess = new TaskDataAccess(BenchmarkFiles.writeTasks(dir, size, USERS).toString(),
+                userDataAccess, StoreOptions.defaults().withJournal(true).withGroupCommit(64, 50));
+        LogDataAccess logDataAccess = new LogDataAccess(BenchmarkFiles.writeLogs(dir, size * 3, USERS).toString(),
+                StoreOptions.defaults().withTombstones(true).withGroupCommit(64, 50));
+        taskLogic = new TaskLogic(taskDataAccess, logDataAccess, userDataAccess);
+        loginUser = userDataAccess.findByCode(1);
+        taskDataAccess.findByCode(1);
+
+        // 完了メッセージの出力を計測に含めない
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.setOut(originalOut);
+        BenchmarkFiles.delete(dir);
+    }
+
+    /**
+     * ステータスは1つ先にしか変更できないため、未着手→着手中→完了と2回変更し、
+     * データ層で未着手に戻すまでを1回として計測します。
+     */
+    @Benchmark
+    public void changeStatus() throws AppException {
+        cursor = cursor % size + 1;
+        taskLogic.changeStatus(cursor, 1, loginUser);
+        taskLogic.changeStatus(cursor, 2, loginUser);
+
+        Task task = taskDataAccess.findByCode(cursor);
+        task.setStatus(0);
+        taskDataAccess.update(task);
+    }
+}
@@ -0,0 +1,42 @@
+package com.taskapp.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.taskapp.dataaccess.TaskDataAccess;
+import com.taskapp.model.Task;
+
+/**
+ * 起動直後に一覧の最初のページを表示するまでの時間を、全件を取得する場合と比較します。
+ * 起動直後を再現するため、毎回新しいTaskDataAccessから取得します。
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TaskPageBenchmark {
+    private static final int PAGE_SIZE = 21;
+
+    @Benchmark
+    public List<Task> firstPage(GeneratedDataset dataset) {
+        return newDataAccess(dataset).findPage(0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Task> findAll(GeneratedDataset dataset) {
+        return newDataAccess(dataset).findAll();
+    }
+
+    private static TaskDataAccess newDataAccess(GeneratedDataset dataset) {
+        return new TaskDataAccess(dataset.tasksCsv().toString(), dataset.userDataAccess());
+    }
+}
@@ -0,0 +1,103 @@
+package com.taskapp.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.taskapp.dataaccess.LogDataAccess;
+import com.taskapp.dataaccess.TaskDataAccess;
+import com.taskapp.dataaccess.UserDataAccess;
+import com.taskapp.exception.AppException;
+import com.taskapp.logic.TaskLogic;
+import com.taskapp.model.Task;
+import com.taskapp.model.User;
+
+/**
+ * size件のタスクを、TaskLogic#saveで1件ずつ保存する場合と、TaskLogic#saveAllでまとめて保存する場合の所要時間を比較します。
+ * 反復ごとに空のタスクCSV・ログCSVを作り直し、その作成は計測に含めません。
+ * 完了メッセージの出力を計測に含めないよう、System.outは書き捨てるPrintStreamに差し替えます。
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskSaveBenchmark {
+    private static final int USERS = 1_000;
+
+    @Param({ "10000", "100000" })
+    public int size;
+
+    private Path dir;
+
+    private TaskLogic taskLogic;
+
+    private User loginUser;
+
+    private List<Task> tasks;
+
+    private PrintStream originalOut;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tasks = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            tasks.add(new Task(i, "task" + i, 0, new User(i % USERS + 1, null, null, null)));
+        }
+
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    @Setup(Level.Iteration)
+    public void createFiles() throws IOException {
+        dir = BenchmarkFiles.createDirectory();
+        UserDataAccess userDataAccess = new UserDataAccess(BenchmarkFiles.writeUsers(dir, USERS).toString());
+        Path tasksCsv = BenchmarkFiles.writeTasks(dir, 0, USERS);
+        Path logsCsv = BenchmarkFiles.writeLogs(dir, 0, USERS);
+        taskLogic = new TaskLogic(new TaskDataAccess(tasksCsv.toString(), userDataAccess),
+                new LogDataAccess(logsCsv.toString()), userDataAccess);
+        loginUser = userDataAccess.findByCode(1);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteFiles() throws IOException {
+        BenchmarkFiles.delete(dir);
+    }
+
+    @Benchmark
+    public void save() throws AppException {
+        for (Task task : tasks) {
+            taskLogic.save(task.getCode(), task.getName(), task.getRepUser().getCode(), loginUser);
+        }
+    }
+
+    @Benchmark
+    public void saveAll() throws AppException {
+        taskLogic.saveAll(tasks, loginUser);
+    }
+}
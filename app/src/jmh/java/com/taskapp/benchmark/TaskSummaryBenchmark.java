@@ -0,0 +1,59 @@
+package com.taskapp.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.taskapp.dataaccess.StoreOptions;
+import com.taskapp.dataaccess.TaskDataAccess;
+import com.taskapp.model.Task;
+
+/**
+ * ステータス別の件数を求める時間を、全件を取得して数える場合と比較します。
+ * updateAndSummaryは変更の直後に集計を作り直す場合で、CSVを書き直さないようジャーナル方式で1件更新してから集計します。
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskSummaryBenchmark {
+    private TaskDataAccess taskDataAccess;
+
+    private Task updated;
+
+    @Setup(Level.Trial)
+    public void setUp(GeneratedDataset dataset) {
+        taskDataAccess = new TaskDataAccess(dataset.tasksCsv().toString(), dataset.userDataAccess(),
+                StoreOptions.defaults().withJournal(true));
+        // 読み込みを計測に含めないよう、先にタスク表を作っておく
+        updated = taskDataAccess.findByCode(1);
+    }
+
+    @Benchmark
+    public long findAllAndCount() {
+        return taskDataAccess.findAll().stream().filter(task -> task.getStatus() == 1).count();
+    }
+
+    @Benchmark
+    public int summary() {
+        return taskDataAccess.summary().getCount(1);
+    }
+
+    @Benchmark
+    public int updateAndSummary() {
+        taskDataAccess.update(updated);
+        return taskDataAccess.summary().getCount(1);
+    }
+}
@@ -0,0 +1,65 @@
+package com.taskapp.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.taskapp.dataaccess.TaskDataAccess;
+
+/**
+ * タスク表の読み込みの所要時間と、読み込んだタスク表が常駐するヒープの量を計測します。
+ * JMHは常駐するヒープの量を集計しないため、反復ごとに読み込みの前後の使用中のヒープの差を標準出力に書き出します。
+ * 1000万件の場合はヒープを増やしてください（例: -p tasks=10000000 -jvmArgsAppend -Xmx2g）。
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskTableHeapBenchmark {
+    private long before;
+
+    private TaskDataAccess loaded;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        loaded = null;
+        before = usedHeap();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown(GeneratedDataset dataset) {
+        long resident = usedHeap() - before;
+        System.out.printf("residentHeap tasks=%,d heap=%,d MB %.1f bytes/task%n",
+                dataset.tasks, resident >> 20, (double) resident / dataset.tasks);
+        loaded = null;
+    }
+
+    @Benchmark
+    public TaskDataAccess load(GeneratedDataset dataset) {
+        // 常駐量を求めるまで参照を残しておく
+        loaded = new TaskDataAccess(dataset.tasksCsv().toString(), dataset.userDataAccess());
+        loaded.findByCode(1);
+        return loaded;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,64 @@
+package com.taskapp.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.taskapp.dataaccess.UserDataAccess;
+import com.taskapp.model.User;
+
+/**
+ * UserDataAccess#findByEmailAndPasswordのスループットを計測します。
+ * 先頭・中央・末尾のユーザーを順にログインさせます。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserDataAccessBenchmark {
+    @Param({ "100", "10000", "100000" })
+    public int size;
+
+    private Path dir;
+
+    private UserDataAccess userDataAccess;
+
+    private int[] userCodes;
+
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = BenchmarkFiles.createDirectory();
+        userDataAccess = new UserDataAccess(BenchmarkFiles.writeUsers(dir, size).toString());
+        userCodes = new int[] { 1, size / 2, size };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkFiles.delete(dir);
+    }
+
+    @Benchmark
+    public User findByEmailAndPassword() {
+        int code = userCodes[cursor];
+        cursor = (cursor + 1) % userCodes.length;
+        return userDataAccess.findByEmailAndPassword(BenchmarkFiles.email(code), BenchmarkFiles.password(code));
+    }
+}
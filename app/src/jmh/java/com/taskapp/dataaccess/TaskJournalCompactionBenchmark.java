@@ -0,0 +1,66 @@
+package com.taskapp.dataaccess;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.taskapp.benchmark.GeneratedDataset;
+import com.taskapp.model.Task;
+
+/**
+ * ジャーナルの圧縮の所要時間と、圧縮中に書き込みを待たせた時間を計測します。
+ * 反復ごとにタスク数と同じ件数の更新を追記してから、1回の圧縮を計測します。
+ * 自動の圧縮は止め、パッケージ内から圧縮を直接呼び出すため、このクラスはdataaccessパッケージに置いています。
+ * 書き込みを待たせた時間はJMHが集計しないため、反復ごとに圧縮の集計を標準出力に書き出します。
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskJournalCompactionBenchmark {
+    private TaskDataAccess taskDataAccess;
+
+    private final Random random = new Random(42);
+
+    @Setup(Level.Trial)
+    public void setUp(GeneratedDataset dataset) {
+        // 自動の圧縮が計測中の反復と重ならないよう、しきい値に達しない設定にする
+        taskDataAccess = new TaskDataAccess(dataset.tasksCsv().toString(), dataset.userDataAccess(),
+                StoreOptions.defaults().withJournal(true).withCompaction(1.0, Long.MAX_VALUE));
+        taskDataAccess.findByCode(1);
+    }
+
+    @Setup(Level.Iteration)
+    public void update(GeneratedDataset dataset) {
+        for (int i = 0; i < dataset.tasks; i++) {
+            int code = random.nextInt(dataset.tasks) + 1;
+            Task task = taskDataAccess.findByCode(code);
+            taskDataAccess.update(new Task(code, task.getName(), (task.getStatus() + 1) % 3, task.getRepUser()));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        System.out.println(taskDataAccess.getCompactionStats());
+    }
+
+    @Benchmark
+    public long compact() {
+        taskDataAccess.compact();
+        return taskDataAccess.getCompactionStats().getCompactions();
+    }
+}
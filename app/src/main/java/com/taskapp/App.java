@@ -1,10 +1,32 @@
 package com.taskapp;
 
+import java.io.IOException;
+
+import com.taskapp.logic.TaskLogic;
+import com.taskapp.logic.UserLogic;
+import com.taskapp.server.TaskServer;
 import com.taskapp.ui.TaskUI;
 
 public class App {
 
+    /**
+     * 引数なしの場合は標準入力で1人分のメニューを実行します。
+     * 「--server [ポート]」を指定した場合は、TCPで複数のユーザーの接続を受け付けます。
+     *
+     * @param args コマンドライン引数
+     */
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--server")) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : TaskServer.DEFAULT_PORT;
+            try (TaskServer server = new TaskServer(port, new UserLogic(), new TaskLogic())) {
+                System.out.println("ポート" + server.getPort() + "で接続を待っています。");
+                server.serve();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            return;
+        }
+
         TaskUI ui = new TaskUI();
         ui.displayMenu();
     }
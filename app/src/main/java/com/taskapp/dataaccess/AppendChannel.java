@@ -0,0 +1,359 @@
+package com.taskapp.dataaccess;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.taskapp.metrics.Metrics;
+
+/**
+ * データファイルの末尾へ追記するための、開いたままにしておくチャネルです。
+ * 追記した内容はいったんバッファにため、一定件数または一定時間ごとにまとめて1回の書き込みで反映します（グループコミット）。
+ * 複数のスレッドから同時に追記された場合も、書き込み中にたまった分は次の1回の書き込みにまとめます。
+ * 書き込んでいない内容は、JVMの終了時にも書き込みます。
+ * 書き込みに失敗した場合は、書き込めなかった内容を書き込み待ちに戻してチャネルを閉じ、次の書き込みで開き直して再び書き込みます。
+ */
+final class AppendChannel implements Closeable {
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "append-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 開いているチャネル。JVMの終了時に書き込み残しを反映するために保持します。
+     */
+    private static final Set<AppendChannel> OPEN_CHANNELS = ConcurrentHashMap.newKeySet();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            for (AppendChannel channel : OPEN_CHANNELS) {
+                try {
+                    channel.flush();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }, "append-channel-shutdown"));
+    }
+
+    private final Path path;
+
+    private final int flushEveryRecords;
+
+    private final long flushIntervalMillis;
+
+    private final boolean fsync;
+
+    /**
+     * 外部からの変更の監視。監視しない場合はnull
+     */
+    private final FileWatch watch;
+
+    /**
+     * 追記と書き込みの状態を保護するロック。
+     * 書き込みの完了待ちで仮想スレッドがOSのスレッドを占有しないよう、モニターではなくReentrantLockを使います。
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition flushDone = lock.newCondition();
+
+    private FileChannel channel;
+
+    /**
+     * 書き込み待ちの内容も含めたファイルの大きさ。チャネルを開いていない場合は-1
+     * （書き込みに失敗して閉じた場合は、開き直す際にファイルの大きさと書き込み待ちの内容から求め直します）
+     */
+    private long logicalSize = -1;
+
+    private byte[] pending = new byte[8192];
+
+    private int pendingLength;
+
+    private int pendingRecords;
+
+    /**
+     * 書き込み中に次の追記を受け付けるための予備のバッファ
+     */
+    private byte[] spare = new byte[8192];
+
+    /**
+     * これまでに受け付けた追記の通し番号
+     */
+    private long appended;
+
+    /**
+     * 書き込みが完了した追記の通し番号
+     */
+    private long flushed;
+
+    private boolean flushing;
+
+    private boolean timerScheduled;
+
+    /**
+     * @param path 追記するファイルのパス
+     * @param options 書き込みの間隔と同期の設定
+     */
+    AppendChannel(Path path, StoreOptions options) {
+        this(path, options, null);
+    }
+
+    /**
+     * @param path 追記するファイルのパス
+     * @param options 書き込みの間隔と同期の設定
+     * @param watch 外部からの変更の監視。書き込みをアプリ自身の変更として記録します。監視しない場合はnull
+     */
+    AppendChannel(Path path, StoreOptions options, FileWatch watch) {
+        this.path = path;
+        this.flushEveryRecords = options.getFlushEveryRecords();
+        this.flushIntervalMillis = options.getFlushIntervalMillis();
+        this.fsync = options.isFsync();
+        this.watch = watch;
+    }
+
+    /**
+     * 文字列をUTF-8で末尾に追記します。
+     * 書き込み待ちの件数が設定値に達した場合は、呼び出したスレッドで書き込みます。
+     *
+     * @param text 追記する文字列（改行を含む）
+     * @param records 文字列に含まれるレコード数
+     * @return 追記した文字列の先頭のファイル内の位置
+     * @throws IOException 書き込みに失敗した場合
+     */
+    long append(String text, int records) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        // 実際の書き込みは他のスレッドがまとめて行うことがあるため、追記を依頼した操作の書き込み量として数える
+        Metrics.addBytesWritten(bytes.length);
+        long offset;
+        long ticket;
+        lock.lock();
+        try {
+            ensureOpen();
+            offset = logicalSize;
+            logicalSize += bytes.length;
+
+            if (pendingLength + bytes.length > pending.length) {
+                pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingLength + bytes.length));
+            }
+            System.arraycopy(bytes, 0, pending, pendingLength, bytes.length);
+            pendingLength += bytes.length;
+            pendingRecords += records;
+            ticket = ++appended;
+
+            if (pendingRecords < flushEveryRecords) {
+                scheduleTimer();
+                return offset;
+            }
+        } finally {
+            lock.unlock();
+        }
+        flushUpTo(ticket);
+        return offset;
+    }
+
+    /**
+     * 書き込み待ちの内容を全てファイルに書き込みます。
+     * @throws IOException 書き込みに失敗した場合
+     */
+    void flush() throws IOException {
+        long ticket;
+        lock.lock();
+        try {
+            ticket = appended;
+        } finally {
+            lock.unlock();
+        }
+        flushUpTo(ticket);
+    }
+
+    /**
+     * 書き込み待ちの内容を書き込んでからチャネルを閉じます。
+     * ファイルを置き換えた後などに呼び出すと、次の追記で新しいファイルを開き直します。
+     */
+    @Override
+    public void close() throws IOException {
+        while (true) {
+            flush();
+            lock.lock();
+            try {
+                awaitFlush();
+                // flush後に追記された分があれば、書き込んでから閉じる
+                if (pendingLength > 0) {
+                    continue;
+                }
+                if (channel != null) {
+                    channel.close();
+                    channel = null;
+                    logicalSize = -1;
+                    OPEN_CHANNELS.remove(this);
+                }
+                return;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 指定した通し番号までの追記が書き込まれるまで待ちます。
+     * 他のスレッドが書き込み中の場合はその完了を待ち、その間にたまった分をまとめて書き込みます。
+     */
+    private void flushUpTo(long ticket) throws IOException {
+        byte[] data;
+        int length;
+        int records;
+        long target;
+        FileChannel writeChannel;
+        lock.lock();
+        try {
+            while (flushing && flushed < ticket) {
+                awaitFlush();
+            }
+            if (flushed >= ticket) {
+                return;
+            }
+            // 前回の書き込みに失敗して閉じた場合は開き直す
+            ensureOpen();
+            flushing = true;
+            data = pending;
+            length = pendingLength;
+            records = pendingRecords;
+            target = appended;
+            writeChannel = channel;
+            pending = spare;
+            pendingLength = 0;
+            pendingRecords = 0;
+        } finally {
+            lock.unlock();
+        }
+
+        IOException failure = null;
+        ByteBuffer buffer = ByteBuffer.wrap(data, 0, length);
+        if (watch != null) {
+            watch.beginWrite();
+        }
+        try {
+            while (buffer.hasRemaining()) {
+                writeChannel.write(buffer);
+            }
+            if (fsync) {
+                writeChannel.force(false);
+            }
+        } catch (IOException e) {
+            failure = e;
+        } finally {
+            if (watch != null) {
+                watch.endWrite();
+            }
+        }
+
+        lock.lock();
+        try {
+            if (failure == null) {
+                spare = data;
+                flushed = target;
+            } else {
+                // 完了していない追記として残すため、flushedは進めない。待っているスレッドは自分で書き込みを試み直す
+                restorePending(data, buffer.position(), length, records);
+                closeAfterFailure(failure);
+            }
+            flushing = false;
+            flushDone.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * 書き込めなかった内容を、書き込み中に追記された内容の前に戻します。lockを保持した状態で呼び出してください。
+     * 書き込めた分はファイルに残るため、続きから書き込めば各追記のファイル内の位置は変わりません。
+     */
+    private void restorePending(byte[] data, int written, int length, int records) {
+        int remaining = length - written;
+        byte[] restored = new byte[Math.max(data.length, remaining + pendingLength)];
+        System.arraycopy(data, written, restored, 0, remaining);
+        System.arraycopy(pending, 0, restored, remaining, pendingLength);
+        spare = pending;
+        pending = restored;
+        pendingLength += remaining;
+        pendingRecords += records;
+    }
+
+    /**
+     * 書き込みに失敗したチャネルを閉じます。lockを保持した状態で呼び出してください。
+     * 書き込み待ちの内容が残るため、JVMの終了時に書き込む対象からは外しません。
+     */
+    private void closeAfterFailure(IOException failure) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            failure.addSuppressed(e);
+        }
+        channel = null;
+        logicalSize = -1;
+    }
+
+    /**
+     * 書き込み中のスレッドの完了を待ちます。lockを保持した状態で呼び出してください。
+     */
+    private void awaitFlush() {
+        boolean interrupted = false;
+        while (flushing) {
+            try {
+                flushDone.await();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (channel == null) {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+            // 書き込みに失敗して開き直した場合は、書き込めなかった内容が残っている
+            logicalSize = channel.size() + pendingLength;
+            OPEN_CHANNELS.add(this);
+        }
+    }
+
+    private void scheduleTimer() {
+        if (flushIntervalMillis <= 0 || timerScheduled) {
+            return;
+        }
+        timerScheduled = true;
+        TIMER.schedule(() -> {
+            lock.lock();
+            try {
+                timerScheduled = false;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                flush();
+            } catch (IOException e) {
+                // 書き込めなかった内容は書き込み待ちに残り、次の追記・flushで書き込みを試み直して失敗を呼び出し元に返す
+                e.printStackTrace();
+            }
+        }, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,338 @@
+package com.taskapp.dataaccess;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.taskapp.metrics.Metrics;
+import com.taskapp.model.Log;
+
+/**
+ * ログを固定長のバイナリレコードで保持するファイルです。
+ * 全てのレコードが同じ長さのため、n件目のレコードは位置の計算だけで読み込めます。
+ *
+ * <pre>
+ * ヘッダー（16バイト）
+ *   0  マジックナンバー "TLOG"（4バイト）
+ *   4  形式のバージョン（1バイト）
+ *   5  1レコードのバイト数（1バイト）
+ *   6  予約（10バイト、0埋め）
+ * レコード（16バイト、ビッグエンディアン）
+ *   0  タスクコード（int）
+ *   4  変更したユーザーのコード（int）
+ *   8  ステータス（int）
+ *   12 変更日のエポック日（int、1970-01-01からの日数）
+ * </pre>
+ * 末尾に書き込み途中で中断した不完全なレコードがある場合は、無いものとして扱います。
+ * 複数のスレッドから同時に使う場合は、呼び出し側で排他してください。
+ */
+public final class BinaryLogFile implements Closeable {
+    static final int MAGIC = 0x544C4F47;
+
+    static final byte VERSION = 1;
+
+    static final int HEADER_SIZE = 16;
+
+    static final int RECORD_SIZE = 16;
+
+    /**
+     * 読み込み・変換で1回に読み込む最大バイト数（レコードの長さの倍数）
+     */
+    private static final int WINDOW_SIZE = 8 << 20;
+
+    /**
+     * 書き込みに使うバッファのレコード数
+     */
+    private static final int BUFFER_RECORDS = 4_096;
+
+    private final Path path;
+
+    private final FileChannel channel;
+
+    private final ByteBuffer recordBuffer = ByteBuffer.allocate(RECORD_SIZE);
+
+    /**
+     * 完全なレコードの件数
+     */
+    private long size;
+
+    private BinaryLogFile(Path path, FileChannel channel, long size) {
+        this.path = path;
+        this.channel = channel;
+        this.size = size;
+    }
+
+    /**
+     * ファイルを開きます。存在しない場合はヘッダーだけのファイルを作成します。
+     * @param path ファイルのパス
+     * @return 開いたファイル
+     * @throws IOException 読み書きに失敗した場合、またはこの形式のファイルでない場合
+     */
+    public static BinaryLogFile open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                writeHeader(channel);
+            } else {
+                readHeader(channel, path);
+            }
+            long size = (channel.size() - HEADER_SIZE) / RECORD_SIZE;
+            return new BinaryLogFile(path, channel, size);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * レコードの件数を取得します。
+     * @return レコードの件数
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * 指定した番号のレコードを読み込みます。
+     * @param index レコードの番号（0から）
+     * @return 読み込んだログ
+     * @throws IOException 読み込みに失敗した場合
+     */
+    public Log read(long index) throws IOException {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+        recordBuffer.clear();
+        long position = HEADER_SIZE + index * RECORD_SIZE;
+        while (recordBuffer.hasRemaining()) {
+            if (channel.read(recordBuffer, position + recordBuffer.position()) < 0) {
+                throw new IOException("レコードが途中で終わっています: " + path);
+            }
+        }
+        Metrics.addBytesRead(RECORD_SIZE);
+        return new Log(recordBuffer.getInt(0), recordBuffer.getInt(4), recordBuffer.getInt(8),
+                LocalDate.ofEpochDay(recordBuffer.getInt(12)));
+    }
+
+    /**
+     * 全てのレコードを先頭から順に処理します。
+     * @param action ログごとに呼び出される処理
+     * @throws IOException 読み込みに失敗した場合
+     */
+    public void forEach(Consumer<? super Log> action) throws IOException {
+        forEach((offset, taskCode, changeUserCode, status, epochDay) ->
+                action.accept(new Log(taskCode, changeUserCode, status, LocalDate.ofEpochDay(epochDay))));
+    }
+
+    /**
+     * 全てのレコードを先頭から順に、Logを作らずに処理します。
+     * 一定の幅ずつダイレクトバッファに読み込み、各項目を直接読み込みます。offsetにはレコードのファイル内の位置を渡します。
+     * ファイルはマップしないため、読み込み後に{@link #fromCsv(Path, Path)}で置き換えても失敗しません。
+     *
+     * @param visitor レコードごとに呼び出される処理
+     * @throws IOException 読み込みに失敗した場合
+     */
+    void forEach(LogCsvReader.RecordVisitor visitor) throws IOException {
+        long end = HEADER_SIZE + size * RECORD_SIZE;
+        Metrics.addBytesRead(end - HEADER_SIZE);
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) Math.min(WINDOW_SIZE, end - HEADER_SIZE));
+        for (long position = HEADER_SIZE; position < end; ) {
+            int length = (int) Math.min(WINDOW_SIZE, end - position);
+            buffer.clear().limit(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new IOException("レコードが途中で終わっています: " + path);
+                }
+            }
+            for (int i = 0; i < length; i += RECORD_SIZE) {
+                visitor.visit(position + i, buffer.getInt(i), buffer.getInt(i + 4), buffer.getInt(i + 8),
+                        buffer.getInt(i + 12));
+            }
+            position += length;
+        }
+    }
+
+    /**
+     * ログを末尾に追加します。
+     * @param log 追加するログ
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void append(Log log) throws IOException {
+        appendAll(List.of(log));
+    }
+
+    /**
+     * 複数のログを末尾にまとめて追加します。
+     * @param logs 追加するログ
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void appendAll(List<Log> logs) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Math.min(logs.size(), BUFFER_RECORDS) * RECORD_SIZE);
+        long position = HEADER_SIZE + size * RECORD_SIZE;
+        for (Log log : logs) {
+            putRecord(buffer, log.getTaskCode(), log.getChangeUserCode(), log.getStatus(),
+                    log.getChangeDate().toEpochDay());
+            if (!buffer.hasRemaining()) {
+                position += writeFully(channel, buffer, position);
+            }
+        }
+        position += writeFully(channel, buffer, position);
+        size = (position - HEADER_SIZE) / RECORD_SIZE;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * ログCSVをバイナリ形式に変換します。変換先のファイルは置き換えます。
+     * @param csv 変換元のログCSV
+     * @param binary 変換先のファイル
+     * @return 変換したレコードの件数
+     * @throws IOException 読み書きに失敗した場合
+     */
+    public static long fromCsv(Path csv, Path binary) throws IOException {
+        Path tmp = binary.resolveSibling(binary.getFileName() + ".tmp");
+        long records;
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeHeader(out);
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_RECORDS * RECORD_SIZE);
+            long[] position = { HEADER_SIZE };
+            new LogCsvReader(csv).forEach((offset, taskCode, changeUserCode, status, epochDay) -> {
+                putRecord(buffer, taskCode, changeUserCode, status, epochDay);
+                if (!buffer.hasRemaining()) {
+                    try {
+                        position[0] += writeFully(out, buffer, position[0]);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+            position[0] += writeFully(out, buffer, position[0]);
+            records = (position[0] - HEADER_SIZE) / RECORD_SIZE;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        Files.move(tmp, binary, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return records;
+    }
+
+    /**
+     * バイナリ形式のファイルをログCSVに変換します。変換先のファイルは置き換えます。
+     * @param binary 変換元のファイル
+     * @param csv 変換先のログCSV
+     * @return 変換したレコードの件数
+     * @throws IOException 読み書きに失敗した場合、または変換元がこの形式のファイルでない場合
+     */
+    public static long toCsv(Path binary, Path csv) throws IOException {
+        Path tmp = csv.resolveSibling(csv.getFileName() + ".tmp");
+        long records;
+        try (BinaryLogFile file = open(binary);
+                BufferedWriter writer = new BufferedWriter(Files.newBufferedWriter(tmp), 1 << 16)) {
+            writer.write("Code,Name,Status,Rep_User_Code");
+            StringBuilder line = new StringBuilder();
+            long[] lastEpochDay = { Long.MIN_VALUE };
+            LocalDate[] lastDate = new LocalDate[1];
+            file.forEach((offset, taskCode, changeUserCode, status, epochDay) -> {
+                // 同じ日付が続くことが多いため、直前と同じ日付は使い回す
+                if (epochDay != lastEpochDay[0]) {
+                    lastEpochDay[0] = epochDay;
+                    lastDate[0] = LocalDate.ofEpochDay(epochDay);
+                }
+                line.setLength(0);
+                line.append(System.lineSeparator())
+                        .append(taskCode).append(',')
+                        .append(changeUserCode).append(',')
+                        .append(status).append(',')
+                        .append(lastDate[0]);
+                try {
+                    writer.append(line);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            records = file.size();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        Files.move(tmp, csv, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return records;
+    }
+
+    private static void putRecord(ByteBuffer buffer, int taskCode, int changeUserCode, int status, long epochDay) {
+        buffer.putInt(taskCode).putInt(changeUserCode).putInt(status).putInt(Math.toIntExact(epochDay));
+    }
+
+    /**
+     * バッファの内容を指定した位置に全て書き込み、バッファを空にします。
+     * @return 書き込んだバイト数
+     */
+    private static long writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        buffer.flip();
+        int length = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+        buffer.clear();
+        Metrics.addBytesWritten(length);
+        return length;
+    }
+
+    private static void writeHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).put(VERSION).put((byte) RECORD_SIZE);
+        header.rewind();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    private static void readHeader(FileChannel channel, Path path) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new IOException("ログのバイナリファイルではありません: " + path);
+            }
+        }
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("ログのバイナリファイルではありません: " + path);
+        }
+        if (header.get(4) != VERSION || header.get(5) != RECORD_SIZE) {
+            throw new IOException("対応していない形式のバージョンです（" + header.get(4) + "）: " + path);
+        }
+    }
+
+    /**
+     * ログCSVとバイナリ形式を相互に変換します。
+     * 引数は「to-binary|to-csv 変換元 変換先」です。
+     *
+     * @param args コマンドライン引数
+     * @throws IOException 読み書きに失敗した場合
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3 || !(args[0].equals("to-binary") || args[0].equals("to-csv"))) {
+            System.out.println("使い方: BinaryLogFile to-binary|to-csv 変換元 変換先");
+            return;
+        }
+        Path source = Paths.get(args[1]);
+        Path target = Paths.get(args[2]);
+        long start = System.nanoTime();
+        long records = args[0].equals("to-binary") ? fromCsv(source, target) : toCsv(source, target);
+        System.out.printf("%,d件を変換しました（%,dバイト → %,dバイト、%,dミリ秒）%n",
+                records, Files.size(source), Files.size(target), (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,261 @@
+package com.taskapp.dataaccess;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.taskapp.metrics.Metrics;
+
+/**
+ * CSVを改行の位置でそろえたバイト範囲に分け、範囲ごとにForkJoinPoolで並列に解析するリーダーです。
+ *
+ * <p>ダブルクォートで囲んだ項目の中の改行で分けないよう、先に範囲ごとのダブルクォートの数を並列に数え、
+ * ファイルの先頭からの累計が偶数になる改行だけを範囲の境目にします。
+ * UTF-8では'"'と'\n'のバイトが複数バイト文字の途中に現れないため、文字に変換せずにバイトのまま数えられます。
+ * 項目の途中にダブルクォートがあるなど、数が項目の囲みと対応しないファイルは分けずに、先頭から順に1つの範囲として読みます。</p>
+ *
+ * <p>範囲はバイト配列にまとめず、チャネルの位置を指定した読み込みで少しずつ読みながら解析するため、
+ * 範囲の大きさに上限はなく、複数のスレッドが同じチャネルを同時に読めます。
+ * ダブルクォートの数と境目も同じく小さなバッファで数えます。ファイルをメモリマップしないため、
+ * 読み込み後すぐにファイルを置き換えられます。
+ * 範囲のバイト列も実行環境の既定の文字コードによらず、UTF-8として文字に変換します。</p>
+ */
+final class ChunkedCsvReader {
+    /**
+     * 1範囲のバイト数
+     */
+    static final long DEFAULT_CHUNK_SIZE = 8L << 20;
+
+    /**
+     * ダブルクォートの数が項目の囲みと対応しないことを表す値
+     */
+    private static final int UNALIGNED = -1;
+
+    /**
+     * ダブルクォートの数や境目を数える際に1回に読み込むバイト数
+     */
+    private static final int SCAN_BUFFER_SIZE = 64 << 10;
+
+    /**
+     * 1つの範囲の行を解析する処理です。
+     */
+    @FunctionalInterface
+    interface ChunkParser<R> {
+        R parse(CsvTokenizer csv) throws IOException;
+    }
+
+    private final Path path;
+
+    private final long chunkSize;
+
+    ChunkedCsvReader(Path path) {
+        this(path, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param path CSVのパス
+     * @param chunkSize 1範囲のバイト数
+     */
+    ChunkedCsvReader(Path path, long chunkSize) {
+        if (chunkSize <= 0 || chunkSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("chunkSize: " + chunkSize);
+        }
+        this.path = path;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * 範囲ごとにparserを呼び出し、結果をファイルの順に並べて返します。
+     * 最初の範囲は見出し行を読み飛ばしてからparserに渡します。
+     * 範囲の大きさは行の長さによって多少前後し、長い項目が範囲をまたぐ場合は行の無い範囲もできます。
+     *
+     * @param parser 範囲ごとに呼び出される処理。複数のスレッドから同時に呼び出されます。
+     * @param <R> 範囲ごとの結果の型
+     * @return 範囲ごとの結果
+     * @throws IOException 読み込みに失敗した場合
+     */
+    <R> List<R> read(ChunkParser<R> parser) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            Metrics.addBytesRead(size);
+            long[] bounds = bounds(channel, size);
+            return IntStream.range(0, bounds.length - 1).parallel()
+                    .mapToObj(i -> {
+                        try {
+                            return parse(channel, bounds[i], bounds[i + 1], i == 0, parser);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })
+                    .toList();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 範囲の境目を求めます。範囲iは[bounds[i], bounds[i + 1])です。
+     */
+    private long[] bounds(FileChannel channel, long size) {
+        int chunks = (int) Math.max(1, (size + chunkSize - 1) / chunkSize);
+        int[] quotes = IntStream.range(0, chunks).parallel()
+                .map(i -> countQuotes(channel, i * chunkSize, Math.min((i + 1) * chunkSize, size), size))
+                .toArray();
+        if (chunks == 1 || Arrays.stream(quotes).anyMatch(count -> count == UNALIGNED)) {
+            return new long[] { 0, size };
+        }
+        // 範囲の先頭より前のダブルクォートの数の偶奇
+        int[] parities = new int[chunks];
+        for (int i = 1; i < chunks; i++) {
+            parities[i] = (parities[i - 1] + quotes[i - 1]) & 1;
+        }
+        long[] bounds = new long[chunks + 1];
+        bounds[chunks] = size;
+        IntStream.range(1, chunks).parallel()
+                .forEach(i -> bounds[i] = nextRecord(channel, i * chunkSize, parities[i], size));
+        return bounds;
+    }
+
+    /**
+     * [from, to)のダブルクォートの数を数えます。
+     * ダブルクォートは項目の先頭か末尾、または2つ重ねた形でしか現れないため、前後のどちらかが区切り文字かダブルクォートです。
+     * そうでないダブルクォートがある場合は{@link #UNALIGNED}を返します。
+     */
+    private static int countQuotes(FileChannel channel, long from, long to, long size) {
+        long start = Math.max(from - 1, 0);
+        long end = Math.min(to + 1, size);
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        int count = 0;
+        // ファイルの先頭は区切り文字の直後として扱う
+        byte previous = '\n';
+        // 直前のバイトが区切り文字でないダブルクォートの後で、次のバイトを確かめる必要があるかどうか
+        boolean pending = false;
+        for (long position = start; position < end; ) {
+            int length = read(channel, buffer, position, end);
+            for (int i = 0; i < length; i++) {
+                byte b = buffer.get(i);
+                if (pending && !isDelimiterOrQuote(b)) {
+                    return UNALIGNED;
+                }
+                pending = false;
+                long offset = position + i;
+                if (b == '"' && offset >= from && offset < to) {
+                    count++;
+                    pending = !isDelimiterOrQuote(previous);
+                }
+                previous = b;
+            }
+            position += length;
+        }
+        // 確かめられなかったダブルクォートはファイルの末尾にあり、区切り文字の直前として扱う
+        return count;
+    }
+
+    private static boolean isDelimiterOrQuote(byte b) {
+        return b == ',' || b == '\n' || b == '\r' || b == '"';
+    }
+
+    /**
+     * from以降で、ダブルクォートの外にある最初の改行の次の位置を求めます。
+     * @param parity fromより前のダブルクォートの数の偶奇
+     * @return 行の先頭の位置、見つからない場合はファイルのサイズ
+     */
+    private long nextRecord(FileChannel channel, long from, int parity, long size) {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        for (long position = from; position < size; ) {
+            int length = read(channel, buffer, position, size);
+            for (int i = 0; i < length; i++) {
+                byte b = buffer.get(i);
+                if (b == '"') {
+                    parity ^= 1;
+                } else if (b == '\n' && parity == 0) {
+                    return position + i + 1;
+                }
+            }
+            position += length;
+        }
+        return size;
+    }
+
+    /**
+     * [start, end)の行を解析します。
+     */
+    private static <R> R parse(FileChannel channel, long start, long end, boolean header,
+            ChunkParser<R> parser) throws IOException {
+        try (CsvTokenizer csv = new CsvTokenizer(
+                new InputStreamReader(new RangeInputStream(channel, start, end), StandardCharsets.UTF_8))) {
+            if (header) {
+                // 1行読み飛ばす
+                csv.next();
+            }
+            return parser.parse(csv);
+        }
+    }
+
+    /**
+     * チャネルの[position, end)を読むストリームです。
+     * チャネルの現在位置を使わないため、同じチャネルに対して範囲ごとに作成し、並列に読めます。
+     * 閉じてもチャネルは閉じません。
+     */
+    private static final class RangeInputStream extends InputStream {
+        private final FileChannel channel;
+
+        private final long end;
+
+        private long position;
+
+        RangeInputStream(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(b, off, (int) Math.min(len, end - position));
+            int n = channel.read(buffer, position);
+            if (n < 0) {
+                return -1;
+            }
+            position += n;
+            return n;
+        }
+    }
+
+    /**
+     * [position, end)の先頭からバッファの大きさまでを、バッファの先頭に読み込みます。
+     * @return 読み込んだバイト数
+     */
+    private static int read(FileChannel channel, ByteBuffer buffer, long position, long end) {
+        buffer.clear().limit((int) Math.min(buffer.capacity(), end - position));
+        try {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new EOFException("読み込み中にファイルが短くなりました");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.position();
+    }
+}
@@ -0,0 +1,70 @@
+package com.taskapp.dataaccess;
+
+/**
+ * ジャーナル圧縮の実行結果を集計します。
+ * 停止時間は、圧縮中に追記を止めていた時間（開始時の複製と置き換え時）の合計です。
+ */
+public final class CompactionStats {
+    private long compactions;
+
+    private long recordsWritten;
+
+    private long bytesWritten;
+
+    private long writeNanos;
+
+    private long lastPauseNanos;
+
+    private long maxPauseNanos;
+
+    private long totalPauseNanos;
+
+    synchronized void record(long records, long bytes, long writeNanos, long pauseNanos) {
+        compactions++;
+        recordsWritten += records;
+        bytesWritten += bytes;
+        this.writeNanos += writeNanos;
+        lastPauseNanos = pauseNanos;
+        maxPauseNanos = Math.max(maxPauseNanos, pauseNanos);
+        totalPauseNanos += pauseNanos;
+    }
+
+    public synchronized long getCompactions() {
+        return compactions;
+    }
+
+    public synchronized long getRecordsWritten() {
+        return recordsWritten;
+    }
+
+    public synchronized long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * 書き出しの処理量を取得します。
+     * @return 1秒あたりのレコード数
+     */
+    public synchronized double getRecordsPerSecond() {
+        return writeNanos == 0 ? 0.0 : recordsWritten * 1_000_000_000.0 / writeNanos;
+    }
+
+    public synchronized long getLastPauseNanos() {
+        return lastPauseNanos;
+    }
+
+    public synchronized long getMaxPauseNanos() {
+        return maxPauseNanos;
+    }
+
+    public synchronized long getTotalPauseNanos() {
+        return totalPauseNanos;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("compactions=%d records=%d bytes=%d throughput=%.0f records/s pause(last/max/total)=%d/%d/%d us",
+                compactions, recordsWritten, bytesWritten, getRecordsPerSecond(),
+                lastPauseNanos / 1_000, maxPauseNanos / 1_000, totalPauseNanos / 1_000);
+    }
+}
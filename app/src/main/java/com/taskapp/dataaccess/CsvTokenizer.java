@@ -0,0 +1,317 @@
+package com.taskapp.dataaccess;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * CSVを1行ずつ項目に分割するトークナイザです。
+ *
+ * <p>読み込んだ文字は使い回すバッファに置いたまま、各項目の開始・終了位置だけを記録します。
+ * 数値や日付の項目はバッファから直接解析するため、行や項目ごとの文字列を作りません。
+ * 文字列を作るのは{@link #getString(int)}を呼び出した項目だけです。</p>
+ *
+ * <p>ダブルクォートで囲んだ項目には、カンマ・改行・2つ重ねたダブルクォート（"" → "）を含められます。
+ * 改行はLF・CRLF・CRのいずれも行の終わりとして扱います。</p>
+ *
+ * <pre>
+ * try (CsvTokenizer csv = new CsvTokenizer(reader)) {
+ *     csv.next(); // 見出し行を読み飛ばす
+ *     while (csv.next()) {
+ *         if (csv.fieldCount() != 4) continue;
+ *         int code = csv.getInt(0);
+ *         String name = csv.getString(1);
+ *     }
+ * }
+ * </pre>
+ */
+final class CsvTokenizer implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Reader reader;
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+
+    private int position;
+
+    private int limit;
+
+    /**
+     * 現在の行の項目の内容。クォートを外した文字を詰めて保持します。
+     */
+    private char[] row = new char[256];
+
+    private int rowLength;
+
+    /**
+     * 項目iの内容はrow[starts[i], ends[i])
+     */
+    private int[] starts = new int[8];
+
+    private int[] ends = new int[8];
+
+    private int fieldCount;
+
+    CsvTokenizer(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * 次の行を読み込みます。
+     * @return 行を読み込んだ場合はtrue、ファイルの終わりの場合はfalse
+     * @throws IOException 読み込みに失敗した場合
+     */
+    boolean next() throws IOException {
+        rowLength = 0;
+        fieldCount = 0;
+        int c = read();
+        if (c < 0) {
+            return false;
+        }
+        int fieldStart = 0;
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c < 0) {
+                    // 閉じられていないクォートはファイルの終わりまでを項目とする
+                    endField(fieldStart);
+                    return true;
+                }
+                if (c == '"') {
+                    if (peek() == '"') {
+                        position++;
+                        append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    append((char) c);
+                }
+            } else if (c < 0 || c == '\n') {
+                endField(fieldStart);
+                return true;
+            } else if (c == '\r') {
+                if (peek() == '\n') {
+                    position++;
+                }
+                endField(fieldStart);
+                return true;
+            } else if (c == ',') {
+                endField(fieldStart);
+                fieldStart = rowLength;
+            } else if (c == '"' && rowLength == fieldStart) {
+                quoted = true;
+            } else {
+                append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * 現在の行の項目数を取得します。空行は空の項目1つとして数えます。
+     * @return 項目数
+     */
+    int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * 項目を文字列として取得します。
+     * @param index 項目の番号（0から）
+     * @return 項目の内容
+     */
+    String getString(int index) {
+        checkIndex(index);
+        return new String(row, starts[index], ends[index] - starts[index]);
+    }
+
+    /**
+     * 項目が指定した文字列と等しいか判定します。文字列を作らずに比較します。
+     * @param index 項目の番号（0から）
+     * @param value 比較する文字列
+     * @return 等しい場合はtrue
+     */
+    boolean fieldEquals(int index, String value) {
+        checkIndex(index);
+        int start = starts[index];
+        int length = ends[index] - start;
+        if (length != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (row[start + i] != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 項目を10進数の整数として解析します。
+     * @param index 項目の番号（0から）
+     * @return 解析した値
+     * @throws NumberFormatException int範囲の整数でない場合
+     */
+    int getInt(int index) {
+        checkIndex(index);
+        long value = parseInt(row, starts[index], ends[index]);
+        if (value == Long.MIN_VALUE) {
+            throw new NumberFormatException("For input string: \"" + getString(index) + "\"");
+        }
+        return (int) value;
+    }
+
+    /**
+     * 項目をyyyy-MM-dd形式の日付として解析します。
+     * @param index 項目の番号（0から）
+     * @return エポック日（1970-01-01からの日数）
+     * @throws java.time.format.DateTimeParseException 日付として解釈できない場合
+     */
+    long getEpochDay(int index) {
+        checkIndex(index);
+        int start = starts[index];
+        int end = ends[index];
+        if (end - start == 10 && row[start + 4] == '-' && row[start + 7] == '-') {
+            long year = parseInt(row, start, start + 4);
+            long month = parseInt(row, start + 5, start + 7);
+            long day = parseInt(row, start + 8, start + 10);
+            if (year >= 0 && month >= 1 && month <= 12 && day >= 1 && day <= lengthOfMonth((int) year, (int) month)) {
+                return epochDay((int) year, (int) month, (int) day);
+            }
+        }
+        // 形式が異なる場合や存在しない日付は、LocalDateに解析とエラーの報告を任せる
+        return LocalDate.parse(getString(index)).toEpochDay();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * 項目をCSVに書き込む形式にします。
+     * カンマ・ダブルクォート・改行を含む場合だけダブルクォートで囲み、中のダブルクォートは2つ重ねます。
+     * @param value 項目の内容
+     * @return CSVに書き込む文字列
+     */
+    static String quote(String value) {
+        boolean needsQuote = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                needsQuote = true;
+                break;
+            }
+        }
+        if (!needsQuote) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * [start, end)を10進数の整数として解析します。
+     * @return 解析した値、int範囲の整数でない場合はLong.MIN_VALUE
+     */
+    static long parseInt(char[] chars, int start, int end) {
+        boolean negative = start < end && chars[start] == '-';
+        int i = negative ? start + 1 : start;
+        if (i == end || end - i > 10) {
+            return Long.MIN_VALUE;
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = chars[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + digit;
+        }
+        value = negative ? -value : value;
+        return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? Long.MIN_VALUE : value;
+    }
+
+    static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * 0年以降の年月日から、LocalDate#toEpochDayと同じ計算でエポック日を求めます。
+     */
+    static long epochDay(int year, int month, int day) {
+        long y = year;
+        long total = 365 * y;
+        total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+            if (!leap) {
+                total--;
+            }
+        }
+        return total - 719528;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= fieldCount) {
+            throw new IndexOutOfBoundsException("index: " + index + ", fieldCount: " + fieldCount);
+        }
+    }
+
+    private void endField(int fieldStart) {
+        if (fieldCount == starts.length) {
+            starts = Arrays.copyOf(starts, fieldCount * 2);
+            ends = Arrays.copyOf(ends, fieldCount * 2);
+        }
+        starts[fieldCount] = fieldStart;
+        ends[fieldCount] = rowLength;
+        fieldCount++;
+    }
+
+    private void append(char c) {
+        if (rowLength == row.length) {
+            row = Arrays.copyOf(row, row.length * 2);
+        }
+        row[rowLength++] = c;
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int n = reader.read(buffer, 0, buffer.length);
+        if (n <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = n;
+        return true;
+    }
+}
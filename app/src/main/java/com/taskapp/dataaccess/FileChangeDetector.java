@@ -0,0 +1,154 @@
+package com.taskapp.dataaccess;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * データファイルが外部のツールで変更されたことを検知し、該当するファイルの{@link FileWatch}に印を付けます。
+ *
+ * <p>1本のデーモンスレッドが、ファイルのあるディレクトリをWatchServiceで監視します。
+ * 変更の通知があったファイルだけ状態を確かめ、通知が無いまま一定時間が経った場合は
+ * 通知を取りこぼした場合に備えて全てのファイルを確かめます。
+ * DataAccessの読み込みは印を読むだけで、ファイルの状態を確かめるのはこのスレッドだけです。</p>
+ *
+ * <p>印が付いたDataAccessは、次の読み込みの際にそのファイルの内容だけを読み込み直します。</p>
+ */
+public final class FileChangeDetector implements Closeable {
+    /**
+     * 通知が無い場合に全てのファイルを確かめる間隔
+     */
+    private static final long POLL_INTERVAL_MILLIS = 2_000;
+
+    private static volatile FileChangeDetector defaultDetector;
+
+    /**
+     * 監視できない環境では null とし、定期的な確認だけを行います。
+     */
+    private final WatchService watchService;
+
+    /**
+     * 正規化した絶対パスをキーとした、そのファイルの監視
+     */
+    private final Map<Path, List<FileWatch>> watches = new ConcurrentHashMap<>();
+
+    private final Set<Path> directories = ConcurrentHashMap.newKeySet();
+
+    private final Thread thread;
+
+    private volatile boolean closed;
+
+    public FileChangeDetector() {
+        WatchService service = null;
+        try {
+            service = FileSystems.getDefault().newWatchService();
+        } catch (IOException | UnsupportedOperationException e) {
+            e.printStackTrace();
+        }
+        watchService = service;
+        thread = new Thread(this::run, "file-change-detector");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 既定のデータファイルを使うDataAccessで共有する検知器を取得します。初回の呼び出しで作成します。
+     * @return 共有の検知器
+     */
+    public static FileChangeDetector getDefault() {
+        FileChangeDetector detector = defaultDetector;
+        if (detector == null) {
+            synchronized (FileChangeDetector.class) {
+                detector = defaultDetector;
+                if (detector == null) {
+                    detector = new FileChangeDetector();
+                    defaultDetector = detector;
+                }
+            }
+        }
+        return detector;
+    }
+
+    /**
+     * ファイルの監視を始めます。同じファイルを複数のDataAccessが監視する場合は、それぞれに別の監視を返します。
+     * @param file 監視するファイル
+     * @return ファイルの監視
+     */
+    FileWatch watch(Path file) {
+        Path path = file.toAbsolutePath().normalize();
+        FileWatch watch = new FileWatch(path);
+        watches.computeIfAbsent(path, key -> new CopyOnWriteArrayList<>()).add(watch);
+        Path directory = path.getParent();
+        if (watchService != null && directory != null && directories.add(directory)) {
+            try {
+                directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            } catch (IOException | ClosedWatchServiceException e) {
+                // 監視できないディレクトリのファイルは定期的な確認で検知する
+                e.printStackTrace();
+            }
+        }
+        return watch;
+    }
+
+    /**
+     * 全てのファイルの状態を直ちに確かめます。
+     */
+    void checkAll() {
+        watches.values().forEach(list -> list.forEach(FileWatch::check));
+    }
+
+    /**
+     * 監視を終了します。
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        thread.interrupt();
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    private void run() {
+        while (!closed) {
+            try {
+                WatchKey key = watchService == null ? null
+                        : watchService.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (key == null) {
+                    if (watchService == null) {
+                        Thread.sleep(POLL_INTERVAL_MILLIS);
+                    }
+                    checkAll();
+                    continue;
+                }
+                Path directory = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        checkAll();
+                        continue;
+                    }
+                    List<FileWatch> list = watches.get(directory.resolve((Path) event.context()));
+                    if (list != null) {
+                        list.forEach(FileWatch::check);
+                    }
+                }
+                key.reset();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                // closeで終了する
+            }
+        }
+    }
+}
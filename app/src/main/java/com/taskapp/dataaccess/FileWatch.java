@@ -0,0 +1,105 @@
+package com.taskapp.dataaccess;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 1つのデータファイルについて、メモリ上の内容を作った後に外部で変更されたかどうかを保持します。
+ *
+ * <p>ファイルの状態（更新日時・サイズ・ファイルの識別子）を確かめるのは{@link FileChangeDetector}のスレッドと、
+ * アプリ自身の書き込み・読み込み直しと、検知器を使わないユーザーCSVをタスク表の読み込み前、
+ * またはログインできなかった際に間隔を空けて確かめる時だけです。
+ * 読み込み側は{@link #isStale()}でvolatileな印を読むだけで、ファイルシステムへの問い合わせは行いません。</p>
+ *
+ * <p>アプリ自身の書き込みは{@link #beginWrite()}と{@link #endWrite()}で挟み、書き込み後の状態を既知の状態として記録します。
+ * 書き込み中は確認を行わないため、アプリ自身の書き込みを外部の変更とは見なしません。</p>
+ */
+final class FileWatch {
+    private final Path path;
+
+    private volatile boolean stale;
+
+    /**
+     * メモリ上の内容に対応するファイルの状態
+     */
+    private FileStamp known;
+
+    /**
+     * 書き込み中のアプリ内の処理の数
+     */
+    private int writers;
+
+    FileWatch(Path path) {
+        this.path = path;
+        this.known = FileStamp.of(path);
+    }
+
+    Path path() {
+        return path;
+    }
+
+    /**
+     * メモリ上の内容を作った後に、ファイルが外部で変更されたかどうかを取得します。
+     * @return 変更された場合はtrue
+     */
+    boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * 読み込み直す前に呼び出し、現在のファイルの状態を既知の状態として印を外します。
+     * 読み込み中にさらに変更された場合は、次の確認で再び印が付きます。
+     */
+    synchronized void clear() {
+        stale = false;
+        known = FileStamp.of(path);
+    }
+
+    /**
+     * アプリ自身の書き込みを始めます。
+     */
+    synchronized void beginWrite() {
+        writers++;
+    }
+
+    /**
+     * アプリ自身の書き込みを終え、書き込み後のファイルの状態を既知の状態として記録します。
+     */
+    synchronized void endWrite() {
+        if (--writers == 0) {
+            known = FileStamp.of(path);
+        }
+    }
+
+    /**
+     * ファイルの状態を確かめ、既知の状態と異なれば印を付けます。
+     * アプリ自身の書き込み中は確かめません。
+     */
+    synchronized void check() {
+        if (stale || writers > 0) {
+            return;
+        }
+        if (!FileStamp.of(path).equals(known)) {
+            stale = true;
+        }
+    }
+
+    /**
+     * ファイルの更新日時・サイズ・識別子です。置き換えられたファイルは識別子で区別します。
+     * ファイルが無い場合は全て-1・nullにします。
+     */
+    private record FileStamp(long modified, long size, Object fileKey) {
+        static FileStamp of(Path path) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                return new FileStamp(attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS), attributes.size(),
+                        attributes.fileKey());
+            } catch (IOException e) {
+                return new FileStamp(-1, -1, null);
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.taskapp.dataaccess;
+
+import java.util.Arrays;
+
+/**
+ * intをキー、0以上のintを値とするハッシュマップです。
+ * キーも値もボクシングせずにオープンアドレス法（線形探索）で保持します。
+ * 値は1を足して保持し、0を空きの印にします。
+ * 更新と同時に読み込んだ場合は、誤った値を返すか実行時例外をスローすることがあります。
+ */
+final class IntIntMap {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] keys;
+
+    /**
+     * 値+1。0の場合は空き
+     */
+    private int[] values;
+
+    private int size;
+
+    IntIntMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize 想定される要素数
+     */
+    IntIntMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize * 2 - 1, DEFAULT_CAPACITY)) << 1;
+        keys = new int[capacity];
+        values = new int[capacity];
+    }
+
+    /**
+     * キーに対応する値を取得します。
+     * @param key キー
+     * @return 値、存在しない場合は-1
+     */
+    int get(int key) {
+        int[] keys = this.keys;
+        int[] values = this.values;
+        int mask = keys.length - 1;
+        int index = mix(key) & mask;
+        while (values[index] != 0) {
+            if (keys[index] == key) {
+                return values[index] - 1;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * キーと値を保存します。既に値がある場合は上書きします。
+     * @param key キー
+     * @param value 値（0以上）
+     * @return 以前の値、存在しない場合は-1
+     */
+    int put(int key, int value) {
+        if (value < 0 || value == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("value: " + value);
+        }
+        int mask = keys.length - 1;
+        int index = mix(key) & mask;
+        while (values[index] != 0) {
+            if (keys[index] == key) {
+                int old = values[index] - 1;
+                values[index] = value + 1;
+                return old;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = key;
+        values[index] = value + 1;
+        // 負荷率が1/2を超えたら拡張
+        if (++size * 2 > keys.length) {
+            resize(keys.length << 1);
+        }
+        return -1;
+    }
+
+    /**
+     * キーに対応する値を削除します。
+     * @param key キー
+     * @return 削除した値、存在しない場合は-1
+     */
+    int remove(int key) {
+        int mask = keys.length - 1;
+        int index = mix(key) & mask;
+        while (values[index] != 0) {
+            if (keys[index] == key) {
+                int old = values[index] - 1;
+                shiftBack(index);
+                size--;
+                return old;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        Arrays.fill(values, 0);
+        size = 0;
+    }
+
+    /**
+     * 削除した位置以降のクラスタを詰め直し、探索が途切れないようにします。
+     */
+    private void shiftBack(int gap) {
+        int mask = keys.length - 1;
+        int index = gap;
+        while (true) {
+            index = (index + 1) & mask;
+            if (values[index] == 0) {
+                break;
+            }
+            int home = mix(keys[index]) & mask;
+            // homeがgapより後ろ（循環考慮）にある要素は動かせない
+            if (((index - home) & mask) >= ((index - gap) & mask)) {
+                keys[gap] = keys[index];
+                values[gap] = values[index];
+                gap = index;
+            }
+        }
+        values[gap] = 0;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        int[] newKeys = new int[capacity];
+        int[] newValues = new int[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] == 0) continue;
+            int index = mix(oldKeys[i]) & mask;
+            while (newValues[index] != 0) {
+                index = (index + 1) & mask;
+            }
+            newKeys[index] = oldKeys[i];
+            newValues[index] = oldValues[i];
+        }
+        keys = newKeys;
+        values = newValues;
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
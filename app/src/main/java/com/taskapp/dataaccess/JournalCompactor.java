@@ -0,0 +1,48 @@
+package com.taskapp.dataaccess;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ジャーナルの圧縮をバックグラウンドのスレッドで実行します。
+ * 全てのジャーナルで1本のデーモンスレッドを共有し、同じジャーナルの圧縮は同時に1つまでしか予約しません。
+ */
+final class JournalCompactor {
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "journal-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Runnable compaction;
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * @param compaction 圧縮処理
+     */
+    JournalCompactor(Runnable compaction) {
+        this.compaction = compaction;
+    }
+
+    /**
+     * 圧縮を予約します。既に予約済み、または実行中の場合は何もしません。
+     */
+    void request() {
+        if (!scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        EXECUTOR.execute(() -> {
+            try {
+                compaction.run();
+            } finally {
+                scheduled.set(false);
+            }
+        });
+    }
+
+    boolean isScheduled() {
+        return scheduled.get();
+    }
+}
@@ -0,0 +1,284 @@
+package com.taskapp.dataaccess;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+import com.taskapp.metrics.Metrics;
+
+/**
+ * ログCSVを読み込むリーダーです。
+ * ファイルを一定の幅ずつ自身のダイレクトバッファに読み込み、バイト列から各項目を直接数値として解析するため、
+ * 行や項目ごとの文字列を作りません。行の途中で切れないよう、位置をずらしながら複数回に分けて読み込みます。
+ *
+ * <p>ファイルをメモリマップしないため、読み込みが終わった時点でファイルへの参照は残りません。
+ * Windowsではマップが残っている間はファイルを置き換えられないため、読み込み直後の書き直しでも失敗しません。</p>
+ */
+final class LogCsvReader {
+    /**
+     * 1回に読み込む最大バイト数
+     */
+    static final long DEFAULT_WINDOW_SIZE = 8L << 20;
+
+    /**
+     * 削除済みの行の先頭に書き込む印。この印で始まる行は読み飛ばします。
+     * {@link StoreOptions#withTombstones(boolean)}を有効にした場合のみ書き込まれ、詰め直すまでは
+     * ログCSVに「#」で始まる行が残ります。この形式を知らない外部のツールでCSVを読む場合は、この設定を無効のままにしてください。
+     */
+    static final byte TOMBSTONE = '#';
+
+    /**
+     * 1行分のログを受け取る処理です。
+     * offsetは行の先頭のファイル内の位置、日付はエポック日（1970-01-01からの日数）で渡します。
+     */
+    @FunctionalInterface
+    interface RecordVisitor {
+        void visit(long offset, int taskCode, int changeUserCode, int status, long epochDay);
+    }
+
+    private final Path path;
+
+    private final long windowSize;
+
+    /**
+     * 直前の読み込みで読み飛ばした削除済みの行数
+     */
+    private long tombstones;
+
+    LogCsvReader(Path path) {
+        this(path, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * @param path ログCSVのパス
+     * @param windowSize 1回に読み込む最大バイト数
+     */
+    LogCsvReader(Path path, long windowSize) {
+        if (windowSize <= 0 || windowSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("windowSize: " + windowSize);
+        }
+        this.path = path;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * 見出し行を除く全ての行を先頭から順に処理します。
+     * 空行や項目数が4でない行、数値として解釈できない行、削除済みの行は読み飛ばします。
+     * ダブルクォートで囲んだ項目も読み込めます。
+     *
+     * @param visitor 行ごとに呼び出される処理
+     * @throws IOException 読み込みに失敗した場合
+     */
+    void forEach(RecordVisitor visitor) throws IOException {
+        Metrics.addBytesRead(read(0, Long.MAX_VALUE, visitor));
+    }
+
+    /**
+     * 先頭がファイル内の位置[from, to)にある行を順に処理します。
+     * fromが行の途中の場合、その行は前の範囲の行として読み飛ばし、toをまたぐ行は最後まで読みます。
+     * そのため、ファイルを任意の位置で隣り合う範囲に分けても、全ての行をちょうど1回ずつ処理できます。
+     * fromが0の場合は見出し行を読み飛ばします。
+     * 読み込んだバイト数は{@link Metrics}に記録しません。範囲ごとに別のスレッドで呼び出すため、
+     * 呼び出し側のスレッドでまとめて記録してください。
+     *
+     * @param from 範囲の開始位置（この位置を含む）
+     * @param to 範囲の終了位置（この位置を含まない）
+     * @param visitor 行ごとに呼び出される処理
+     * @return 範囲のバイト数
+     * @throws IOException 読み込みに失敗した場合
+     */
+    long forEach(long from, long to, RecordVisitor visitor) throws IOException {
+        return read(from, to, visitor);
+    }
+
+    /**
+     * {@link #forEach(long, long, RecordVisitor)}の読み込みです。
+     * @return 範囲のバイト数
+     */
+    private long read(long from, long to, RecordVisitor visitor) throws IOException {
+        tombstones = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long end = Math.min(to, size);
+            if (from >= end) {
+                return 0;
+            }
+            // 見出し行、または前の範囲から続く行の残りを読み飛ばす。
+            // 直前の1バイトから探すことで、fromがちょうど行の先頭の場合はその行から読む
+            long position = from == 0 ? 0 : from - 1;
+            boolean skip = true;
+            ByteBuffer buffer = ByteBuffer.allocateDirect((int) Math.min(windowSize, size - position));
+
+            while (position < size) {
+                int length = (int) Math.min(windowSize, size - position);
+                int limit = fill(channel, buffer, position, length);
+                boolean lastWindow = limit < length || position + limit == size;
+
+                int lineStart = 0;
+                for (int i = 0; i < limit; i++) {
+                    if (buffer.get(i) != '\n') continue;
+                    if (skip) {
+                        skip = false;
+                    } else {
+                        parseLine(buffer, position, lineStart, i, visitor);
+                    }
+                    lineStart = i + 1;
+                    if (position + lineStart >= end) {
+                        // 次の行は後の範囲に含まれる
+                        return end - from;
+                    }
+                }
+
+                if (lastWindow) {
+                    // 改行で終わらない最後の行
+                    if (lineStart < limit && !skip) {
+                        parseLine(buffer, position, lineStart, limit, visitor);
+                    }
+                    break;
+                }
+                if (lineStart == 0) {
+                    throw new IOException("1行が" + windowSize + "バイトを超えています: " + path);
+                }
+                // 途中で切れた行は次の読み込みの先頭から読み直す
+                position += lineStart;
+            }
+            return end - from;
+        }
+    }
+
+    /**
+     * ファイルのpositionからlengthバイトをバッファの先頭から読み込みます。
+     * 読み込み中にファイルが短くなった場合は、読めたところまでで終えます。
+     * @return 読み込んだバイト数
+     */
+    private static int fill(FileChannel channel, ByteBuffer buffer, long position, int length) throws IOException {
+        buffer.clear().limit(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                break;
+            }
+        }
+        return buffer.position();
+    }
+
+    /**
+     * 直前の{@link #forEach(RecordVisitor)}・{@link #forEach(long, long, RecordVisitor)}で読み飛ばした削除済みの行数を取得します。
+     * @return 削除済みの行数
+     */
+    long tombstones() {
+        return tombstones;
+    }
+
+    /**
+     * [start, end)の1行を解析し、正しい形式であればvisitorに渡します。
+     * @param base バッファの先頭のファイル内の位置
+     */
+    private void parseLine(ByteBuffer buffer, long base, int start, int end, RecordVisitor visitor) {
+        if (end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        if (start == end) {
+            return;
+        }
+        if (buffer.get(start) == TOMBSTONE) {
+            tombstones++;
+            return;
+        }
+
+        // 3つのカンマの位置を探す
+        int comma1 = -1;
+        int comma2 = -1;
+        int comma3 = -1;
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) != ',') continue;
+            if (comma1 < 0) {
+                comma1 = i;
+            } else if (comma2 < 0) {
+                comma2 = i;
+            } else if (comma3 < 0) {
+                comma3 = i;
+            } else {
+                return;
+            }
+        }
+        if (comma3 < 0) return;
+
+        long taskCode = parseInt(buffer, start, comma1);
+        long changeUserCode = parseInt(buffer, comma1 + 1, comma2);
+        long status = parseInt(buffer, comma2 + 1, comma3);
+        long epochDay = parseDate(buffer, comma3 + 1, end);
+        if (taskCode == Long.MIN_VALUE || changeUserCode == Long.MIN_VALUE
+                || status == Long.MIN_VALUE || epochDay == Long.MIN_VALUE) {
+            return;
+        }
+        visitor.visit(base + start, (int) taskCode, (int) changeUserCode, (int) status, epochDay);
+    }
+
+    /**
+     * [start, end)を10進数の整数として解析します。
+     * @return 解析した値、int範囲の整数でない場合はLong.MIN_VALUE
+     */
+    private static long parseInt(ByteBuffer buffer, int start, int end) {
+        if (isQuoted(buffer, start, end)) {
+            start++;
+            end--;
+        }
+        boolean negative = start < end && buffer.get(start) == '-';
+        int i = negative ? start + 1 : start;
+        if (i == end || end - i > 10) {
+            return Long.MIN_VALUE;
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + digit;
+        }
+        value = negative ? -value : value;
+        return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? Long.MIN_VALUE : value;
+    }
+
+    /**
+     * [start, end)をyyyy-MM-dd形式の日付として解析し、エポック日を返します。
+     * それ以外の形式はLocalDate#parseに任せます。
+     * @return エポック日、日付として解釈できない場合はLong.MIN_VALUE
+     */
+    private static long parseDate(ByteBuffer buffer, int start, int end) {
+        if (isQuoted(buffer, start, end)) {
+            start++;
+            end--;
+        }
+        if (end - start == 10 && buffer.get(start + 4) == '-' && buffer.get(start + 7) == '-') {
+            long year = parseInt(buffer, start, start + 4);
+            long month = parseInt(buffer, start + 5, start + 7);
+            long day = parseInt(buffer, start + 8, start + 10);
+            if (year >= 0 && month >= 1 && month <= 12 && day >= 1
+                    && day <= CsvTokenizer.lengthOfMonth((int) year, (int) month)) {
+                return CsvTokenizer.epochDay((int) year, (int) month, (int) day);
+            }
+            return Long.MIN_VALUE;
+        }
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        try {
+            return LocalDate.parse(new String(bytes, StandardCharsets.UTF_8)).toEpochDay();
+        } catch (DateTimeParseException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * [start, end)がダブルクォートで囲まれているか判定します。
+     * ログの項目は数値と日付だけのため、囲まれていれば外側の1組を外すだけで読めます。
+     */
+    private static boolean isQuoted(ByteBuffer buffer, int start, int end) {
+        return end - start >= 2 && buffer.get(start) == '"' && buffer.get(end - 1) == '"';
+    }
+}
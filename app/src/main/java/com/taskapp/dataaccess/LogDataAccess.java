@@ -1,22 +1,111 @@
 package com.taskapp.dataaccess;
 
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
-import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
+import com.taskapp.metrics.Metrics;
+import com.taskapp.metrics.OperationMetrics;
 import com.taskapp.model.Log;
 
 public class LogDataAccess {
+    private static final OperationMetrics SAVE = Metrics.operation("LogDataAccess.save");
+
+    private static final OperationMetrics SAVE_ALL = Metrics.operation("LogDataAccess.saveAll");
+
+    private static final OperationMetrics FIND_ALL = Metrics.operation("LogDataAccess.findAll");
+
+    private static final OperationMetrics FOR_EACH = Metrics.operation("LogDataAccess.forEach");
+
+    private static final OperationMetrics VISIT_PARALLEL = Metrics.operation("LogDataAccess.visitParallel");
+
+    private static final OperationMetrics FIND_BY_TASK_CODE = Metrics.operation("LogDataAccess.findByTaskCode");
+
+    private static final OperationMetrics DELETE_BY_TASK_CODE = Metrics.operation("LogDataAccess.deleteByTaskCode");
+
+    /**
+     * 並列に読み込む際の1範囲のバイト数（ログCSVを読む場合）
+     */
+    private static final long RANGE_BYTES = 8L << 20;
+
+    /**
+     * 並列に読み込む際の1範囲の件数（ヒープの外に保持したログを読む場合）
+     */
+    private static final int RANGE_RECORDS = 1 << 19;
+
+    /**
+     * 1件のログを、Logや日付のオブジェクトを作らずに受け取る処理です。
+     * 日付はエポック日（1970-01-01からの日数）で渡します。
+     */
+    @FunctionalInterface
+    public interface LogVisitor {
+        void visit(int taskCode, int changeUserCode, int status, long epochDay);
+    }
+
     private final String filePath;
 
+    private final StoreOptions options;
+
+    /**
+     * 削除済みの行を詰め直すバックグラウンド処理。最初に詰め直しを予約する際に作成し、書き込み用のロックを保持して参照します。
+     * 構築途中のインスタンスを詰め直しのスレッドに渡さないよう、コンストラクタでは作成しません。
+     */
+    private JournalCompactor purger;
+
+    /**
+     * ファイルへの読み書きを制御するロック。
+     * 読み込み同士は並行して行い、保存・削除・詰め直しは1件ずつ、読み込みとも重ならないように行います。
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
+    /**
+     * タスクコードごとの行の位置。初回の削除時に読み込みます。
+     */
+    private LogOffsetIndex index;
+
+    /**
+     * ヒープの外に保持したログ。ヒープの外に保持しない設定の場合と、初回の読み込み前はnull
+     */
+    private volatile OffHeapLogStore store;
+
+    /**
+     * ログCSVの末尾へ追記するチャネル
+     */
+    private final AppendChannel appender;
+
+    /**
+     * ログCSVの外部からの変更の監視。監視しない場合はnull
+     */
+    private final FileWatch watch;
+
+    /**
+     * ログCSVをまとめて書き込む設定でインスタンスを作成します。
+     * システムプロパティ「taskapp.offHeapLogs」がtrueの場合は、ログをヒープの外に保持します。
+     * その場合はOffHeapLogStoreの説明にある-XX:MaxDirectMemorySizeを指定して起動してください。
+     */
     public LogDataAccess() {
-        filePath = "app/src/main/resources/logs.csv";
+        this("app/src/main/resources/logs.csv",
+                StoreOptions.defaults().withGroupCommit(64, 50).withOffHeapLogs(Boolean.getBoolean("taskapp.offHeapLogs")),
+                FileChangeDetector.getDefault());
     }
 
     /**
@@ -24,85 +113,500 @@ public class LogDataAccess {
      * @param filePath
      */
     public LogDataAccess(String filePath) {
+        this(filePath, StoreOptions.defaults());
+    }
+
+    /**
+     * 削除方式と書き込みの間隔を指定してインスタンスを作成します。
+     *
+     * @param filePath ログCSVのパス
+     * @param options 削除方式と書き込みの間隔
+     */
+    public LogDataAccess(String filePath, StoreOptions options) {
+        this(filePath, options, null);
+    }
+
+    /**
+     * 削除方式と書き込みの間隔、外部からの変更の検知器を指定してインスタンスを作成します。
+     * 検知器がログCSVの変更を検知した場合、ヒープの外に保持したログと行の位置の索引を捨て、次の読み込みで作り直します。
+     *
+     * @param filePath ログCSVのパス
+     * @param options 削除方式と書き込みの間隔
+     * @param detector ファイルの変更の検知器。検知しない場合はnull
+     */
+    public LogDataAccess(String filePath, StoreOptions options, FileChangeDetector detector) {
         this.filePath = filePath;
+        this.options = options;
+        this.watch = detector == null ? null : detector.watch(Paths.get(filePath));
+        this.appender = new AppendChannel(Paths.get(filePath), options, watch);
     }
 
     /**
      * ログをCSVファイルに保存します。
+     * 書き込みの間隔を指定している場合、ファイルへの反映は他の保存とまとめて行います。
      *
      * @param log 保存するログ
      */
     public void save(Log log) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath, true))) {
+        Metrics.Sample sample = SAVE.start();
+        String separator = System.lineSeparator();
+        lock.writeLock().lock();
+        try {
+            discardIfChanged();
             // 改行
-            writer.newLine();
-
-            String line = createLine(log);
+            long offset = appender.append(separator + createLine(log), 1) + separator.length();
+            if (index != null) {
+                index.add(log.getTaskCode(), offset);
+            }
+            if (store != null) {
+                store.append(log);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            lock.writeLock().unlock();
+            SAVE.stop(sample);
+        }
+    }
 
-            writer.write(line);
+    /**
+     * 複数のログをまとめてCSVファイルに保存します。
+     * ファイルへの書き込みは全件で1回だけです。
+     *
+     * @param logs 保存するログ
+     */
+    public void saveAll(List<Log> logs) {
+        if (logs.isEmpty()) {
+            return;
+        }
+        Metrics.Sample sample = SAVE_ALL.start();
+        StringBuilder text = new StringBuilder();
+        // 行は全てASCII文字のため、文字数がそのままバイト数になる
+        int[] starts = new int[logs.size()];
+        for (int i = 0; i < logs.size(); i++) {
+            // 改行
+            text.append(System.lineSeparator());
+            starts[i] = text.length();
+            text.append(createLine(logs.get(i)));
+        }
+        lock.writeLock().lock();
+        try {
+            discardIfChanged();
+            long offset = appender.append(text.toString(), logs.size());
+            if (index != null) {
+                for (int i = 0; i < logs.size(); i++) {
+                    index.add(logs.get(i).getTaskCode(), offset + starts[i]);
+                }
+            }
+            if (store != null) {
+                for (Log log : logs) {
+                    store.append(log);
+                }
+            }
         } catch (IOException e) {
             e.printStackTrace();
+        } finally {
+            lock.writeLock().unlock();
+            SAVE_ALL.stop(sample);
         }
     }
 
     /**
      * すべてのログを取得します。
+     * 範囲に分けて並列に読み込み、保存した順につなぎます。
+     * 全件をメモリ上に保持するため、件数が多い場合は{@link #forEach(Consumer)}を使ってください。
      *
+     * @see #visitParallel(Supplier)
+     * @see #forEach(Consumer)
      * @return すべてのログのリスト
      */
     public List<Log> findAll() {
-        List<Log> logs = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            // 1行読み飛ばす
-            reader.readLine();
+        Metrics.Sample sample = FIND_ALL.start();
+        try {
+            List<LogCollector> ranges = visitParallel(LogCollector::new);
+            List<Log> logs = new ArrayList<>(ranges.stream().mapToInt(range -> range.logs.size()).sum());
+            ranges.forEach(range -> logs.addAll(range.logs));
+            return logs;
+        } finally {
+            FIND_ALL.stop(sample);
+        }
+    }
 
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] values = line.split(",");
+    /**
+     * すべてのログをファイルの先頭から順に1件ずつ処理します。
+     * ログを一度に保持しないため、件数にかかわらず一定のメモリで処理できます。
+     * ファイルを一定の幅ずつバッファに読み込み、バイト列から直接解析します。
+     * ヒープの外に保持する設定の場合は、ファイルを読まずにメモリ上のログを処理します。
+     * 処理中は他のスレッドの読み込みと並行できますが、保存・削除は完了まで待たせます。
+     * そのため、actionの中から同じインスタンスのsave/deleteByTaskCodeを呼び出さないでください。
+     *
+     * @see com.taskapp.dataaccess.LogCsvReader#forEach(LogCsvReader.RecordVisitor)
+     * @param action ログごとに呼び出される処理
+     */
+    public void forEach(Consumer<? super Log> action) {
+        Metrics.Sample sample = FOR_EACH.start();
+        lockForRead();
+        try {
+            if (store != null) {
+                store.forEach(new LogAdapter(action));
+                return;
+            }
+            appender.flush();
+            new LogCsvReader(Paths.get(filePath)).forEach(new LogAdapter(action));
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            lock.readLock().unlock();
+            FOR_EACH.stop(sample);
+        }
+    }
 
-                if (values.length != 4) continue;
+    /**
+     * すべてのログを保存した順に隣り合う範囲に分け、範囲ごとにsupplierで作った処理に渡します。
+     * 範囲はForkJoinPoolで並列に処理します。ログCSVを読む場合は行の途中で切れないよう改行の位置で範囲を分け、
+     * ヒープの外に保持する設定の場合はログの番号で範囲を分けます。
+     * 各範囲の処理は1つのスレッドだけが呼び出すため、処理の中で排他制御する必要はありません。
+     * 保存・削除は完了まで待たせるため、処理の中から同じインスタンスのsave/deleteByTaskCodeを呼び出さないでください。
+     *
+     * @param supplier 範囲ごとの処理を作成する処理
+     * @param <V> 範囲ごとの処理の型
+     * @return 範囲ごとの処理を、担当した範囲の順（保存した順）に並べたリスト。読み込みに失敗した場合は空のリスト
+     */
+    public <V extends LogVisitor> List<V> visitParallel(Supplier<? extends V> supplier) {
+        Metrics.Sample sample = VISIT_PARALLEL.start();
+        lockForRead();
+        try {
+            return visitRanges(store, supplier);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return List.of();
+        } finally {
+            lock.readLock().unlock();
+            VISIT_PARALLEL.stop(sample);
+        }
+    }
 
-                int taskCode = Integer.parseInt(values[0]);
-                int changeUserCode = Integer.parseInt(values[1]);
-                int status = Integer.parseInt(values[2]);
-                LocalDate date = LocalDate.parse(values[3]);
+    /**
+     * 指定したタスクコードに該当するログを、保存した順に取得します。
+     * ヒープの外に保持する設定の場合は、該当するログだけを辿るため全件を読みません。
+     *
+     * @param taskCode タスクコード
+     * @return 該当するログのリスト
+     */
+    public List<Log> findByTaskCode(int taskCode) {
+        return findByTaskCode(taskCode, LocalDate.MIN, LocalDate.MAX);
+    }
 
-                Log log = new Log(taskCode, changeUserCode, status, date);
-                logs.add(log);
+    /**
+     * 指定したタスクコードに該当し、変更日が指定した範囲にあるログを、保存した順に取得します。
+     *
+     * @param taskCode タスクコード
+     * @param from 範囲の開始日（この日を含む）
+     * @param to 範囲の終了日（この日を含む）
+     * @return 該当するログのリスト
+     */
+    public List<Log> findByTaskCode(int taskCode, LocalDate from, LocalDate to) {
+        Metrics.Sample sample = FIND_BY_TASK_CODE.start();
+        long fromEpochDay = from.toEpochDay();
+        long toEpochDay = to.toEpochDay();
+        List<Log> logs = new ArrayList<>();
+        LogAdapter adapter = new LogAdapter(logs::add);
+        lockForRead();
+        try {
+            if (store != null) {
+                store.forEachByTaskCode(taskCode, fromEpochDay, toEpochDay, adapter);
+                return logs;
             }
+            appender.flush();
+            new LogCsvReader(Paths.get(filePath)).forEach((offset, code, changeUserCode, status, epochDay) -> {
+                if (code == taskCode && epochDay >= fromEpochDay && epochDay <= toEpochDay) {
+                    adapter.visit(offset, code, changeUserCode, status, epochDay);
+                }
+            });
         } catch (IOException e) {
             e.printStackTrace();
+        } finally {
+            lock.readLock().unlock();
+            FIND_BY_TASK_CODE.stop(sample);
         }
         return logs;
     }
 
     /**
      * 指定したタスクコードに該当するログを削除します。
+     * 削除済みの印を書き込む設定の場合は、索引から求めた該当行の先頭だけを書き換えるため、
+     * 処理量はそのタスクのログ件数にしか比例しません。
+     * それ以外の場合は、残すログを1件ずつ一時ファイルに書き出してから置き換えます。
      *
-     * @see #findAll()
+     * @see #forEach(Consumer)
      * @param taskCode 削除するログのタスクコード
      */
     public void deleteByTaskCode(int taskCode) {
-        List<Log> logs = findAll();
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
+        Metrics.Sample sample = DELETE_BY_TASK_CODE.start();
+        lock.writeLock().lock();
+        try {
+            discardIfChanged();
+            if (!options.isTombstones()) {
+                // 削除が必要なタスクか判定
+                if (rewrite(log -> log.getTaskCode() != taskCode) && store != null) {
+                    store.remove(taskCode);
+                }
+                return;
+            }
+
+            LogOffsetIndex index = index();
+            if (index == null) {
+                return;
+            }
+            try {
+                // 書き込み待ちの行にも印を付けられるよう、先に反映する
+                appender.flush();
+            } catch (IOException e) {
+                e.printStackTrace();
+                return;
+            }
+            long[] offsets = index.remove(taskCode);
+            if (offsets.length == 0) {
+                return;
+            }
+            beginWrite();
+            try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.WRITE)) {
+                ByteBuffer mark = ByteBuffer.wrap(new byte[] { LogCsvReader.TOMBSTONE });
+                for (long offset : offsets) {
+                    mark.rewind();
+                    channel.write(mark, offset);
+                }
+                Metrics.addBytesWritten(offsets.length);
+            } catch (IOException e) {
+                e.printStackTrace();
+                // 途中まで書き込んだ可能性があるため、次回の削除時に索引を、次回の読み込み時にログを読み込み直す
+                this.index = null;
+                this.store = null;
+                return;
+            } finally {
+                endWrite();
+            }
+            index.addTombstones(offsets.length);
+            if (store != null) {
+                store.remove(taskCode);
+            }
+
+            if (index.liveRecords() + index.tombstones() >= options.getCompactionMinRecords()
+                    && index.garbageRatio() > options.getCompactionThreshold()) {
+                if (purger == null) {
+                    purger = new JournalCompactor(this::purgeTombstones);
+                }
+                purger.request();
+            }
+        } finally {
+            lock.writeLock().unlock();
+            DELETE_BY_TASK_CODE.stop(sample);
+        }
+    }
+
+    /**
+     * 削除済みの印を付けた行を取り除き、ファイルを詰め直します。
+     */
+    void purgeTombstones() {
+        lock.writeLock().lock();
+        try {
+            rewrite(log -> true);
+            index = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 条件に合うログだけを一時ファイルに書き出し、ファイルを置き換えます。
+     * 削除済みの印を付けた行は読み込み時に読み飛ばすため、書き出されません。
+     *
+     * @param keep 残すログの条件
+     * @return ファイルを置き換えた場合はtrue
+     */
+    private boolean rewrite(Predicate<Log> keep) {
+        Path target = Paths.get(filePath);
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(tmp.toFile()))) {
             writer.write("Code,Name,Status,Rep_User_Code");
             writer.newLine();
 
-            String line;
-            for (Log log : logs) {
-                // 削除が必要なタスクか判定
-                if (log.getTaskCode() == taskCode) {
-                    continue;
+            forEach(log -> {
+                if (!keep.test(log)) {
+                    return;
+                }
+                try {
+                    writer.write(createLine(log));
+                    writer.newLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
                 }
+            });
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        } catch (UncheckedIOException e) {
+            e.getCause().printStackTrace();
+            return false;
+        }
 
-                line = createLine(log);
+        beginWrite();
+        try {
+            if (Metrics.ENABLED) {
+                Metrics.addBytesWritten(Files.size(tmp));
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // 置き換え前のファイルを開いたままにしないよう、次の追記で開き直す
+            appender.close();
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        } finally {
+            endWrite();
+        }
+    }
+
+    /**
+     * {@link #visitParallel(Supplier)}の範囲分けと並列処理です。ロックを保持した状態で呼び出してください。
+     * @param store ヒープの外に保持したログ。ログCSVを読む場合はnull
+     */
+    private <V extends LogVisitor> List<V> visitRanges(OffHeapLogStore store, Supplier<? extends V> supplier)
+            throws IOException {
+        if (store != null) {
+            int length = store.length();
+            int ranges = Math.max(1, (length + RANGE_RECORDS - 1) / RANGE_RECORDS);
+            return IntStream.range(0, ranges).parallel().mapToObj(i -> {
+                V visitor = supplier.get();
+                store.forEach(i * RANGE_RECORDS, (int) Math.min((long) (i + 1) * RANGE_RECORDS, length),
+                        (offset, taskCode, changeUserCode, status, epochDay) ->
+                                visitor.visit(taskCode, changeUserCode, status, epochDay));
+                return visitor;
+            }).toList();
+        }
+        appender.flush();
+        Path path = Paths.get(filePath);
+        long size = Files.size(path);
+        int ranges = (int) Math.max(1, (size + RANGE_BYTES - 1) / RANGE_BYTES);
+        // 範囲は別のスレッドで読むため、読み込んだバイト数は集めてから呼び出し側のスレッドで記録する
+        LongAdder bytesRead = new LongAdder();
+        try {
+            return IntStream.range(0, ranges).parallel().mapToObj(i -> {
+                V visitor = supplier.get();
+                try {
+                    bytesRead.add(new LogCsvReader(path).forEach(i * RANGE_BYTES, (i + 1) * RANGE_BYTES,
+                            (offset, taskCode, changeUserCode, status, epochDay) ->
+                                    visitor.visit(taskCode, changeUserCode, status, epochDay)));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return visitor;
+            }).toList();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            Metrics.addBytesRead(bytesRead.sum());
+        }
+    }
+
+    /**
+     * ログCSVが外部で変更されていれば、ヒープの外に保持したログと行の位置の索引を捨て、追記用のチャネルを閉じます。
+     * 次の読み込み・削除の際に、変更後のファイルから作り直します。
+     * 書き込み用のロックを保持した状態で呼び出してください。
+     */
+    private void discardIfChanged() {
+        if (watch == null || !watch.isStale()) {
+            return;
+        }
+        watch.clear();
+        if (store != null) {
+            store.clear();
+            store = null;
+        }
+        index = null;
+        try {
+            // 置き換えられたファイルを開いたままにしないよう、次の追記で開き直す
+            appender.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
 
-                writer.write(line);
-                writer.newLine();
+    /**
+     * アプリ自身によるログCSVの書き込みを始めます。外部からの変更とは見なさないよう、監視に記録します。
+     */
+    private void beginWrite() {
+        if (watch != null) {
+            watch.beginWrite();
+        }
+    }
+
+    private void endWrite() {
+        if (watch != null) {
+            watch.endWrite();
+        }
+    }
+
+    /**
+     * 読み込み用のロックを取得します。
+     * ヒープの外に保持する設定でまだ読み込んでいない場合と、ログCSVが外部で変更された場合は、
+     * 書き込み用のロックを取得してログCSVを読み込み直してから、読み込み用のロックに切り替えます。
+     */
+    private void lockForRead() {
+        if ((!options.isOffHeapLogs() || store != null) && (watch == null || !watch.isStale())) {
+            lock.readLock().lock();
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            discardIfChanged();
+            if (options.isOffHeapLogs() && store == null) {
+                store = load();
+            }
+            lock.readLock().lock();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * ログCSVの全ての行をヒープの外に読み込みます。
+     * 行の解析は範囲に分けて並列に行い、解析した値を保存した順にヒープの外へ追加します。
+     * @return 読み込んだログ、読み込みに失敗した場合はnull
+     */
+    private OffHeapLogStore load() {
+        OffHeapLogStore loaded = new OffHeapLogStore();
+        try {
+            for (RecordBuffer buffer : visitRanges(null, RecordBuffer::new)) {
+                buffer.appendTo(loaded);
             }
         } catch (IOException e) {
             e.printStackTrace();
+            loaded.clear();
+            return null;
+        }
+        return loaded;
+    }
+
+    /**
+     * タスクコードごとの行の位置の索引を取得します。未読み込みの場合はファイルを1回走査して作成します。
+     * @return 索引、読み込みに失敗した場合はnull
+     */
+    private LogOffsetIndex index() {
+        if (index == null) {
+            LogOffsetIndex loaded = new LogOffsetIndex();
+            LogCsvReader reader = new LogCsvReader(Paths.get(filePath));
+            try {
+                appender.flush();
+                reader.forEach((offset, taskCode, changeUserCode, status, epochDay) -> loaded.add(taskCode, offset));
+            } catch (IOException e) {
+                e.printStackTrace();
+                return null;
+            }
+            loaded.addTombstones(reader.tombstones());
+            index = loaded;
         }
+        return index;
     }
 
     /**
@@ -116,4 +620,71 @@ public class LogDataAccess {
                 log.getStatus() + "," + log.getChangeDate();
     }
 
-}
\ No newline at end of file
+    /**
+     * 解析した行からLogを作成して処理に渡します。
+     * ログの日付は連続して同じ値になりやすいため、直前と同じ日付はLocalDateを使い回します。
+     */
+    private static final class LogAdapter implements LogCsvReader.RecordVisitor {
+        private final Consumer<? super Log> action;
+
+        private long lastEpochDay = Long.MIN_VALUE;
+
+        private LocalDate lastDate;
+
+        LogAdapter(Consumer<? super Log> action) {
+            this.action = action;
+        }
+
+        @Override
+        public void visit(long offset, int taskCode, int changeUserCode, int status, long epochDay) {
+            if (epochDay != lastEpochDay) {
+                lastEpochDay = epochDay;
+                lastDate = LocalDate.ofEpochDay(epochDay);
+            }
+            action.accept(new Log(taskCode, changeUserCode, status, lastDate));
+        }
+    }
+
+    /**
+     * 1つの範囲のログからLogを作成して保持します。
+     */
+    private static final class LogCollector implements LogVisitor {
+        private final List<Log> logs = new ArrayList<>();
+
+        private final LogAdapter adapter = new LogAdapter(logs::add);
+
+        @Override
+        public void visit(int taskCode, int changeUserCode, int status, long epochDay) {
+            adapter.visit(0, taskCode, changeUserCode, status, epochDay);
+        }
+    }
+
+    /**
+     * 1つの範囲のログの値を、ヒープの外に追加するまで配列に保持します。
+     */
+    private static final class RecordBuffer implements LogVisitor {
+        private int[] codes = new int[3 * 1_024];
+
+        private long[] epochDays = new long[1_024];
+
+        private int size;
+
+        @Override
+        public void visit(int taskCode, int changeUserCode, int status, long epochDay) {
+            if (size == epochDays.length) {
+                codes = Arrays.copyOf(codes, size * 2 * 3);
+                epochDays = Arrays.copyOf(epochDays, size * 2);
+            }
+            codes[size * 3] = taskCode;
+            codes[size * 3 + 1] = changeUserCode;
+            codes[size * 3 + 2] = status;
+            epochDays[size++] = epochDay;
+        }
+
+        void appendTo(OffHeapLogStore store) {
+            for (int i = 0; i < size; i++) {
+                store.append(codes[i * 3], codes[i * 3 + 1], codes[i * 3 + 2], epochDays[i]);
+            }
+        }
+    }
+}
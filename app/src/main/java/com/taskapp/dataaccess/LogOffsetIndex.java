@@ -0,0 +1,80 @@
+package com.taskapp.dataaccess;
+
+import java.util.Arrays;
+
+/**
+ * タスクコードごとに、ログCSV内の行の先頭位置を保持する索引です。
+ * 削除済み（先頭に印を書き込んだ）行の数も合わせて数え、まとめて詰め直す時期の判断に使います。
+ */
+final class LogOffsetIndex {
+    private static final long[] EMPTY = new long[0];
+
+    private final IntObjectMap<Offsets> offsets = new IntObjectMap<>();
+
+    private long liveRecords;
+
+    private long tombstones;
+
+    /**
+     * 行の位置を追加します。
+     * @param taskCode タスクコード
+     * @param offset 行の先頭の位置
+     */
+    void add(int taskCode, long offset) {
+        Offsets entry = offsets.get(taskCode);
+        if (entry == null) {
+            entry = new Offsets();
+            offsets.put(taskCode, entry);
+        }
+        entry.add(offset);
+        liveRecords++;
+    }
+
+    /**
+     * タスクコードに該当する行の位置を索引から取り除きます。
+     * @param taskCode タスクコード
+     * @return 取り除いた行の位置、無い場合は空の配列
+     */
+    long[] remove(int taskCode) {
+        Offsets entry = offsets.remove(taskCode);
+        if (entry == null) {
+            return EMPTY;
+        }
+        liveRecords -= entry.size;
+        return Arrays.copyOf(entry.values, entry.size);
+    }
+
+    void addTombstones(long count) {
+        tombstones += count;
+    }
+
+    long liveRecords() {
+        return liveRecords;
+    }
+
+    long tombstones() {
+        return tombstones;
+    }
+
+    /**
+     * 全ての行のうち削除済みの行の割合を計算します。
+     * @return 0.0から1.0の割合
+     */
+    double garbageRatio() {
+        long total = liveRecords + tombstones;
+        return total == 0 ? 0.0 : (double) tombstones / total;
+    }
+
+    private static final class Offsets {
+        private long[] values = new long[4];
+
+        private int size;
+
+        void add(long offset) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = offset;
+        }
+    }
+}
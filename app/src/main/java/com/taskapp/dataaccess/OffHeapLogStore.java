@@ -0,0 +1,305 @@
+package com.taskapp.dataaccess;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import com.taskapp.model.Log;
+
+/**
+ * ログをヒープの外（ダイレクトバッファ）に保持するストアです。
+ *
+ * <p>1件のログはタスクコード・変更ユーザーコード・ステータス・エポック日の4つのint（16バイト）で、
+ * 固定件数ごとのチャンクに追記します。同じタスクの1つ前のログの番号も別のチャンクに持ち、
+ * タスクごとの取得は該当するログだけを辿ります。
+ * ヒープ上に置くのはチャンクの参照・タスクコードの索引・削除済みのビット列だけのため、
+ * 数千万件を保持してもGCが辿るオブジェクトはほとんど増えません。</p>
+ *
+ * <p>削除したログは削除済みのビット列に印を付け、削除済みが半分を超えた時点で詰め直します。
+ * ステータスには任意のint値を保持できるよう、削除済みの印をステータスの値では表しません。
+ * スレッドセーフではないため、呼び出し側で排他制御してください。</p>
+ *
+ * <p>チャンクはダイレクトバッファのため、ヒープではなく-XX:MaxDirectMemorySizeの上限に数えられます。
+ * 1チャンクは65,536件分で1.25MB（1件あたり20バイト）のため、5,000万件なら約1GBが必要です。
+ * 上限を指定しない場合は最大ヒープサイズと同じ値になり、小さいヒープで起動すると
+ * 読み込みの途中でOutOfMemoryError（Cannot reserve direct buffer memory）になります。
+ * ログ件数×20バイトに、ログCSVの読み込みで使うバッファ（並列に読むチャンクごとに8MB）を足した値以上を指定してください。
+ * 例えば「gradle run -PoffHeapLogs=2g」は、ヒープの外への保持を有効にして上限を2GBにします。</p>
+ */
+final class OffHeapLogStore {
+    static final int RECORD_SIZE = 16;
+
+    /**
+     * 1チャンクあたりの件数（2のべき乗）
+     */
+    private static final int CHUNK_SHIFT = 16;
+
+    private static final int CHUNK_RECORDS = 1 << CHUNK_SHIFT;
+
+    private static final int CHUNK_MASK = CHUNK_RECORDS - 1;
+
+    /**
+     * 保持できる最大件数。ログの番号はintで扱い、索引のIntIntMapは値にInteger.MAX_VALUEを保存できないため、
+     * チャンク単位で切り捨てた値にします。
+     */
+    static final int MAX_RECORDS = Integer.MAX_VALUE & ~CHUNK_MASK;
+
+    /**
+     * 削除済みのログがこの件数未満の間は詰め直しません。
+     */
+    private static final int MIN_COMPACTION_RECORDS = 1_024;
+
+    private static final int TASK_CODE = 0;
+
+    private static final int CHANGE_USER_CODE = 4;
+
+    private static final int STATUS = 8;
+
+    private static final int EPOCH_DAY = 12;
+
+    private ByteBuffer[] records = new ByteBuffer[4];
+
+    /**
+     * 同じタスクの1つ前のログの番号。無い場合は-1
+     */
+    private ByteBuffer[] previous = new ByteBuffer[4];
+
+    private int chunks;
+
+    /**
+     * 削除済みを含む件数
+     */
+    private int length;
+
+    private int deleted;
+
+    /**
+     * 削除済みのログの番号
+     */
+    private final BitSet deletedRecords = new BitSet();
+
+    /**
+     * タスクコードをキーとした、そのタスクの最後のログの番号
+     */
+    private final IntIntMap lastRecords = new IntIntMap();
+
+    /**
+     * ログを末尾に追加します。
+     * @param log 追加するログ
+     */
+    void append(Log log) {
+        append(log.getTaskCode(), log.getChangeUserCode(), log.getStatus(), log.getChangeDate().toEpochDay());
+    }
+
+    /**
+     * ログを末尾に追加します。
+     * @param taskCode タスクコード
+     * @param changeUserCode 変更したユーザーのコード
+     * @param status 変更後のステータス
+     * @param epochDay 変更日のエポック日
+     */
+    void append(int taskCode, int changeUserCode, int status, long epochDay) {
+        if (epochDay < Integer.MIN_VALUE || epochDay > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("epochDay: " + epochDay);
+        }
+        if (length == chunks << CHUNK_SHIFT) {
+            if (length == MAX_RECORDS) {
+                throw new IllegalStateException("too many records: " + length);
+            }
+            addChunk();
+        }
+        int record = length++;
+        write(record, taskCode, changeUserCode, status, (int) epochDay);
+        link(record, taskCode);
+    }
+
+    /**
+     * 削除済みを除く全てのログを追加した順に処理します。
+     * visitorのoffsetにはログの番号を渡します。
+     *
+     * @param visitor ログごとに呼び出される処理
+     */
+    void forEach(LogCsvReader.RecordVisitor visitor) {
+        forEach(0, length, visitor);
+    }
+
+    /**
+     * 番号が[from, to)の範囲にある、削除済みを除くログを追加した順に処理します。
+     * 読み込みだけを行うため、追加・削除と重ならなければ複数のスレッドから別々の範囲を同時に処理できます。
+     *
+     * @param from 範囲の開始番号（この番号を含む）
+     * @param to 範囲の終了番号（この番号を含まない）
+     * @param visitor ログごとに呼び出される処理
+     */
+    void forEach(int from, int to, LogCsvReader.RecordVisitor visitor) {
+        to = Math.min(to, length);
+        for (int record = from; record < to; record++) {
+            if (deletedRecords.get(record)) continue;
+            ByteBuffer buffer = records[record >>> CHUNK_SHIFT];
+            int position = (record & CHUNK_MASK) * RECORD_SIZE;
+            visitor.visit(record, buffer.getInt(position + TASK_CODE), buffer.getInt(position + CHANGE_USER_CODE),
+                    buffer.getInt(position + STATUS), buffer.getInt(position + EPOCH_DAY));
+        }
+    }
+
+    /**
+     * タスクコードに該当するログを追加した順に処理します。
+     * 該当するログだけを辿るため、処理量はそのタスクのログ件数にしか比例しません。
+     *
+     * @param taskCode タスクコード
+     * @param visitor ログごとに呼び出される処理
+     */
+    void forEachByTaskCode(int taskCode, LogCsvReader.RecordVisitor visitor) {
+        forEachByTaskCode(taskCode, Long.MIN_VALUE, Long.MAX_VALUE, visitor);
+    }
+
+    /**
+     * タスクコードに該当し、変更日が指定した範囲にあるログを追加した順に処理します。
+     *
+     * @param taskCode タスクコード
+     * @param fromEpochDay 範囲の開始日のエポック日（この日を含む）
+     * @param toEpochDay 範囲の終了日のエポック日（この日を含む）
+     * @param visitor ログごとに呼び出される処理
+     */
+    void forEachByTaskCode(int taskCode, long fromEpochDay, long toEpochDay, LogCsvReader.RecordVisitor visitor) {
+        int[] found = recordsOf(taskCode);
+        // 索引は新しい順に辿るため、古い順に戻して処理する
+        for (int i = found.length - 1; i >= 0; i--) {
+            int record = found[i];
+            ByteBuffer buffer = records[record >>> CHUNK_SHIFT];
+            int position = (record & CHUNK_MASK) * RECORD_SIZE;
+            int epochDay = buffer.getInt(position + EPOCH_DAY);
+            if (epochDay < fromEpochDay || epochDay > toEpochDay) continue;
+            visitor.visit(record, taskCode, buffer.getInt(position + CHANGE_USER_CODE),
+                    buffer.getInt(position + STATUS), epochDay);
+        }
+    }
+
+    /**
+     * タスクコードに該当するログを全て削除します。
+     * @param taskCode タスクコード
+     * @return 削除した件数
+     */
+    int remove(int taskCode) {
+        int[] found = recordsOf(taskCode);
+        if (found.length == 0) {
+            return 0;
+        }
+        lastRecords.remove(taskCode);
+        for (int record : found) {
+            deletedRecords.set(record);
+        }
+        deleted += found.length;
+        if (deleted >= MIN_COMPACTION_RECORDS && deleted * 2 > length) {
+            compact();
+        }
+        return found.length;
+    }
+
+    /**
+     * 削除済みを除く件数を取得します。
+     * @return 件数
+     */
+    int size() {
+        return length - deleted;
+    }
+
+    /**
+     * 全てのログを削除し、確保したダイレクトバッファを手放します。
+     */
+    void clear() {
+        Arrays.fill(records, null);
+        Arrays.fill(previous, null);
+        chunks = 0;
+        length = 0;
+        deleted = 0;
+        deletedRecords.clear();
+        lastRecords.clear();
+    }
+
+    /**
+     * 削除済みを含む件数を取得します。{@link #forEach(int, int, LogCsvReader.RecordVisitor)}の番号の上限です。
+     * @return 件数
+     */
+    int length() {
+        return length;
+    }
+
+    /**
+     * 確保しているダイレクトバッファのバイト数を取得します。
+     * @return バイト数
+     */
+    long reservedBytes() {
+        return (long) chunks * CHUNK_RECORDS * (RECORD_SIZE + Integer.BYTES);
+    }
+
+    /**
+     * タスクコードに該当するログの番号を新しい順に取得します。
+     */
+    private int[] recordsOf(int taskCode) {
+        int[] found = new int[4];
+        int count = 0;
+        for (int record = lastRecords.get(taskCode); record >= 0;
+                record = previous[record >>> CHUNK_SHIFT].getInt((record & CHUNK_MASK) * Integer.BYTES)) {
+            if (count == found.length) {
+                found = Arrays.copyOf(found, count * 2);
+            }
+            found[count++] = record;
+        }
+        return Arrays.copyOf(found, count);
+    }
+
+    /**
+     * 削除済みのログを取り除いて詰め直し、索引を作り直します。
+     * 詰め直した後に空になったチャンクは手放します。
+     */
+    private void compact() {
+        lastRecords.clear();
+        int target = 0;
+        for (int record = 0; record < length; record++) {
+            if (deletedRecords.get(record)) continue;
+            ByteBuffer source = records[record >>> CHUNK_SHIFT];
+            int position = (record & CHUNK_MASK) * RECORD_SIZE;
+            int taskCode = source.getInt(position + TASK_CODE);
+            write(target, taskCode, source.getInt(position + CHANGE_USER_CODE), source.getInt(position + STATUS),
+                    source.getInt(position + EPOCH_DAY));
+            link(target, taskCode);
+            target++;
+        }
+        length = target;
+        deleted = 0;
+        deletedRecords.clear();
+        int used = (length + CHUNK_MASK) >>> CHUNK_SHIFT;
+        Arrays.fill(records, used, chunks, null);
+        Arrays.fill(previous, used, chunks, null);
+        chunks = used;
+    }
+
+    private void write(int record, int taskCode, int changeUserCode, int status, int epochDay) {
+        ByteBuffer buffer = records[record >>> CHUNK_SHIFT];
+        int position = (record & CHUNK_MASK) * RECORD_SIZE;
+        buffer.putInt(position + TASK_CODE, taskCode);
+        buffer.putInt(position + CHANGE_USER_CODE, changeUserCode);
+        buffer.putInt(position + STATUS, status);
+        buffer.putInt(position + EPOCH_DAY, epochDay);
+    }
+
+    /**
+     * ログを同じタスクの最後のログとして索引に登録し、1つ前のログの番号を記録します。
+     */
+    private void link(int record, int taskCode) {
+        int last = lastRecords.put(taskCode, record);
+        previous[record >>> CHUNK_SHIFT].putInt((record & CHUNK_MASK) * Integer.BYTES, last);
+    }
+
+    private void addChunk() {
+        if (chunks == records.length) {
+            records = Arrays.copyOf(records, chunks * 2);
+            previous = Arrays.copyOf(previous, chunks * 2);
+        }
+        records[chunks] = ByteBuffer.allocateDirect(CHUNK_RECORDS * RECORD_SIZE).order(ByteOrder.nativeOrder());
+        previous[chunks] = ByteBuffer.allocateDirect(CHUNK_RECORDS * Integer.BYTES).order(ByteOrder.nativeOrder());
+        chunks++;
+    }
+}
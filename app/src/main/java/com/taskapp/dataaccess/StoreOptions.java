@@ -0,0 +1,156 @@
+package com.taskapp.dataaccess;
+
+/**
+ * データファイルの書き込み方式を指定する設定です。
+ * インスタンスは不変で、with系メソッドは設定を変更した新しいインスタンスを返します。
+ */
+public final class StoreOptions {
+    private final boolean journaled;
+
+    private final boolean tombstones;
+
+    private final double compactionThreshold;
+
+    private final long compactionMinRecords;
+
+    private final int flushEveryRecords;
+
+    private final long flushIntervalMillis;
+
+    private final boolean fsync;
+
+    private final boolean offHeapLogs;
+
+    private StoreOptions(boolean journaled, boolean tombstones, double compactionThreshold, long compactionMinRecords,
+            int flushEveryRecords, long flushIntervalMillis, boolean fsync, boolean offHeapLogs) {
+        this.journaled = journaled;
+        this.tombstones = tombstones;
+        this.compactionThreshold = compactionThreshold;
+        this.compactionMinRecords = compactionMinRecords;
+        this.flushEveryRecords = flushEveryRecords;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.fsync = fsync;
+        this.offHeapLogs = offHeapLogs;
+    }
+
+    /**
+     * 変更のたびにCSVを書き直す、従来通りの設定を取得します。
+     * @return 既定の設定
+     */
+    public static StoreOptions defaults() {
+        return new StoreOptions(false, false, 0.5, 1_000, 1, 0, false, false);
+    }
+
+    /**
+     * 変更をジャーナルへの追記で記録するかを指定します。
+     * 有効にした場合、CSVはジャーナル作成時の初期データと出力先としてのみ使います。
+     *
+     * @param journaled ジャーナルに追記する場合はtrue
+     * @return 設定を変更した新しいインスタンス
+     */
+    public StoreOptions withJournal(boolean journaled) {
+        return new StoreOptions(journaled, tombstones, compactionThreshold, compactionMinRecords,
+                flushEveryRecords, flushIntervalMillis, fsync, offHeapLogs);
+    }
+
+    /**
+     * ログの削除を、ファイルの書き直しではなく該当する行に削除済みの印を書き込んで行うかを指定します。
+     * 印を付けた行の領域は、圧縮の条件を満たした時点でまとめて詰め直します。
+     * 詰め直すまではログCSVに「#」で始まる行が残るため、既定では無効です。
+     *
+     * @param tombstones 削除済みの印を書き込む場合はtrue
+     * @return 設定を変更した新しいインスタンス
+     */
+    public StoreOptions withTombstones(boolean tombstones) {
+        return new StoreOptions(journaled, tombstones, compactionThreshold, compactionMinRecords,
+                flushEveryRecords, flushIntervalMillis, fsync, offHeapLogs);
+    }
+
+    /**
+     * ジャーナルや削除済みの行をバックグラウンドで圧縮する条件を指定します。
+     * 不要なレコードの割合がthresholdを超え、かつレコード数がminRecords以上になった時点で圧縮します。
+     *
+     * @param threshold 不要なレコードの割合のしきい値（0.0より大きく1.0以下、1.0で圧縮しない）
+     * @param minRecords 圧縮を始める最小のレコード数
+     * @return 設定を変更した新しいインスタンス
+     */
+    public StoreOptions withCompaction(double threshold, long minRecords) {
+        if (!(threshold > 0.0 && threshold <= 1.0)) {
+            throw new IllegalArgumentException("threshold: " + threshold);
+        }
+        return new StoreOptions(journaled, tombstones, threshold, minRecords,
+                flushEveryRecords, flushIntervalMillis, fsync, offHeapLogs);
+    }
+
+    /**
+     * 追記をまとめてファイルに書き込む間隔を指定します。
+     * 書き込み待ちがrecords件に達するか、最初の書き込み待ちからintervalMillisミリ秒経った時点で書き込みます。
+     * 既定では1件ごとに書き込みます。
+     *
+     * @param records まとめて書き込む件数（1以上）
+     * @param intervalMillis 書き込み待ちを保持する最大のミリ秒（0で時間による書き込みをしない）
+     * @return 設定を変更した新しいインスタンス
+     */
+    public StoreOptions withGroupCommit(int records, long intervalMillis) {
+        if (records < 1 || intervalMillis < 0) {
+            throw new IllegalArgumentException("records: " + records + ", intervalMillis: " + intervalMillis);
+        }
+        return new StoreOptions(journaled, tombstones, compactionThreshold, compactionMinRecords,
+                records, intervalMillis, fsync, offHeapLogs);
+    }
+
+    /**
+     * 書き込みのたびにディスクへの同期（fsync）を行うかを指定します。
+     * @param fsync 同期する場合はtrue
+     * @return 設定を変更した新しいインスタンス
+     */
+    public StoreOptions withFsync(boolean fsync) {
+        return new StoreOptions(journaled, tombstones, compactionThreshold, compactionMinRecords,
+                flushEveryRecords, flushIntervalMillis, fsync, offHeapLogs);
+    }
+
+    /**
+     * ログをヒープの外に保持し、読み込みをファイルではなくメモリから行うかを指定します。
+     * 有効にした場合、ログCSVは初回の読み込み時に1回だけ解析し、以降の保存・削除はファイルとメモリの両方に反映します。
+     * 既定では無効です。有効にする場合はOffHeapLogStoreの説明にある-XX:MaxDirectMemorySizeを指定してください。
+     *
+     * @param offHeapLogs ヒープの外に保持する場合はtrue
+     * @return 設定を変更した新しいインスタンス
+     */
+    public StoreOptions withOffHeapLogs(boolean offHeapLogs) {
+        return new StoreOptions(journaled, tombstones, compactionThreshold, compactionMinRecords,
+                flushEveryRecords, flushIntervalMillis, fsync, offHeapLogs);
+    }
+
+    public boolean isJournaled() {
+        return journaled;
+    }
+
+    public boolean isTombstones() {
+        return tombstones;
+    }
+
+    public double getCompactionThreshold() {
+        return compactionThreshold;
+    }
+
+    public long getCompactionMinRecords() {
+        return compactionMinRecords;
+    }
+
+    public int getFlushEveryRecords() {
+        return flushEveryRecords;
+    }
+
+    public long getFlushIntervalMillis() {
+        return flushIntervalMillis;
+    }
+
+    public boolean isFsync() {
+        return fsync;
+    }
+
+    public boolean isOffHeapLogs() {
+        return offHeapLogs;
+    }
+}
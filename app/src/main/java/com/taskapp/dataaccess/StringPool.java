@@ -0,0 +1,84 @@
+package com.taskapp.dataaccess;
+
+import java.util.Arrays;
+
+/**
+ * 同じ内容の文字列を1つにまとめ、番号で参照するためのプールです。
+ * 番号は登録順に0から振り、登録した文字列は削除しません。
+ * 索引は番号だけを持つオープンアドレス法のため、文字列1つあたりの追加のメモリは数バイトです。
+ */
+final class StringPool {
+    private String[] strings = new String[16];
+
+    private int size;
+
+    /**
+     * 番号+1。0の場合は空き
+     */
+    private int[] slots = new int[32];
+
+    /**
+     * 文字列の番号を取得します。未登録の場合は登録します。
+     * @param value 文字列
+     * @return 番号
+     */
+    int intern(String value) {
+        int mask = slots.length - 1;
+        int index = value.hashCode() & mask;
+        while (slots[index] != 0) {
+            String pooled = strings[slots[index] - 1];
+            if (pooled.equals(value)) {
+                return slots[index] - 1;
+            }
+            index = (index + 1) & mask;
+        }
+        if (size == strings.length) {
+            strings = Arrays.copyOf(strings, size * 2);
+        }
+        strings[size] = value;
+        slots[index] = ++size;
+        // 負荷率が1/2を超えたら拡張
+        if (size * 2 > slots.length) {
+            rehash(slots.length << 1);
+        }
+        return size - 1;
+    }
+
+    /**
+     * 番号の文字列を取得します。
+     * @param id 番号
+     * @return 文字列
+     */
+    String get(int id) {
+        return strings[id];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 同じ番号で同じ文字列を参照する複製を作成します。
+     * @return 複製したプール
+     */
+    StringPool copy() {
+        StringPool copy = new StringPool();
+        copy.strings = Arrays.copyOf(strings, strings.length);
+        copy.size = size;
+        copy.slots = slots.clone();
+        return copy;
+    }
+
+    private void rehash(int capacity) {
+        int[] newSlots = new int[capacity];
+        int mask = capacity - 1;
+        for (int id = 0; id < size; id++) {
+            int index = strings[id].hashCode() & mask;
+            while (newSlots[index] != 0) {
+                index = (index + 1) & mask;
+            }
+            newSlots[index] = id + 1;
+        }
+        slots = newSlots;
+    }
+}
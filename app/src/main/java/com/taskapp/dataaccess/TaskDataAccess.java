@@ -1,25 +1,106 @@
 package com.taskapp.dataaccess;
 
 import java.io.IOException;
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
-import java.io.FileReader;
+import java.io.FileInputStream;
 import java.io.FileWriter;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.locks.StampedLock;
 
+import com.taskapp.metrics.Metrics;
+import com.taskapp.metrics.OperationMetrics;
 import com.taskapp.model.User;
 import com.taskapp.model.Task;
+import com.taskapp.model.TaskSummary;
 
 public class TaskDataAccess {
+    private static final OperationMetrics FIND_ALL = Metrics.operation("TaskDataAccess.findAll");
+
+    private static final OperationMetrics SAVE = Metrics.operation("TaskDataAccess.save");
+
+    private static final OperationMetrics SAVE_ALL = Metrics.operation("TaskDataAccess.saveAll");
+
+    private static final OperationMetrics FIND_BY_CODE = Metrics.operation("TaskDataAccess.findByCode");
+
+    private static final OperationMetrics FIND_PAGE = Metrics.operation("TaskDataAccess.findPage");
+
+    private static final OperationMetrics INDEX_OF = Metrics.operation("TaskDataAccess.indexOf");
+
+    private static final OperationMetrics SUMMARY = Metrics.operation("TaskDataAccess.summary");
+
+    private static final OperationMetrics UPDATE = Metrics.operation("TaskDataAccess.update");
+
+    private static final OperationMetrics DELETE = Metrics.operation("TaskDataAccess.delete");
+
+    private static final OperationMetrics EXPORT_CSV = Metrics.operation("TaskDataAccess.exportCsv");
 
     private final String filePath;
 
     private final UserDataAccess userDataAccess;
 
+    /**
+     * 変更を追記するジャーナル。CSVを書き直す設定の場合はnull
+     */
+    private final TaskJournal journal;
+
+    private final StoreOptions options;
+
+    /**
+     * ジャーナルを圧縮するバックグラウンド処理。最初に圧縮を予約する際に作成し、書き込みロックを保持して参照します。
+     * 構築途中のインスタンスを圧縮のスレッドに渡さないよう、コンストラクタでは作成しません。
+     */
+    private JournalCompactor compactor;
+
+    private final CompactionStats compactionStats = new CompactionStats();
+
+    /**
+     * タスク表とファイルへの読み書きを制御するロック。
+     * 読み込み同士は並行して行い、書き込み（save/update/deleteと圧縮の置き換え）は1件ずつ行います。
+     * 1件取得はロックを取らない楽観的読み込みを先に試します。
+     */
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * メモリ上のタスク表。初回参照時にCSVから読み込み、以降はsave/update/deleteで同期します。
+     */
+    private volatile TaskTable table;
+
+    /**
+     * CSVの末尾へ追記するチャネル。ジャーナルが有効な場合は使いません。
+     */
+    private final AppendChannel appender;
+
+    /**
+     * CSVの外部からの変更の監視。監視しない場合はnull
+     */
+    private final FileWatch watch;
+
+    /**
+     * タスク表の担当ユーザーを取得した時点の、ユーザー表の読み込み回数
+     */
+    private volatile int userVersion;
+
+    /**
+     * タスクCSVを並列に読み込む際の1範囲のバイト数。テストで範囲を小さくする場合だけ変更します。
+     */
+    long loadChunkSize = ChunkedCsvReader.DEFAULT_CHUNK_SIZE;
+
+    /**
+     * 変更のたびにCSVを書き直す設定でインスタンスを作成します。
+     * システムプロパティ「taskapp.journal」がtrueの場合は、変更をジャーナルに追記します。
+     * その場合CSVはジャーナル作成時の初期データとしてのみ使うため、最新の状態は{@link #exportCsv(String)}で書き出してください。
+     */
     public TaskDataAccess() {
-        filePath = "app/src/main/resources/tasks.csv";
-        userDataAccess = new UserDataAccess();
+        this("app/src/main/resources/tasks.csv", new UserDataAccess(),
+                StoreOptions.defaults().withJournal(Boolean.getBoolean("taskapp.journal")).withGroupCommit(64, 50),
+                FileChangeDetector.getDefault());
     }
 
     /**
@@ -28,146 +109,607 @@ public class TaskDataAccess {
      * @param userDataAccess
      */
     public TaskDataAccess(String filePath, UserDataAccess userDataAccess) {
+        this(filePath, userDataAccess, StoreOptions.defaults());
+    }
+
+    /**
+     * 書き込み方式を指定してインスタンスを作成します。
+     * ジャーナルを有効にした場合、変更はCSVと同じディレクトリの「CSVファイル名.journal」に追記されます。
+     * 追記は開いたままのチャネルで行い、書き込みの間隔を指定した場合は複数の追記をまとめて反映します。
+     *
+     * @param filePath タスクCSVのパス
+     * @param userDataAccess 担当ユーザーの解決に使うデータアクセス
+     * @param options 書き込み方式
+     */
+    public TaskDataAccess(String filePath, UserDataAccess userDataAccess, StoreOptions options) {
+        this(filePath, userDataAccess, options, null);
+    }
+
+    /**
+     * 書き込み方式と、外部からの変更の検知器を指定してインスタンスを作成します。
+     * 検知器がCSVの変更を検知した場合、次の読み込みでタスク表を読み込み直します。
+     * ジャーナルが有効な場合は、CSVに反映されていない変更がジャーナルにあるため、CSVの変更は取り込まずに警告を出力します。
+     * ユーザーCSVの変更は、タスクの行を読み込み直さずに担当ユーザーだけを取得し直して反映します。
+     *
+     * @param filePath タスクCSVのパス
+     * @param userDataAccess 担当ユーザーの解決に使うデータアクセス
+     * @param options 書き込み方式
+     * @param detector ファイルの変更の検知器。検知しない場合はnull
+     */
+    public TaskDataAccess(String filePath, UserDataAccess userDataAccess, StoreOptions options,
+            FileChangeDetector detector) {
         this.filePath = filePath;
         this.userDataAccess = userDataAccess;
+        this.options = options;
+        this.watch = detector == null ? null : detector.watch(Paths.get(filePath));
+        this.appender = new AppendChannel(Paths.get(filePath), options, watch);
+        this.journal = options.isJournaled() ? new TaskJournal(Paths.get(filePath + ".journal"), options) : null;
     }
 
     /**
-     * CSVから全てのタスクデータを取得します。
+     * 全てのタスクデータを取得します。
+     * 他のスレッドの読み込みとは並行して行い、書き込み中の場合はその完了を待ちます。
      *
-     * @see com.taskapp.dataaccess.UserDataAccess#findByCode(int)
+     * @see #table()
      * @return タスクのリスト
      */
     public List<Task> findAll() {
-        List<Task> tasks = new ArrayList<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            // 1行読み飛ばす
-            reader.readLine();
-
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] values = line.split(",");
-
-                if (values.length != 4) continue;
-
-
-                int code = Integer.parseInt(values[0]);
-                String name = values[1];
-                int status = Integer.parseInt(values[2]);
-                // 作業中のユーザーコードに該当するユーザーを取得
-                User repUser = userDataAccess.findByCode(Integer.parseInt(values[3]));
-
-                Task task = new Task(code, name, status, repUser);
-                tasks.add(task);
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
+        Metrics.Sample sample = FIND_ALL.start();
+        TaskTable table = table();
+        long stamp = lock.readLock();
+        try {
+            // タスク表の行はTaskを毎回作って返すため、複製は不要
+            return new ArrayList<>(table.rows());
+        } finally {
+            lock.unlockRead(stamp);
+            FIND_ALL.stop(sample);
         }
-        return tasks;
     }
 
     /**
      * タスクをCSVに保存します。
+     * ジャーナルが有効な場合はジャーナルに追記します。
      * @param task 保存するタスク
      */
     public void save(Task task) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath, true))) {
-            // 改行
-            writer.newLine();
-
-            String line = createLine(task);
+        Metrics.Sample sample = SAVE.start();
+        TaskTable table = table();
+        long stamp = lock.writeLock();
+        try {
+            if (journal != null) {
+                journal.appendSave(task);
+            } else {
+                // 改行
+                appender.append(System.lineSeparator() + createLine(task), 1);
+            }
+            table.add(task);
+            requestCompactionIfNeeded(table);
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            lock.unlockWrite(stamp);
+            SAVE.stop(sample);
+        }
+    }
 
-            writer.write(line);
+    /**
+     * 複数のタスクをまとめて保存します。
+     * ファイルへの書き込みは全件で1回だけです。
+     * @param tasks 保存するタスク
+     */
+    public void saveAll(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        Metrics.Sample sample = SAVE_ALL.start();
+        TaskTable table = table();
+        long stamp = lock.writeLock();
+        try {
+            if (journal != null) {
+                journal.appendSaves(tasks);
+            } else {
+                StringBuilder text = new StringBuilder();
+                for (Task task : tasks) {
+                    // 改行
+                    text.append(System.lineSeparator()).append(createLine(task));
+                }
+                appender.append(text.toString(), tasks.size());
+            }
+            tasks.forEach(table::add);
+            requestCompactionIfNeeded(table);
         } catch (IOException e) {
             e.printStackTrace();
+        } finally {
+            lock.unlockWrite(stamp);
+            SAVE_ALL.stop(sample);
         }
     }
 
     /**
      * コードを基にタスクデータを1件取得します。
+     * まずロックを取らずに読み、その間に書き込みがあった場合だけ読み込みロックを取って読み直します。
      * @param code 取得するタスクのコード
      * @return 取得したタスク
      */
     public Task findByCode(int code) {
-        Task Task = null;
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            // 1行読み飛ばす
-            reader.readLine();
+        Metrics.Sample sample = FIND_BY_CODE.start();
+        try {
+            TaskTable table = table();
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0) {
+                try {
+                    // 配列から作ったTaskは読み込み中に変更されないため、検証に成功すればそのまま返せる
+                    Task task = table.find(code);
+                    if (lock.validate(stamp)) {
+                        return task;
+                    }
+                } catch (RuntimeException e) {
+                    // 書き込み途中の索引を読んだ場合は、読み込みロックを取って読み直す
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                return table.find(code);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        } finally {
+            FIND_BY_CODE.stop(sample);
+        }
+    }
 
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] values = line.split(",");
+    /**
+     * 全てのタスクのうち、offset番目から最大limit件を{@link #findAll()}と同じ順に取得します。
+     * 作成して担当ユーザーを解決するのは、取得する範囲のタスクだけです。
+     *
+     * <p>CSVを書き直す設定でまだタスク表を読み込んでいない場合は、タスク表を読み込まずに
+     * CSVの先頭から必要な行までだけを読みます。先頭に近いページは件数にかかわらずすぐに取得できます。
+     * ジャーナルが有効な場合は、後の行が前の行を変更するため、タスク表を読み込んでから取得します。</p>
+     *
+     * @param offset 取得を始めるタスクの番号（0から）
+     * @param limit 取得する最大件数
+     * @return タスクのリスト。offsetが件数以上の場合は空のリスト
+     */
+    public List<Task> findPage(int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("offset: " + offset + ", limit: " + limit);
+        }
+        Metrics.Sample sample = FIND_PAGE.start();
+        try {
+            if (journal == null && watch != null && watch.isStale()) {
+                long stamp = lock.writeLock();
+                try {
+                    discardIfChanged();
+                } finally {
+                    lock.unlockWrite(stamp);
+                }
+            }
+            TaskTable table = journal == null ? null : table();
+            long stamp = lock.readLock();
+            try {
+                if (table == null) {
+                    // 読み込みロックの間はタスク表の読み込みもCSVの書き換えも行われない
+                    table = this.table;
+                }
+                return table == null ? readPage(offset, limit) : table.slice(offset, limit);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        } finally {
+            FIND_PAGE.stop(sample);
+        }
+    }
 
-                if (values.length != 4) continue;
+    /**
+     * コードのタスクが、{@link #findAll()}の何番目にあるかを取得します。
+     * @param code タスクコード
+     * @return 0から数えた番号、存在しない場合は-1
+     */
+    public int indexOf(int code) {
+        Metrics.Sample sample = INDEX_OF.start();
+        TaskTable table = table();
+        long stamp = lock.readLock();
+        try {
+            return table.indexOf(code);
+        } finally {
+            lock.unlockRead(stamp);
+            INDEX_OF.stop(sample);
+        }
+    }
 
-                // codeに一致するタスクを取得
-                int TaskCode = Integer.parseInt(values[0]);
-                if (TaskCode != code) continue;
+    /**
+     * ステータス別・担当ユーザー別のタスク件数を取得します。
+     * 件数はsave/update/deleteのたびにタスク表で更新しているため、タスクを走査しません。
+     *
+     * @return タスク件数の集計
+     */
+    public TaskSummary summary() {
+        Metrics.Sample sample = SUMMARY.start();
+        TaskTable table = table();
+        long stamp = lock.readLock();
+        try {
+            return table.summary();
+        } finally {
+            lock.unlockRead(stamp);
+            SUMMARY.stop(sample);
+        }
+    }
 
-                String name = values[1];
-                int status = Integer.parseInt(values[2]);
-                User user = userDataAccess.findByCode(Integer.parseInt(values[3]));
+    /**
+     * タスクデータを更新します。
+     * ジャーナルが有効な場合はCSVを書き直さず、更新レコードを1行追記します。
+     * ファイルへの書き込みに成功した場合だけタスク表を変更するため、失敗した場合はメモリとファイルが食い違いません。
+     * @param updateTask 更新するタスク
+     */
+    public void update(Task updateTask) {
+        Metrics.Sample sample = UPDATE.start();
+        TaskTable table = table();
+        long stamp = lock.writeLock();
+        try {
+            if (journal != null) {
+                journal.appendUpdate(updateTask);
+            } else {
+                checkLoaded(table);
+                int code = updateTask.getCode();
+                rewrite(() -> table.rows().stream()
+                        .map(task -> task.getCode() == code ? updateTask : task).iterator());
+            }
+            table.replace(updateTask);
+            requestCompactionIfNeeded(table);
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            lock.unlockWrite(stamp);
+            UPDATE.stop(sample);
+        }
+    }
 
-                Task = new Task(TaskCode, name, status, user);
+    /**
+     * コードを基にタスクデータを削除します。
+     * ジャーナルが有効な場合はCSVを書き直さず、削除レコードを1行追記します。
+     * ファイルへの書き込みに成功した場合だけタスク表を変更するため、失敗した場合はメモリとファイルが食い違いません。
+     * @param code 削除するタスクのコード
+     */
+    public void delete(int code) {
+        Metrics.Sample sample = DELETE.start();
+        TaskTable table = table();
+        long stamp = lock.writeLock();
+        try {
+            if (journal != null) {
+                journal.appendDelete(code);
+            } else {
+                checkLoaded(table);
+                rewrite(() -> table.rows().stream().filter(task -> task.getCode() != code).iterator());
             }
+            table.remove(code);
+            requestCompactionIfNeeded(table);
         } catch (IOException e) {
             e.printStackTrace();
+        } finally {
+            lock.unlockWrite(stamp);
+            DELETE.stop(sample);
         }
-        return Task;
     }
 
     /**
-     * タスクデータを更新します。
-     * @param updateTask 更新するタスク
+     * ジャーナルの圧縮結果の集計を取得します。
+     * @return 圧縮の集計
      */
-    public void update(Task updateTask) {
-        List<Task> tasks = findAll();
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
-            writer.write("Code,Name,Status,Rep_User_Code");
-            writer.newLine();
+    public CompactionStats getCompactionStats() {
+        return compactionStats;
+    }
 
-            String line;
-            for (Task task : tasks) {
-                // 更新が必要なタスクか判定
-                if (task.getCode() == updateTask.getCode()) {
-                    line = createLine(updateTask);
-                } else {
-                    line = createLine(task);
-                }
+    /**
+     * ジャーナルを現在のタスクだけの内容に書き直します。
+     * 開始時のタスク表の複製は読み込みロックで行うため、読み込みは止めません。
+     * 書き込みを待たせるのは、その複製と最後の置き換えの間だけです。
+     * 書き出している間にジャーナルが作り直された場合は、圧縮結果を捨てて作り直した内容を残します。
+     */
+    void compact() {
+        if (journal == null) {
+            return;
+        }
+        TaskTable table = table();
+        try {
+            TaskTable snapshot;
+            long mark;
+            long snapshots;
+            long pauseStart = System.nanoTime();
+            long stamp = lock.readLock();
+            try {
+                snapshot = table.copy();
+                mark = journal.size();
+                snapshots = journal.snapshots();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+            long pauseNanos = System.nanoTime() - pauseStart;
 
-                writer.write(line);
-                writer.newLine();
+            long writeStart = System.nanoTime();
+            Path tmp = journal.writeCompacted(snapshot.rows());
+            long writeNanos = System.nanoTime() - writeStart;
+
+            long commitStart = System.nanoTime();
+            stamp = lock.writeLock();
+            try {
+                if (this.table != table || journal.snapshots() != snapshots) {
+                    // 書き出している間にジャーナルを作り直した場合、圧縮結果は作り直す前の内容のため捨てる
+                    Files.deleteIfExists(tmp);
+                    return;
+                }
+                journal.commitCompacted(tmp, snapshot.size(), mark);
+            } finally {
+                lock.unlockWrite(stamp);
             }
+            pauseNanos += System.nanoTime() - commitStart;
+
+            compactionStats.record(snapshot.size(), journal.size(), writeNanos, pauseNanos);
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
     /**
-     * コードを基にタスクデータを削除します。
-     * @param code 削除するタスクのコード
+     * 不要なレコードの割合がしきい値を超えていれば、ジャーナルの圧縮を予約します。
+     * 書き込みロックを保持した状態で呼び出してください。
      */
-    public void delete(int code) {
-        List<Task> tasks = findAll();
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
-            writer.write("Code,Name,Status,Rep_User_Code");
-            writer.newLine();
+    private void requestCompactionIfNeeded(TaskTable table) {
+        if (journal != null && journal.records() >= options.getCompactionMinRecords()
+                && journal.garbageRatio(table.size()) > options.getCompactionThreshold()) {
+            if (compactor == null) {
+                compactor = new JournalCompactor(this::compact);
+            }
+            compactor.request();
+        }
+    }
 
-            String line;
-            for (Task task : tasks) {
-                // 削除が必要なタスクか判定
-                if (task.getCode() == code) {
-                    continue;
+    /**
+     * 現在の全タスクをCSV形式で書き出します。
+     * ジャーナルが有効な場合に、最新の状態をCSVとして取り出すために使います。
+     *
+     * @param exportPath 書き出し先のパス
+     */
+    public void exportCsv(String exportPath) {
+        Metrics.Sample sample = EXPORT_CSV.start();
+        Path target = Paths.get(exportPath);
+        // 自身のCSVに書き出す場合は、外部からの変更と見なさない
+        boolean own = watch != null && target.toAbsolutePath().normalize().equals(watch.path());
+        try {
+            if (own) {
+                watch.beginWrite();
+            }
+            TaskTable table = table();
+            List<Task> tasks;
+            long stamp = lock.readLock();
+            try {
+                checkLoaded(table);
+                tasks = new ArrayList<>(table.rows());
+            } finally {
+                lock.unlockRead(stamp);
+            }
+            writeAtomically(target, tasks);
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            if (own) {
+                watch.endWrite();
+            }
+            EXPORT_CSV.stop(sample);
+        }
+    }
+
+    /**
+     * タスク表を取得します。未読み込みの場合はCSVから読み込みます。
+     * CSVが外部で変更された場合は読み込み直し、ユーザーCSVが変更された場合は担当ユーザーだけを取得し直します。
+     * 変更の有無は検知器が付けた印とユーザー表の読み込み回数で判断するため、ファイルシステムへの問い合わせは行いません。
+     * 読み込みに失敗した場合は空のタスク表を返しますが、保持はせず、次の呼び出しで読み込み直します。
+     * 読み込みに書き込みロックを使うため、ロックを保持した状態では呼び出さないでください。
+     * @return タスク表
+     */
+    private TaskTable table() {
+        TaskTable table = this.table;
+        if (table == null || watch != null && watch.isStale() || userVersion != userDataAccess.version()) {
+            long stamp = lock.writeLock();
+            try {
+                discardIfChanged();
+                table = this.table;
+                if (table == null) {
+                    userDataAccess.checkBeforeLoad();
+                    int version = userDataAccess.version();
+                    try {
+                        table = journal == null ? loadTable() : loadJournal();
+                    } catch (IOException e) {
+                        e.printStackTrace();
+                        return new TaskTable();
+                    }
+                    this.table = table;
+                    userVersion = version;
+                } else if (userVersion != userDataAccess.version()) {
+                    int version = userDataAccess.version();
+                    table.resolveUsers(userDataAccess);
+                    userVersion = version;
                 }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+        return table;
+    }
 
-                line = createLine(task);
+    /**
+     * タスク表が保持しているものであることを確認します。
+     * 読み込みに失敗した空のタスク表や、捨てた後のタスク表からファイルを書き直すと、タスクが失われるためです。
+     * ロックを保持した状態で呼び出してください。
+     * @param table {@link #table()}で取得したタスク表
+     * @throws IOException 保持しているタスク表でない場合
+     */
+    private void checkLoaded(TaskTable table) throws IOException {
+        if (table != this.table) {
+            throw new IOException(filePath + "を読み込めていないため、書き直しません");
+        }
+    }
 
-                writer.write(line);
-                writer.newLine();
+    /**
+     * CSVが外部で変更されていれば、メモリ上のタスク表を捨てて追記用のチャネルを閉じます。
+     * ジャーナルが有効な場合は、ジャーナルが最新の内容のため、タスク表もジャーナルもそのままにして警告を出力します。
+     * CSVからジャーナルを作り直すと、CSVに書き出していない変更が失われるためです。
+     * 書き込みロックを保持した状態で呼び出してください。
+     */
+    private void discardIfChanged() {
+        if (watch == null || !watch.isStale()) {
+            return;
+        }
+        watch.clear();
+        if (journal != null) {
+            System.err.println(filePath + "が外部で変更されましたが、ジャーナル（" + journal.path()
+                    + "）の内容を優先するため取り込みません。取り込む場合はジャーナルを削除して起動し直してください。");
+            return;
+        }
+        try {
+            // 置き換えられたファイルを開いたままにしないよう、次の追記で開き直す
+            appender.close();
+            table = null;
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * ジャーナルを再生してタスク表を作成します。
+     * ジャーナルがまだ無い場合は、CSVの内容を初期データとしてジャーナルを作成します。
+     * @return タスク表
+     * @throws IOException 読み込みに失敗した場合
+     */
+    private TaskTable loadJournal() throws IOException {
+        if (journal.exists()) {
+            return journal.replay(userDataAccess);
+        }
+        TaskTable table = loadTable();
+        journal.writeSnapshot(table.rows());
+        return table;
+    }
+
+    /**
+     * CSVから全てのタスクデータを読み込み、タスク表を作成します。
+     * CSVを改行の位置でそろえた範囲に分けて範囲ごとのタスク表を並列に作り、CSVの行順につなぎます。
+     *
+     * @see com.taskapp.dataaccess.ChunkedCsvReader#read(ChunkedCsvReader.ChunkParser)
+     * @see com.taskapp.dataaccess.UserDataAccess#findByCode(int)
+     * @return タスク表
+     * @throws IOException 読み込みに失敗した場合
+     */
+    private TaskTable loadTable() throws IOException {
+        List<TaskTable> chunks = new ChunkedCsvReader(Paths.get(filePath), loadChunkSize).read(csv -> {
+            TaskTable chunk = new TaskTable();
+            while (csv.next()) {
+                if (csv.fieldCount() != 4) continue;
+
+                chunk.add(toTask(csv));
+            }
+            return chunk;
+        });
+        TaskTable table = new TaskTable(chunks.stream().mapToInt(TaskTable::size).sum());
+        chunks.forEach(table::addAll);
+        return table;
+    }
+
+    /**
+     * タスク表を読み込まずに、CSVの先頭からoffset+limit行目までを読んでタスクを作成します。
+     * offsetより前の行は項目数だけを確認して読み飛ばします。
+     * 並列の読み込みと同じく、UTF-8として文字に変換します。
+     *
+     * @see #loadTable()
+     * @param offset 取得を始めるタスクの番号（0から）
+     * @param limit 取得する最大件数
+     * @return タスクのリスト
+     */
+    private List<Task> readPage(int offset, int limit) {
+        List<Task> tasks = new ArrayList<>(Math.min(limit, 1_024));
+        userDataAccess.checkBeforeLoad();
+        try (CsvTokenizer csv = new CsvTokenizer(
+                new InputStreamReader(Metrics.countRead(new FileInputStream(filePath)), StandardCharsets.UTF_8))) {
+            // 1行読み飛ばす
+            csv.next();
+
+            int index = 0;
+            while (tasks.size() < limit && csv.next()) {
+                if (csv.fieldCount() != 4) continue;
+                if (index++ < offset) continue;
+
+                tasks.add(toTask(csv));
             }
         } catch (IOException e) {
             e.printStackTrace();
         }
+        return tasks;
+    }
+
+    /**
+     * CSVの現在の行からタスクを作成します。
+     * @param csv 項目数が4の行を読み込んだトークナイザ
+     * @return タスク
+     */
+    private Task toTask(CsvTokenizer csv) {
+        int code = csv.getInt(0);
+        String name = csv.getString(1);
+        int status = csv.getInt(2);
+        // 作業中のユーザーコードに該当するユーザーを取得
+        User repUser = userDataAccess.findByCode(csv.getInt(3));
+
+        return new Task(code, name, status, repUser);
+    }
+
+    /**
+     * 全てのタスクでCSVを書き直します。
+     * 書き込み待ちの追記を反映してから一時ファイルに書き出して置き換えるため、
+     * 他のプロセスが書き直し途中の空のファイルを読むことはありません。
+     * 次の追記では置き換えたファイルを開き直します。
+     * @param tasks 書き込むタスク
+     */
+    private void rewrite(Iterable<Task> tasks) throws IOException {
+        appender.flush();
+        if (watch != null) {
+            watch.beginWrite();
+        }
+        try {
+            writeAtomically(Paths.get(filePath), tasks);
+        } finally {
+            if (watch != null) {
+                watch.endWrite();
+            }
+        }
+        appender.close();
+    }
+
+    /**
+     * 全てのタスクを一時ファイルに書き出してから、指定したパスに置き換えます。
+     * @param target 書き込み先のパス
+     * @param tasks 書き込むタスク
+     */
+    private void writeAtomically(Path target, Iterable<Task> tasks) throws IOException {
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        writeAll(tmp, tasks);
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 全てのタスクを指定したパスにCSV形式で書き込みます。
+     * @param path 書き込み先のパス
+     * @param tasks 書き込むタスク
+     */
+    private void writeAll(Path path, Iterable<Task> tasks) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(path.toFile()))) {
+            writer.write("Code,Name,Status,Rep_User_Code");
+            writer.newLine();
+
+            for (Task task : tasks) {
+                writer.write(createLine(task));
+                writer.newLine();
+            }
+        }
+        if (Metrics.ENABLED) {
+            Metrics.addBytesWritten(Files.size(path));
+        }
     }
 
     /**
@@ -176,7 +718,7 @@ public class TaskDataAccess {
      * @return CSVに書き込むためのフォーマット文字列
      */
     private String createLine(Task task) {
-        return task.getCode() + "," + task.getName() + "," +
+        return task.getCode() + "," + CsvTokenizer.quote(task.getName()) + "," +
                 task.getStatus() + "," + task.getRepUser().getCode();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,298 @@
+package com.taskapp.dataaccess;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import com.taskapp.metrics.Metrics;
+import com.taskapp.model.Task;
+import com.taskapp.model.User;
+
+/**
+ * タスクの変更を1行ずつ追記するジャーナルファイルです。
+ * 現在のタスク表はジャーナルを先頭から再生して復元します。
+ *
+ * <pre>
+ * #snapshot
+ * S,コード,ステータス,担当ユーザーコード,タスク名   （追加）
+ * U,コード,ステータス,担当ユーザーコード,タスク名   （更新）
+ * D,コード                                           （削除）
+ * </pre>
+ * タスク名はタスクCSVと同じく、カンマ・ダブルクォート・改行を含む場合はダブルクォートで囲みます。
+ * 改行を含むタスク名でもレコードが分かれないため、名前の一部が別のレコードとして再生されることはありません。
+ * 追記は開いたままのチャネルで行い、書き込みの間隔を指定した場合は複数の追記をまとめて反映します。
+ */
+final class TaskJournal {
+    static final String SNAPSHOT_HEADER = "#snapshot";
+
+    private final Path path;
+
+    /**
+     * ジャーナル内のレコード数（ヘッダーを除く）
+     */
+    private long records;
+
+    /**
+     * {@link #writeSnapshot(List)}でジャーナルを作り直した回数
+     */
+    private long snapshots;
+
+    /**
+     * ジャーナルの末尾へ追記するチャネル
+     */
+    private final AppendChannel appender;
+
+    /**
+     * @param path ジャーナルのパス
+     * @param options 書き込みの間隔と同期の設定
+     */
+    TaskJournal(Path path, StoreOptions options) {
+        this.path = path;
+        this.appender = new AppendChannel(path, options);
+    }
+
+    Path path() {
+        return path;
+    }
+
+    boolean exists() {
+        return Files.exists(path);
+    }
+
+    long records() {
+        return records;
+    }
+
+    /**
+     * ジャーナルを作り直した回数を取得します。
+     * 圧縮の書き出し中に作り直された場合、その圧縮結果は古い内容のため置き換えに使えません。
+     * @return 作り直した回数
+     */
+    long snapshots() {
+        return snapshots;
+    }
+
+    /**
+     * ジャーナル内で、現在のタスク表に反映されていない（上書き・削除済みの）レコードの割合を計算します。
+     * @param liveRecords 現在のタスク件数
+     * @return 0.0から1.0の割合
+     */
+    double garbageRatio(int liveRecords) {
+        if (records == 0) {
+            return 0.0;
+        }
+        return Math.max(0.0, 1.0 - (double) liveRecords / records);
+    }
+
+    /**
+     * ジャーナルの現在のバイト数を取得します。圧縮開始時点の位置として使います。
+     * @return バイト数
+     * @throws IOException 取得に失敗した場合
+     */
+    long size() throws IOException {
+        appender.flush();
+        return Files.size(path);
+    }
+
+    /**
+     * ジャーナルを再生してタスク表を復元します。
+     * 書き込み途中で中断した末尾の行など、解釈できない行は読み飛ばします。
+     *
+     * @param userDataAccess 担当ユーザーの解決に使うデータアクセス
+     * @return 復元したタスク表
+     * @throws IOException 読み込みに失敗した場合
+     */
+    TaskTable replay(UserDataAccess userDataAccess) throws IOException {
+        TaskTable table = new TaskTable();
+        records = 0;
+        try (CsvTokenizer csv = new CsvTokenizer(
+                new InputStreamReader(Metrics.countRead(Files.newInputStream(path)), StandardCharsets.UTF_8))) {
+            while (csv.next()) {
+                if (csv.fieldCount() == 1 && csv.fieldEquals(0, "") || csv.fieldEquals(0, SNAPSHOT_HEADER)) continue;
+                records++;
+                try {
+                    apply(table, csv, userDataAccess);
+                } catch (RuntimeException e) {
+                    // 不完全な行は無視する
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * 全てのタスクを追加レコードとして新しいジャーナルに書き出し、既存のジャーナルと置き換えます。
+     * 一時ファイルへ書き込んでから移動するため、途中で中断しても既存のジャーナルは壊れません。
+     *
+     * @param tasks 書き出すタスク
+     * @throws IOException 書き込みに失敗した場合
+     */
+    void writeSnapshot(List<Task> tasks) throws IOException {
+        Path tmp = writeCompacted(tasks);
+        commitCompacted(tmp, tasks.size(), -1);
+        snapshots++;
+    }
+
+    /**
+     * 圧縮の1段階目として、全てのタスクを追加レコードとして一時ファイルに書き出します。
+     * ジャーナル本体には触れないため、実行中も他のスレッドは追記を続けられます。
+     * 一時ファイルは呼び出しごとに別のファイルを作るため、同時に呼び出しても互いの書き出しを壊しません。
+     *
+     * @param tasks 書き出すタスク
+     * @return 書き出した一時ファイル
+     * @throws IOException 書き込みに失敗した場合
+     */
+    Path writeCompacted(List<Task> tasks) throws IOException {
+        // 置き換えをアトミックな移動で行うため、ジャーナルと同じディレクトリに作る
+        Path tmp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName() + ".", ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                writer.write(SNAPSHOT_HEADER);
+                writer.newLine();
+                for (Task task : tasks) {
+                    writer.write(taskRecord('S', task));
+                    writer.newLine();
+                }
+            }
+            // 置き換え時に追記を待たせる時間を短くするため、ここで書き出し分をディスクに反映しておく
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            return tmp;
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+    }
+
+    /**
+     * 圧縮の2段階目として、書き出し開始後に追記されたレコードを一時ファイルの末尾に写し、
+     * ジャーナルと置き換えます。呼び出し中は追記を止めておく必要があります。
+     *
+     * @param tmp {@link #writeCompacted(List)}で書き出した一時ファイル
+     * @param snapshotRecords 一時ファイルに書き出したレコード数
+     * @param mark 書き出し開始時点のジャーナルのバイト数。写すものが無い場合は-1
+     * @throws IOException 書き込みに失敗した場合
+     */
+    void commitCompacted(Path tmp, long snapshotRecords, long mark) throws IOException {
+        appender.flush();
+        long tailRecords = 0;
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            if (mark >= 0) {
+                try (FileChannel source = FileChannel.open(path, StandardOpenOption.READ)) {
+                    long end = source.size();
+                    long position = mark;
+                    while (position < end) {
+                        position += source.transferTo(position, end - position, channel);
+                    }
+                    tailRecords = countRecords(source, mark, end);
+                }
+            }
+            channel.force(true);
+        }
+        Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        // 置き換え前のファイルを開いたままにしないよう、次の追記で開き直す
+        appender.close();
+        records = snapshotRecords + tailRecords;
+    }
+
+    void appendSave(Task task) throws IOException {
+        append(taskRecord('S', task));
+    }
+
+    /**
+     * 複数のタスクの追加レコードを、1回の追記でまとめて書き込みます。
+     * @param tasks 追加するタスク
+     * @throws IOException 書き込みに失敗した場合
+     */
+    void appendSaves(List<Task> tasks) throws IOException {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        StringBuilder text = new StringBuilder();
+        for (Task task : tasks) {
+            text.append(taskRecord('S', task)).append(System.lineSeparator());
+        }
+        appender.append(text.toString(), tasks.size());
+        records += tasks.size();
+    }
+
+    void appendUpdate(Task task) throws IOException {
+        append(taskRecord('U', task));
+    }
+
+    void appendDelete(int code) throws IOException {
+        append("D," + code);
+    }
+
+    private void append(String record) throws IOException {
+        appender.append(record + System.lineSeparator(), 1);
+        records++;
+    }
+
+    /**
+     * [from, to)のレコード数を数えます。
+     * ダブルクォートで囲んだタスク名の中の改行は数えないよう、ダブルクォートの数が偶数の位置の改行だけを数えます。
+     * UTF-8では'"'と'\n'のバイトが複数バイト文字の途中に現れないため、バイトのまま数えられます。
+     */
+    private static long countRecords(FileChannel channel, long from, long to) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long lines = 0;
+        boolean quoted = false;
+        long position = from;
+        while (position < to) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read < 0) break;
+            int limit = (int) Math.min(read, to - position);
+            for (int i = 0; i < limit; i++) {
+                byte b = buffer.get(i);
+                if (b == '"') {
+                    quoted = !quoted;
+                } else if (b == '\n' && !quoted) {
+                    lines++;
+                }
+            }
+            position += read;
+        }
+        return lines;
+    }
+
+    /**
+     * 1件分のレコードをタスク表に反映します。
+     */
+    private static void apply(TaskTable table, CsvTokenizer csv, UserDataAccess userDataAccess) {
+        if (csv.fieldEquals(0, "D") && csv.fieldCount() == 2) {
+            table.remove(csv.getInt(1));
+            return;
+        }
+        if (csv.fieldCount() != 5) {
+            throw new IllegalArgumentException("fields: " + csv.fieldCount());
+        }
+        int code = csv.getInt(1);
+        int status = csv.getInt(2);
+        User repUser = userDataAccess.findByCode(csv.getInt(3));
+        Task task = new Task(code, csv.getString(4), status, repUser);
+
+        if (csv.fieldEquals(0, "S")) {
+            table.add(task);
+        } else if (csv.fieldEquals(0, "U")) {
+            table.replace(task);
+        } else {
+            throw new IllegalArgumentException(csv.getString(0));
+        }
+    }
+
+    private static String taskRecord(char type, Task task) {
+        return type + "," + task.getCode() + "," + task.getStatus() + "," +
+                task.getRepUser().getCode() + "," + CsvTokenizer.quote(task.getName());
+    }
+}
@@ -0,0 +1,495 @@
+package com.taskapp.dataaccess;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+
+import com.taskapp.model.Task;
+import com.taskapp.model.TaskSummary;
+import com.taskapp.model.User;
+
+/**
+ * メモリ上に常駐するタスク表です。
+ * CSVの行順を保持したまま、コードをキーとした索引で1件取得をO(1)で行います。
+ * 同じコードの行が複数ある場合、索引は最後の行を指します。
+ *
+ * <p>行はTaskオブジェクトではなく、項目ごとの配列（コード・ステータス・担当ユーザーコード・タスク名の番号）で保持します。
+ * タスク名は同じ内容を1つにまとめ、担当ユーザーはコードごとに1つだけ保持するため、
+ * 1行あたりのメモリは数十バイトで、GCが辿る参照もほとんどありません。
+ * Taskは取得のたびに配列から作るため、呼び出し側が変更してもタスク表には影響しません。</p>
+ *
+ * <p>削除した行はすぐには詰めず、削除済みの行のビット列に印を付けます。
+ * ステータスには任意のint値を保持できるよう、削除済みの印をステータスの値では表しません。
+ * 削除済みの行が半分を超えた時点で配列を詰め直します。
+ * 削除済みの行数は{@value #BLOCK_SIZE}行のブロックごとにも数えておき、ページの先頭の行や行の番号は、
+ * ブロックごとの行数を足し合わせてから1つのブロックの中だけを調べて求めます。</p>
+ *
+ * <p>ステータス別・担当ユーザー別の行数は、行の追加・置き換え・削除のたびに差分だけ更新します。
+ * 集計の取得はタスクの件数によらず、担当ユーザーの数にしか比例しません。</p>
+ */
+final class TaskTable {
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * 担当ユーザーがnullの行の担当ユーザーコード
+     */
+    private static final int NO_USER = Integer.MIN_VALUE;
+
+    /**
+     * 削除済みの行がこの件数未満の間は詰め直しません。
+     */
+    private static final int MIN_COMPACTION_ROWS = 1_024;
+
+    /**
+     * 削除済みの行数を数えるブロックの行数（2のべき乗）
+     */
+    private static final int BLOCK_SIZE = 4_096;
+
+    private static final int BLOCK_SHIFT = Integer.numberOfTrailingZeros(BLOCK_SIZE);
+
+    private int[] codes;
+
+    private int[] statuses;
+
+    private int[] repUserCodes;
+
+    private int[] nameIds;
+
+    /**
+     * 同じコードの1つ前の行の位置。無い場合は-1
+     */
+    private int[] previousRows;
+
+    /**
+     * 削除済みの行の位置
+     */
+    private final BitSet deletedRows = new BitSet();
+
+    /**
+     * ブロックごとの削除済みの行数
+     */
+    private int[] blockDeleted;
+
+    /**
+     * 削除済みを含む行数
+     */
+    private int length;
+
+    private int deleted;
+
+    /**
+     * コードをキーとした、そのコードの最後の行の位置
+     */
+    private final IntIntMap positions;
+
+    private final StringPool names;
+
+    /**
+     * 担当ユーザーコードをキーとした担当ユーザー
+     */
+    private final IntObjectMap<User> users = new IntObjectMap<>();
+
+    /**
+     * ステータスごとの行数
+     */
+    private final int[] statusCounts = new int[TaskSummary.STATUSES];
+
+    /**
+     * 担当ユーザーコードをキーとした、ステータスごとの行数。行が無くなった担当ユーザーは取り除きます。
+     */
+    private final IntObjectMap<int[]> repUserCounts = new IntObjectMap<>();
+
+    /**
+     * 最後に作成した集計。行を変更した時点で捨てます。
+     */
+    private volatile TaskSummary summary;
+
+    TaskTable() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param capacity 想定される行数
+     */
+    TaskTable(int capacity) {
+        this(capacity, new StringPool());
+    }
+
+    private TaskTable(int capacity, StringPool names) {
+        capacity = Math.max(capacity, INITIAL_CAPACITY);
+        this.names = names;
+        codes = new int[capacity];
+        statuses = new int[capacity];
+        repUserCodes = new int[capacity];
+        nameIds = new int[capacity];
+        previousRows = new int[capacity];
+        blockDeleted = new int[blocks(capacity)];
+        positions = new IntIntMap(capacity);
+    }
+
+    /**
+     * 行を末尾に追加します。
+     * @param task 追加するタスク
+     */
+    void add(Task task) {
+        if (length == codes.length) {
+            grow(length + (length >> 1));
+        }
+        int row = length;
+        codes[row] = task.getCode();
+        set(row, task);
+        count(row, 1);
+        previousRows[row] = positions.put(task.getCode(), row);
+        length++;
+    }
+
+    /**
+     * 別の表の削除済みを除く行を、行順を保ったまま末尾に追加します。
+     * Taskを作らずに配列の値を写し、タスク名の番号と行数はまとめて付け替えます。
+     * @param other 追加する行を持つ表
+     */
+    void addAll(TaskTable other) {
+        if (length + other.length > codes.length) {
+            grow(Math.max(length + other.length, length + (length >> 1)));
+        }
+        // 別の表のタスク名の番号から、この表の番号への対応
+        int[] nameIdMap = new int[other.names.size()];
+        Arrays.fill(nameIdMap, -1);
+        for (int source = 0; source < other.length; source++) {
+            if (other.deletedRows.get(source)) continue;
+            int row = length;
+            int nameId = other.nameIds[source];
+            if (nameIdMap[nameId] < 0) {
+                nameIdMap[nameId] = names.intern(other.names.get(nameId));
+            }
+            codes[row] = other.codes[source];
+            statuses[row] = other.statuses[source];
+            repUserCodes[row] = other.repUserCodes[source];
+            nameIds[row] = nameIdMap[nameId];
+            previousRows[row] = positions.put(codes[row], row);
+            length++;
+        }
+        other.users.forEach(users::put);
+        for (int status = 0; status < TaskSummary.STATUSES; status++) {
+            statusCounts[status] += other.statusCounts[status];
+        }
+        other.repUserCounts.forEach((userCode, counts) -> {
+            int[] total = repUserCounts.get(userCode);
+            if (total == null) {
+                repUserCounts.put(userCode, counts.clone());
+            } else {
+                for (int status = 0; status < TaskSummary.STATUSES; status++) {
+                    total[status] += counts[status];
+                }
+            }
+        });
+        summary = null;
+    }
+
+    /**
+     * コードを基にタスクを取得します。
+     * @param code タスクコード
+     * @return 見つかったタスク、存在しない場合はnull
+     */
+    Task find(int code) {
+        int row = positions.get(code);
+        return row < 0 ? null : view(row);
+    }
+
+    /**
+     * 同じコードの行を全て置き換えます。該当する行が無い場合は何もしません。
+     * @param task 置き換え後のタスク
+     */
+    void replace(Task task) {
+        for (int row = positions.get(task.getCode()); row >= 0; row = previousRows[row]) {
+            count(row, -1);
+            set(row, task);
+            count(row, 1);
+        }
+    }
+
+    /**
+     * 同じコードの行を全て削除します。
+     * @param code 削除するタスクのコード
+     */
+    void remove(int code) {
+        int row = positions.remove(code);
+        if (row < 0) {
+            return;
+        }
+        for (; row >= 0; row = previousRows[row]) {
+            count(row, -1);
+            deletedRows.set(row);
+            blockDeleted[row >>> BLOCK_SHIFT]++;
+            deleted++;
+        }
+        if (deleted >= MIN_COMPACTION_ROWS && deleted * 2 > length) {
+            compact();
+        }
+    }
+
+    /**
+     * 全ての行をCSVの行順で取得します。
+     * 返すリストはタスク表をそのまま参照し、要素を取得するたびにTaskを作ります。
+     * タスク表を変更している間は使わないでください。
+     *
+     * @return 行のリスト（変更不可）
+     */
+    List<Task> rows() {
+        if (deleted == 0) {
+            return new RowList(null, length);
+        }
+        int[] live = new int[size()];
+        int count = 0;
+        for (int row = 0; row < length; row++) {
+            if (!deletedRows.get(row)) {
+                live[count++] = row;
+            }
+        }
+        return new RowList(live, count);
+    }
+
+    /**
+     * 全ての行のうち、offset番目から最大limit件をCSVの行順で取得します。
+     * Taskを作るのは取得する範囲の行だけです。
+     *
+     * @param offset 取得を始める行の番号（削除済みの行を除いて0から数える）
+     * @param limit 取得する最大件数
+     * @return 行のリスト
+     */
+    List<Task> slice(int offset, int limit) {
+        List<Task> tasks = new ArrayList<>(Math.max(0, Math.min(limit, size() - offset)));
+        for (int row = rowAt(offset); row < length && tasks.size() < limit; row++) {
+            if (deletedRows.get(row)) continue;
+            tasks.add(view(row));
+        }
+        return tasks;
+    }
+
+    /**
+     * コードの行が、削除済みの行を除いて何番目かを取得します。
+     * 同じコードの行が複数ある場合は、{@link #find(int)}と同じく最後の行の番号を返します。
+     *
+     * @param code タスクコード
+     * @return 0から数えた行の番号、存在しない場合は-1
+     */
+    int indexOf(int code) {
+        int row = positions.get(code);
+        if (row < 0 || deleted == 0) {
+            return row;
+        }
+        int block = row >>> BLOCK_SHIFT;
+        int removed = 0;
+        for (int i = 0; i < block; i++) {
+            removed += blockDeleted[i];
+        }
+        int start = block << BLOCK_SHIFT;
+        for (int i = deletedRows.nextSetBit(start); i >= 0 && i < row; i = deletedRows.nextSetBit(i + 1)) {
+            removed++;
+        }
+        return row - removed;
+    }
+
+    /**
+     * 削除済みの行を除いた複製を作成します。
+     * 配列を写すだけのため、Taskを作らずにある時点の内容を取っておけます。
+     * @return 複製したタスク表
+     */
+    TaskTable copy() {
+        TaskTable copy = new TaskTable(size(), names.copy());
+        users.forEach(copy.users::put);
+        System.arraycopy(statusCounts, 0, copy.statusCounts, 0, statusCounts.length);
+        repUserCounts.forEach((code, counts) -> copy.repUserCounts.put(code, counts.clone()));
+        for (int row = 0; row < length; row++) {
+            if (deletedRows.get(row)) continue;
+            int target = copy.length++;
+            copy.codes[target] = codes[row];
+            copy.statuses[target] = statuses[row];
+            copy.repUserCodes[target] = repUserCodes[row];
+            copy.nameIds[target] = nameIds[row];
+            copy.previousRows[target] = copy.positions.put(codes[row], target);
+        }
+        return copy;
+    }
+
+    int size() {
+        return length - deleted;
+    }
+
+    /**
+     * ステータス別・担当ユーザー別の行数を取得します。
+     * 前回の取得から行が変更されていなければ、同じインスタンスを返します。
+     * @return 集計
+     */
+    TaskSummary summary() {
+        TaskSummary summary = this.summary;
+        if (summary == null) {
+            int[] codes = new int[repUserCounts.size()];
+            int[] count = new int[1];
+            repUserCounts.forEach((code, counts) -> codes[count[0]++] = code);
+            Arrays.sort(codes);
+            int[][] counts = new int[codes.length][];
+            for (int i = 0; i < codes.length; i++) {
+                counts[i] = repUserCounts.get(codes[i]).clone();
+            }
+            summary = new TaskSummary(statusCounts.clone(), codes, counts);
+            this.summary = summary;
+        }
+        return summary;
+    }
+
+    /**
+     * 保持している担当ユーザーを、ユーザー表から取得し直したものに置き換えます。
+     * ユーザーCSVが変更された場合に、タスクの行を読み込み直さずに担当ユーザーだけを更新するために使います。
+     *
+     * @param userDataAccess 担当ユーザーの取得に使うデータアクセス
+     */
+    void resolveUsers(UserDataAccess userDataAccess) {
+        int[] userCodes = new int[users.size()];
+        int[] count = new int[1];
+        users.forEach((code, user) -> userCodes[count[0]++] = code);
+        for (int code : userCodes) {
+            User user = userDataAccess.findByCode(code);
+            if (user == null) {
+                // 行を作る際は、見つからない担当ユーザーをnullとして扱う
+                users.remove(code);
+            } else {
+                users.put(code, user);
+            }
+        }
+    }
+
+    /**
+     * 削除済みの行を除いてindex番目の行の位置を求めます。
+     * @return 行の位置、該当する行が無い場合はlength
+     */
+    private int rowAt(int index) {
+        if (deleted == 0) {
+            return Math.min(index, length);
+        }
+        if (index >= size()) {
+            return length;
+        }
+        // indexの行を含むブロックまで、ブロックごとの行数で飛ばす
+        int block = 0;
+        int live = BLOCK_SIZE - blockDeleted[0];
+        while (index >= live) {
+            index -= live;
+            block++;
+            live = BLOCK_SIZE - blockDeleted[block];
+        }
+        int row = deletedRows.nextClearBit(block << BLOCK_SHIFT);
+        for (; index > 0; index--) {
+            row = deletedRows.nextClearBit(row + 1);
+        }
+        return row;
+    }
+
+    /**
+     * 行の位置を変えずに、コード以外の項目を書き込みます。
+     */
+    private void set(int row, Task task) {
+        statuses[row] = task.getStatus();
+        nameIds[row] = names.intern(task.getName());
+        User user = task.getRepUser();
+        if (user == null) {
+            repUserCodes[row] = NO_USER;
+        } else {
+            repUserCodes[row] = user.getCode();
+            users.put(user.getCode(), user);
+        }
+    }
+
+    /**
+     * 行のステータスと担当ユーザーの行数にdeltaを加えます。
+     */
+    private void count(int row, int delta) {
+        int status = TaskSummary.statusOf(statuses[row]);
+        statusCounts[status] += delta;
+        int userCode = repUserCodes[row] == NO_USER ? TaskSummary.NO_REP_USER : repUserCodes[row];
+        int[] counts = repUserCounts.get(userCode);
+        if (counts == null) {
+            counts = new int[TaskSummary.STATUSES];
+            repUserCounts.put(userCode, counts);
+        }
+        counts[status] += delta;
+        if (delta < 0 && counts[0] == 0 && counts[1] == 0 && counts[2] == 0) {
+            repUserCounts.remove(userCode);
+        }
+        summary = null;
+    }
+
+    /**
+     * 行からTaskを作成します。
+     */
+    private Task view(int row) {
+        int userCode = repUserCodes[row];
+        return new Task(codes[row], names.get(nameIds[row]), statuses[row],
+                userCode == NO_USER ? null : users.get(userCode));
+    }
+
+    /**
+     * 削除済みの行を取り除いて配列を詰め直し、索引を作り直します。
+     */
+    private void compact() {
+        int target = 0;
+        positions.clear();
+        for (int row = 0; row < length; row++) {
+            if (deletedRows.get(row)) continue;
+            codes[target] = codes[row];
+            statuses[target] = statuses[row];
+            repUserCodes[target] = repUserCodes[row];
+            nameIds[target] = nameIds[row];
+            previousRows[target] = positions.put(codes[target], target);
+            target++;
+        }
+        length = target;
+        deleted = 0;
+        deletedRows.clear();
+        Arrays.fill(blockDeleted, 0);
+        grow(Math.max(length + (length >> 1), INITIAL_CAPACITY));
+    }
+
+    private void grow(int capacity) {
+        codes = Arrays.copyOf(codes, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        repUserCodes = Arrays.copyOf(repUserCodes, capacity);
+        nameIds = Arrays.copyOf(nameIds, capacity);
+        previousRows = Arrays.copyOf(previousRows, capacity);
+        blockDeleted = Arrays.copyOf(blockDeleted, blocks(capacity));
+    }
+
+    private static int blocks(int capacity) {
+        return (capacity + BLOCK_SIZE - 1) >>> BLOCK_SHIFT;
+    }
+
+    /**
+     * 行を参照するリストです。liveRowsがnullの場合はi番目の要素がi行目です。
+     */
+    private final class RowList extends AbstractList<Task> implements RandomAccess {
+        private final int[] liveRows;
+
+        private final int size;
+
+        RowList(int[] liveRows, int size) {
+            this.liveRows = liveRows;
+            this.size = size;
+        }
+
+        @Override
+        public Task get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+            }
+            return view(liveRows == null ? index : liveRows[index]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
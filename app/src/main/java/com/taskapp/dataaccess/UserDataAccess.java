@@ -1,16 +1,70 @@
 package com.taskapp.dataaccess;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.FileInputStream;
 import java.io.IOException;
-
+import java.io.InputStreamReader;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.taskapp.metrics.Metrics;
+import com.taskapp.metrics.OperationMetrics;
 import com.taskapp.model.User;
 
 public class UserDataAccess {
+    private static final OperationMetrics FIND_BY_EMAIL_AND_PASSWORD =
+            Metrics.operation("UserDataAccess.findByEmailAndPassword");
+
+    private static final OperationMetrics FIND_BY_CODE = Metrics.operation("UserDataAccess.findByCode");
+
+    /**
+     * ログインできなかった際にファイルの変更を確かめる最短の間隔
+     */
+    static final long DEFAULT_MISS_CHECK_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
     private final String filePath;
 
+    /**
+     * 外部からの変更の監視。検知器を使わない場合は、ログインできなかった際とタスク表の読み込み前にだけ確かめます。
+     */
+    private final FileWatch watch;
+
+    /**
+     * 検知器がファイルを監視しているかどうか
+     */
+    private final boolean detected;
+
+    /**
+     * ログインできなかった際にファイルの変更を確かめる最短の間隔。テストで間隔を変える場合だけ変更します。
+     */
+    long missCheckIntervalNanos = DEFAULT_MISS_CHECK_INTERVAL_NANOS;
+
+    /**
+     * 最後にログインできなかった際にファイルの変更を確かめた時刻（System.nanoTime()）
+     */
+    private final AtomicLong lastMissCheck;
+
+    /**
+     * 読み込んだユーザー表。初回参照時に読み込み、ファイルが外部で変更された場合は丸ごと作り直します。
+     * 作成後は変更しないため、複数のスレッドからロックを取らずに参照します。
+     */
+    private volatile Registry registry;
+
+    /**
+     * ユーザー表を読み込むためのロック
+     */
+    private final Object loadLock = new Object();
+
+    /**
+     * ユーザー表を読み込んだ回数。loadLockを保持して更新します。
+     */
+    private int loads;
+
     public UserDataAccess() {
-        filePath = "app/src/main/resources/users.csv";
+        this("app/src/main/resources/users.csv", FileChangeDetector.getDefault());
     }
 
     /**
@@ -18,75 +72,182 @@ public class UserDataAccess {
      * @param filePath
      */
     public UserDataAccess(String filePath) {
+        this(filePath, null);
+    }
+
+    /**
+     * 外部からの変更を検知するインスタンスを作成します。
+     * 検知器がファイルの変更を検知した場合、次の読み込みでユーザー表を作り直します。
+     * 検知器の有無にかかわらず、ログインできなかった場合は一定の間隔ごとに1回だけ、その場でファイルの変更を確かめます。
+     *
+     * @param filePath ユーザーCSVのパス
+     * @param detector ファイルの変更の検知器。使わない場合はnull
+     */
+    public UserDataAccess(String filePath, FileChangeDetector detector) {
         this.filePath = filePath;
+        Path path = Paths.get(filePath);
+        this.watch = detector == null ? new FileWatch(path.toAbsolutePath().normalize()) : detector.watch(path);
+        this.detected = detector != null;
+        this.lastMissCheck = new AtomicLong(System.nanoTime() - DEFAULT_MISS_CHECK_INTERVAL_NANOS);
     }
 
     /**
      * メールアドレスとパスワードを基にユーザーデータを探します。
+     * メールアドレスとパスワードの組をキーとした索引から取得します。
+     * 見つからない場合は、追加されたばかりのユーザーを見落とさないよう、ファイルが変更されていれば読み込み直してから探し直します。
+     * ファイルの変更を確かめるのは、1秒ごとに1回だけです。
+     * 同じ組が複数行ある場合は、CSVを先頭から探した場合と同じく前の行を返します。
+     *
+     * @see #refreshed()
      * @param email メールアドレス
      * @param password パスワード
      * @return 見つかったユーザー
      */
     public User findByEmailAndPassword(String email, String password) {
-        User user = null;
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            // 1行読み飛ばす
-            reader.readLine();
-
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] values = line.split(",");
-
-                // カラム数が異なる場合、以降の処理をスキップ
-                if (values.length != 4) continue;
-
-                // email, passwordがあっているか判定
-                String userEmail = values[2];
-                String userPassword = values[3];
-                if (!(userEmail.equals(email) && userPassword.equals(password))) continue;
-
-                int code = Integer.parseInt(values[0]);
-                String name = values[1];
-
-                user = new User(code, name, userEmail, userPassword);
-                break;
+        Metrics.Sample sample = FIND_BY_EMAIL_AND_PASSWORD.start();
+        try {
+            Credentials credentials = new Credentials(email, password);
+            User user = registry().byCredentials.get(credentials);
+            if (user == null) {
+                user = refreshed().byCredentials.get(credentials);
             }
-        } catch (IOException e) {
-            e.printStackTrace();;
+            return user;
+        } finally {
+            FIND_BY_EMAIL_AND_PASSWORD.stop(sample);
         }
-        return user;
     }
 
     /**
      * コードを基にユーザーデータを取得します。
+     * 初回呼び出し時にCSVを1度だけ読み込み、以降はメモリ上のユーザー表から取得します。
+     * タスクの読み込みから1行ごとに呼び出されるため、見つからない場合もファイルの変更は確かめません。
+     * ファイルが外部で変更されるまでは、同じコードに対して常に同じUserインスタンスを返します。
+     *
      * @param code 取得するユーザーのコード
      * @return 見つかったユーザー
      */
     public User findByCode(int code) {
-        User user = null;
-        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-            // 1行読み飛ばす
-            reader.readLine();
+        Metrics.Sample sample = FIND_BY_CODE.start();
+        try {
+            return registry().byCode.get(code);
+        } finally {
+            FIND_BY_CODE.stop(sample);
+        }
+    }
+
+    /**
+     * 現在のユーザー表が何回目の読み込みで作られたかを取得します。
+     * 値が変わった場合は、以前に取得したUserが古くなっています。
+     * @return ユーザー表の読み込み回数
+     */
+    int version() {
+        return registry().version;
+    }
 
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] values = line.split(",");
+    /**
+     * ユーザー表を取得します。未読み込みの場合と、ファイルが外部で変更された場合はCSVから読み込みます。
+     * ファイルの変更は検知器が付けた印で判断するため、ファイルシステムへの問い合わせは行いません。
+     *
+     * @return ユーザー表
+     */
+    private Registry registry() {
+        Registry registry = this.registry;
+        if (registry == null || watch.isStale()) {
+            synchronized (loadLock) {
+                registry = this.registry;
+                if (registry == null || watch.isStale()) {
+                    watch.clear();
+                    registry = loadUsers(++loads);
+                    this.registry = registry;
+                }
+            }
+        }
+        return registry;
+    }
+
+    /**
+     * 検知器を使わない場合に、ファイルの変更を確かめます。
+     * タスク表を読み込む前に1回だけ呼び出し、読み込みの途中では確かめません。
+     */
+    void checkBeforeLoad() {
+        if (!detected) {
+            watch.check();
+        }
+    }
+
+    /**
+     * 前回から間隔が空いていれば、ファイルの変更をその場で確かめてから、ユーザー表を取得します。
+     * ファイルの状態を1回問い合わせるだけで、変更されていなければ読み込み直しません。
+     * 検知器の通知を待たずに済むよう、ログインできなかった場合に使います。
+     *
+     * @return ユーザー表
+     */
+    private Registry refreshed() {
+        long now = System.nanoTime();
+        long last = lastMissCheck.get();
+        if (now - last >= missCheckIntervalNanos && lastMissCheck.compareAndSet(last, now)) {
+            watch.check();
+        }
+        return registry();
+    }
 
-                if (values.length != 4) continue;
+    /**
+     * CSVを1回走査し、コードをキーとしたユーザー表と、メールアドレスとパスワードの組をキーとした索引を作成します。
+     * 同じコードが複数行ある場合は後の行を、同じ組が複数行ある場合は前の行を優先します。
+     *
+     * @param version 読み込み回数
+     * @return ユーザー表
+     */
+    private Registry loadUsers(int version) {
+        IntObjectMap<User> byCode = new IntObjectMap<>();
+        Map<Credentials, User> byCredentials = new HashMap<>();
+        try (CsvTokenizer csv = open()) {
+            // 1行読み飛ばす
+            csv.next();
 
-                // codeに一致するユーザーを取得
-                int userCode = Integer.parseInt(values[0]);
-                if (userCode != code) continue;
+            while (csv.next()) {
+                if (csv.fieldCount() != 4) continue;
 
-                String name = values[1];
-                String email = values[2];
-                String password = values[3];
+                int userCode = csv.getInt(0);
+                String name = csv.getString(1);
+                String email = csv.getString(2);
+                String password = csv.getString(3);
 
-                user = new User(userCode, name, email, password);
+                User user = new User(userCode, name, email, password);
+                byCode.put(userCode, user);
+                byCredentials.putIfAbsent(new Credentials(email, password), user);
             }
         } catch (IOException e) {
             e.printStackTrace();
         }
-        return user;
+        return new Registry(byCode, byCredentials, version);
+    }
+
+    /**
+     * CSVを開きます。計測が有効な場合は読み込んだバイト数を数えます。
+     * @return CSVのトークナイザ
+     */
+    private CsvTokenizer open() throws IOException {
+        return new CsvTokenizer(new InputStreamReader(Metrics.countRead(new FileInputStream(filePath))));
+    }
+
+    /**
+     * 読み込んだ時点のユーザー表と索引です。
+     */
+    private static final class Registry {
+        private final IntObjectMap<User> byCode;
+
+        private final Map<Credentials, User> byCredentials;
+
+        private final int version;
+
+        Registry(IntObjectMap<User> byCode, Map<Credentials, User> byCredentials, int version) {
+            this.byCode = byCode;
+            this.byCredentials = byCredentials;
+            this.version = version;
+        }
+    }
+
+    private record Credentials(String email, String password) {
     }
 }
@@ -0,0 +1,260 @@
+package com.taskapp.dataset;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * 性能検証用の大量のusers.csv・tasks.csv・logs.csvを作成します。
+ * 形式はUserDataAccess・TaskDataAccess・LogDataAccessが読み込むものと同じです。
+ *
+ * <p>各行の内容はシード値とコードだけから計算するため、同じ引数なら常に同じファイルになります。
+ * 1行ずつ書き出し、件数に比例するデータをメモリに持たないため、100万件のタスクや
+ * 5000万件のログも小さいヒープで作成できます。</p>
+ *
+ * <ul>
+ * <li>ユーザー：日本語の氏名、メールアドレスは「user{コード}@example.com」、パスワードは「password{コード}」</li>
+ * <li>タスク：ステータスは未着手30%・着手中20%・完了50%、担当者はコードの小さいユーザーほど多く割り当て</li>
+ * <li>ログ：各タスクの登録から現在のステータスまでの変更履歴。指定件数が履歴の合計より多い場合は、
+ * 日付を進めて同じタスクの履歴を繰り返します</li>
+ * </ul>
+ */
+public class DatasetGenerator {
+    private static final String[] FAMILY_NAMES = {
+            "佐藤", "鈴木", "高橋", "田中", "伊藤", "渡辺", "山本", "中村", "小林", "加藤",
+            "吉田", "山田", "佐々木", "山口", "松本", "井上", "木村", "林", "斎藤", "清水",
+            "山崎", "森", "池田", "橋本", "阿部", "石川", "山下", "中島", "石井", "小川" };
+
+    private static final String[] GIVEN_NAMES = {
+            "一郎", "二郎", "健太", "翔太", "大輔", "拓也", "直樹", "亮", "誠", "浩二",
+            "花子", "陽子", "美咲", "由美", "恵", "愛", "真由美", "彩", "さくら", "優子",
+            "蓮", "陽翔", "湊", "結衣", "葵", "凛", "悠真", "芽依", "大和", "陽菜" };
+
+    private static final String[] TASK_OBJECTS = {
+            "資料", "会議", "請求書", "見積書", "議事録", "企画書", "報告書", "契約書",
+            "週報", "設計書", "仕様書", "提案書", "経費", "日程", "在庫" };
+
+    /**
+     * タスク名は「対象＋作業」の組み合わせで、UIの上限の10文字以内に収まります。
+     */
+    private static final String[] TASK_ACTIONS = {
+            "作成", "確認", "修正", "送付", "準備", "提出", "レビュー", "共有", "整理", "更新" };
+
+    /**
+     * ステータスごとの割合（百分率の累積）。未着手30%・着手中20%・完了50%
+     */
+    private static final int[] STATUS_CUMULATIVE_PERCENT = { 30, 50, 100 };
+
+    /**
+     * タスクの登録日を分布させる期間（日数）
+     */
+    private static final int TIMELINE_DAYS = 3 * 365;
+
+    private static final LocalDate START_DATE = LocalDate.of(2020, 1, 1);
+
+    private final long seed;
+
+    private final int users;
+
+    private final int tasks;
+
+    private final long logs;
+
+    /**
+     * @param seed シード値
+     * @param users ユーザー数（1以上）
+     * @param tasks タスク数（1以上）
+     * @param logs ログ件数
+     */
+    public DatasetGenerator(long seed, int users, int tasks, long logs) {
+        if (users < 1 || tasks < 1 || logs < 0) {
+            throw new IllegalArgumentException("users: " + users + ", tasks: " + tasks + ", logs: " + logs);
+        }
+        this.seed = seed;
+        this.users = users;
+        this.tasks = tasks;
+        this.logs = logs;
+    }
+
+    /**
+     * ディレクトリにusers.csv・tasks.csv・logs.csvを作成します。
+     * @param dir 作成先のディレクトリ
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void writeAll(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        writeUsers(dir.resolve("users.csv"));
+        writeTasks(dir.resolve("tasks.csv"));
+        writeLogs(dir.resolve("logs.csv"));
+    }
+
+    /**
+     * ユーザーCSVを作成します。
+     * @param path 作成するファイル
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void writeUsers(Path path) throws IOException {
+        try (Writer writer = open(path)) {
+            writer.write("Code,Name,Email,Password");
+            StringBuilder line = new StringBuilder();
+            for (int code = 1; code <= users; code++) {
+                SplittableRandom random = random(1, code);
+                line.setLength(0);
+                line.append(System.lineSeparator())
+                        .append(code).append(',')
+                        .append(FAMILY_NAMES[random.nextInt(FAMILY_NAMES.length)])
+                        .append(GIVEN_NAMES[random.nextInt(GIVEN_NAMES.length)]).append(',')
+                        .append(email(code)).append(',')
+                        .append(password(code));
+                writer.append(line);
+            }
+        }
+    }
+
+    /**
+     * タスクCSVを作成します。
+     * @param path 作成するファイル
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void writeTasks(Path path) throws IOException {
+        try (Writer writer = open(path)) {
+            writer.write("Code,Name,Status,Rep_User_Code");
+            StringBuilder line = new StringBuilder();
+            for (int code = 1; code <= tasks; code++) {
+                SplittableRandom random = random(2, code);
+                line.setLength(0);
+                line.append(System.lineSeparator())
+                        .append(code).append(',')
+                        .append(TASK_OBJECTS[random.nextInt(TASK_OBJECTS.length)])
+                        .append(TASK_ACTIONS[random.nextInt(TASK_ACTIONS.length)]).append(',')
+                        .append(statusOf(code)).append(',')
+                        .append(repUserOf(code));
+                writer.append(line);
+            }
+        }
+    }
+
+    /**
+     * ログCSVを作成します。
+     * タスクごとに、登録（未着手）から現在のステータスまでの変更を日付順に書き出します。
+     * 登録は任意のユーザー、ステータスの変更は多くの場合担当者が行います。
+     *
+     * @param path 作成するファイル
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public void writeLogs(Path path) throws IOException {
+        try (Writer writer = open(path)) {
+            writer.write("Task_Code,Change_User_Code,Status,Change_Date");
+            StringBuilder line = new StringBuilder();
+            long written = 0;
+            for (int pass = 0; written < logs; pass++) {
+                long passStart = START_DATE.toEpochDay() + (long) pass * TIMELINE_DAYS;
+                for (int code = 1; code <= tasks && written < logs; code++) {
+                    SplittableRandom random = random(3 + pass, code);
+                    int repUser = repUserOf(code);
+                    long day = passStart + (long) code * TIMELINE_DAYS / tasks;
+                    int finalStatus = statusOf(code);
+
+                    for (int status = 0; status <= finalStatus && written < logs; status++) {
+                        int changeUser;
+                        if (status == 0) {
+                            changeUser = random.nextInt(users) + 1;
+                        } else {
+                            // 着手までは数日、完了までは数日から数十日
+                            day += status == 1 ? random.nextInt(15) : 1 + (long) (random.nextDouble()
+                                    * random.nextDouble() * 60);
+                            changeUser = random.nextInt(10) < 8 ? repUser : random.nextInt(users) + 1;
+                        }
+                        line.setLength(0);
+                        line.append(System.lineSeparator())
+                                .append(code).append(',')
+                                .append(changeUser).append(',')
+                                .append(status).append(',')
+                                .append(LocalDate.ofEpochDay(day));
+                        writer.append(line);
+                        written++;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * タスクのステータスを求めます。
+     * @param code タスクコード
+     * @return 0（未着手）、1（着手中）、2（完了）のいずれか
+     */
+    public int statusOf(int code) {
+        int percent = random(4_000_000, code).nextInt(100);
+        for (int status = 0; status < STATUS_CUMULATIVE_PERCENT.length; status++) {
+            if (percent < STATUS_CUMULATIVE_PERCENT[status]) {
+                return status;
+            }
+        }
+        return STATUS_CUMULATIVE_PERCENT.length - 1;
+    }
+
+    /**
+     * タスクの担当者のユーザーコードを求めます。コードの小さいユーザーほど多くのタスクを担当します。
+     * @param code タスクコード
+     * @return 担当ユーザーのコード
+     */
+    public int repUserOf(int code) {
+        double r = random(4_000_001, code).nextDouble();
+        return (int) (users * r * r) + 1;
+    }
+
+    public static String email(int userCode) {
+        return "user" + userCode + "@example.com";
+    }
+
+    public static String password(int userCode) {
+        return "password" + userCode;
+    }
+
+    /**
+     * 用途とコードごとに独立した乱数を作成します。
+     */
+    private SplittableRandom random(long stream, int code) {
+        return new SplittableRandom(mix(seed + mix(stream * 0x9E3779B97F4A7C15L + code)));
+    }
+
+    /**
+     * SplitMix64の混合関数です。
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static Writer open(Path path) throws IOException {
+        return new BufferedWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    /**
+     * データセットを作成します。
+     * 引数は「出力先ディレクトリ ユーザー数 タスク数 ログ件数 シード値」で、省略した場合は既定値を使います。
+     *
+     * @param args コマンドライン引数
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public static void main(String[] args) throws IOException {
+        Path dir = Paths.get(args.length > 0 ? args[0] : "build/dataset");
+        int users = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        int tasks = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+        long logs = args.length > 3 ? Long.parseLong(args[3]) : 1_000_000;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 42;
+
+        long start = System.nanoTime();
+        new DatasetGenerator(seed, users, tasks, logs).writeAll(dir);
+        System.out.printf("%sに作成しました（ユーザー%,d件、タスク%,d件、ログ%,d件、%,dミリ秒）%n",
+                dir.toAbsolutePath(), users, tasks, logs, (System.nanoTime() - start) / 1_000_000);
+    }
+}
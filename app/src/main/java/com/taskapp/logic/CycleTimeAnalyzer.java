@@ -0,0 +1,252 @@
+package com.taskapp.logic;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import com.taskapp.dataaccess.LogDataAccess;
+import com.taskapp.metrics.Metrics;
+import com.taskapp.metrics.OperationMetrics;
+import com.taskapp.model.CycleTimeReport;
+
+/**
+ * ステータスの変更履歴（ログ）から、タスクごと・ユーザーごとの待ち時間と作業時間を求めます。
+ * 各タスクの未着手・着手中・完了は、それぞれ最初に記録されたログの日付を使います。
+ *
+ * <p>集計はForkJoinPoolで3段階に分けて並列に行い、どの段階もスレッド間で表を共有しないためロックを使いません。</p>
+ * <ol>
+ * <li>ログを保存した順に範囲へ分けて読み、範囲ごとに、タスクコードのハッシュで区分けした表へ記録します。</li>
+ * <li>区分ごとに、各範囲の表を保存した順にまとめ、タスクごとの日数とユーザーごとの日数の一覧を求めます。</li>
+ * <li>区分ごとの結果をつなぎ、並べ替えてパーセンタイルを求めます。</li>
+ * </ol>
+ */
+public class CycleTimeAnalyzer {
+    private static final OperationMetrics ANALYZE = Metrics.operation("CycleTimeAnalyzer.analyze");
+
+    private static final int PARTITION_BITS = 6;
+
+    private static final int PARTITIONS = 1 << PARTITION_BITS;
+
+    private final LogDataAccess logDataAccess;
+
+    public CycleTimeAnalyzer(LogDataAccess logDataAccess) {
+        this.logDataAccess = logDataAccess;
+    }
+
+    /**
+     * 全てのログを集計します。
+     * 変更日が前のステータスより前になっているなど、履歴が矛盾するタスクの日数は求めません。
+     *
+     * @return 集計結果
+     */
+    public CycleTimeReport analyze() {
+        Metrics.Sample sample = ANALYZE.start();
+        try {
+            List<RangeHistories> ranges = logDataAccess.visitParallel(RangeHistories::new);
+            List<PartitionResult> partitions = IntStream.range(0, PARTITIONS).parallel()
+                    .mapToObj(partition -> PartitionResult.of(merge(ranges, partition)))
+                    .toList();
+            return report(partitions);
+        } finally {
+            ANALYZE.stop(sample);
+        }
+    }
+
+    /**
+     * 各範囲の区分の表を、保存した順に1つの表へまとめます。
+     */
+    private static TaskHistoryTable merge(List<RangeHistories> ranges, int partition) {
+        TaskHistoryTable merged = null;
+        for (RangeHistories range : ranges) {
+            TaskHistoryTable table = range.tables[partition];
+            if (table == null) continue;
+            if (merged == null) {
+                merged = table;
+            } else {
+                merged.mergeLater(table);
+            }
+        }
+        return merged == null ? new TaskHistoryTable() : merged;
+    }
+
+    /**
+     * 区分ごとの結果をタスクコード順・ユーザーコード順に並べ、統計を求めます。
+     */
+    private static CycleTimeReport report(List<PartitionResult> partitions) {
+        int total = partitions.stream().mapToInt(partition -> partition.taskCodes.length).sum();
+        int[] concatenatedWaitDays = new int[total];
+        int[] concatenatedWorkDays = new int[total];
+        // 上位32ビットにタスクコード、下位32ビットにつないだ位置を詰めて並べ替える
+        long[] keys = new long[total];
+        int position = 0;
+        for (PartitionResult partition : partitions) {
+            int length = partition.taskCodes.length;
+            System.arraycopy(partition.waitDays, 0, concatenatedWaitDays, position, length);
+            System.arraycopy(partition.workDays, 0, concatenatedWorkDays, position, length);
+            for (int i = 0; i < length; i++) {
+                keys[position + i] = (long) partition.taskCodes[i] << 32 | position + i;
+            }
+            position += length;
+        }
+        Arrays.parallelSort(keys);
+
+        int[] taskCodes = new int[total];
+        int[] waitDays = new int[total];
+        int[] workDays = new int[total];
+        IntStream.range(0, total).parallel().forEach(i -> {
+            int source = (int) keys[i];
+            taskCodes[i] = (int) (keys[i] >> 32);
+            waitDays[i] = concatenatedWaitDays[source];
+            workDays[i] = concatenatedWorkDays[source];
+        });
+
+        TreeSet<Integer> users = new TreeSet<>();
+        for (PartitionResult partition : partitions) {
+            users.addAll(partition.waitDaysByUser.keySet());
+            users.addAll(partition.workDaysByUser.keySet());
+        }
+        int[] userCodes = users.stream().mapToInt(Integer::intValue).toArray();
+        CycleTimeReport.Stats[] userWaitStats = new CycleTimeReport.Stats[userCodes.length];
+        CycleTimeReport.Stats[] userWorkStats = new CycleTimeReport.Stats[userCodes.length];
+        IntStream.range(0, userCodes.length).parallel().forEach(i -> {
+            userWaitStats[i] = stats(partitions, partition -> partition.waitDaysByUser.get(userCodes[i]));
+            userWorkStats[i] = stats(partitions, partition -> partition.workDaysByUser.get(userCodes[i]));
+        });
+
+        return new CycleTimeReport(taskCodes, waitDays, workDays, measuredStats(waitDays), measuredStats(workDays),
+                userCodes, userWaitStats, userWorkStats);
+    }
+
+    /**
+     * 求められた日数だけを並べ替えて統計を作成します。
+     */
+    private static CycleTimeReport.Stats measuredStats(int[] days) {
+        int[] measured = Arrays.stream(days).parallel().filter(day -> day != CycleTimeReport.NOT_MEASURED).toArray();
+        Arrays.parallelSort(measured);
+        return CycleTimeReport.Stats.ofSorted(measured);
+    }
+
+    /**
+     * 各区分の日数の一覧をつなぎ、並べ替えて統計を作成します。
+     */
+    private static CycleTimeReport.Stats stats(List<PartitionResult> partitions,
+            Function<PartitionResult, DayList> lists) {
+        DayList all = new DayList();
+        for (PartitionResult partition : partitions) {
+            DayList list = lists.apply(partition);
+            if (list != null) {
+                all.addAll(list);
+            }
+        }
+        int[] sorted = all.toArray();
+        Arrays.sort(sorted);
+        return CycleTimeReport.Stats.ofSorted(sorted);
+    }
+
+    /**
+     * 1つの範囲のログを、タスクコードのハッシュの上位ビットで区分けした表に記録します。
+     */
+    private static final class RangeHistories implements LogDataAccess.LogVisitor {
+        private final TaskHistoryTable[] tables = new TaskHistoryTable[PARTITIONS];
+
+        @Override
+        public void visit(int taskCode, int changeUserCode, int status, long epochDay) {
+            // 表はエポック日をintで持ち、Integer.MIN_VALUEを未記録の印に使う
+            if (epochDay <= TaskHistoryTable.NONE || epochDay > Integer.MAX_VALUE) {
+                return;
+            }
+            int partition = TaskHistoryTable.mix(taskCode) >>> (Integer.SIZE - PARTITION_BITS);
+            TaskHistoryTable table = tables[partition];
+            if (table == null) {
+                table = new TaskHistoryTable();
+                tables[partition] = table;
+            }
+            table.record(taskCode, changeUserCode, status, (int) epochDay);
+        }
+    }
+
+    /**
+     * 1つの区分の、タスクごとの日数とユーザーごとの日数の一覧です。
+     */
+    private static final class PartitionResult {
+        private final int[] taskCodes;
+
+        private final int[] waitDays;
+
+        private final int[] workDays;
+
+        private final Map<Integer, DayList> waitDaysByUser = new HashMap<>();
+
+        private final Map<Integer, DayList> workDaysByUser = new HashMap<>();
+
+        private PartitionResult(int size) {
+            taskCodes = new int[size];
+            waitDays = new int[size];
+            workDays = new int[size];
+        }
+
+        static PartitionResult of(TaskHistoryTable table) {
+            PartitionResult result = new PartitionResult(table.size());
+            int[] next = new int[1];
+            table.forEach((taskCode, createdDay, startedDay, startedUserCode, completedDay, completedUserCode) -> {
+                int wait = days(createdDay, startedDay);
+                int work = days(startedDay, completedDay);
+                int i = next[0]++;
+                result.taskCodes[i] = taskCode;
+                result.waitDays[i] = wait;
+                result.workDays[i] = work;
+                if (wait != CycleTimeReport.NOT_MEASURED) {
+                    result.waitDaysByUser.computeIfAbsent(startedUserCode, code -> new DayList()).add(wait);
+                }
+                if (work != CycleTimeReport.NOT_MEASURED) {
+                    result.workDaysByUser.computeIfAbsent(completedUserCode, code -> new DayList()).add(work);
+                }
+            });
+            return result;
+        }
+
+        /**
+         * 2つの日付の間の日数を求めます。
+         * @return 日数、どちらかが未記録か、終わりが始まりより前の場合は{@link CycleTimeReport#NOT_MEASURED}
+         */
+        private static int days(int from, int to) {
+            if (from == TaskHistoryTable.NONE || to == TaskHistoryTable.NONE || to < from) {
+                return CycleTimeReport.NOT_MEASURED;
+            }
+            long days = (long) to - from;
+            return days > Integer.MAX_VALUE ? CycleTimeReport.NOT_MEASURED : (int) days;
+        }
+    }
+
+    /**
+     * 日数を追加していく可変長のint配列です。
+     */
+    private static final class DayList {
+        private int[] days = new int[8];
+
+        private int size;
+
+        void add(int day) {
+            if (size == days.length) {
+                days = Arrays.copyOf(days, size * 2);
+            }
+            days[size++] = day;
+        }
+
+        void addAll(DayList other) {
+            if (size + other.size > days.length) {
+                days = Arrays.copyOf(days, Math.max(days.length * 2, size + other.size));
+            }
+            System.arraycopy(other.days, 0, days, size, other.size);
+            size += other.size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(days, size);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.taskapp.logic;
+
+import java.util.Arrays;
+
+/**
+ * タスクごとに、未着手・着手中・完了になった最初の日と、着手中・完了に変更したユーザーを保持する表です。
+ * タスクコードをキーとしたオープンアドレス法（線形探索）の表で、項目ごとの配列に値を持つため、
+ * 1件のログの記録はハッシュの探索1回とint配列の読み書きだけで済みます。
+ * スレッドセーフではありません。
+ */
+final class TaskHistoryTable {
+    /**
+     * まだ記録していないことを表す値
+     */
+    static final int NONE = Integer.MIN_VALUE;
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * 表の項目を受け取る処理です。記録していない項目には{@link TaskHistoryTable#NONE}を渡します。
+     */
+    @FunctionalInterface
+    interface HistoryVisitor {
+        void visit(int taskCode, int createdDay, int startedDay, int startedUserCode, int completedDay,
+                int completedUserCode);
+    }
+
+    private int[] taskCodes;
+
+    private boolean[] used;
+
+    private int[] createdDays;
+
+    private int[] startedDays;
+
+    private int[] startedUserCodes;
+
+    private int[] completedDays;
+
+    private int[] completedUserCodes;
+
+    private int size;
+
+    TaskHistoryTable() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * ステータスの変更を記録します。同じタスクの同じステータスが既にある場合は、先に記録した方を残します。
+     * 0（未着手）・1（着手中）・2（完了）以外のステータスは記録しません。
+     *
+     * @param taskCode タスクコード
+     * @param changeUserCode 変更したユーザーのコード
+     * @param status 変更後のステータス
+     * @param epochDay 変更日のエポック日
+     */
+    void record(int taskCode, int changeUserCode, int status, int epochDay) {
+        if (status < 0 || status > 2) {
+            return;
+        }
+        int slot = slotOf(taskCode);
+        if (status == 0) {
+            if (createdDays[slot] == NONE) {
+                createdDays[slot] = epochDay;
+            }
+        } else if (status == 1) {
+            if (startedDays[slot] == NONE) {
+                startedDays[slot] = epochDay;
+                startedUserCodes[slot] = changeUserCode;
+            }
+        } else if (completedDays[slot] == NONE) {
+            completedDays[slot] = epochDay;
+            completedUserCodes[slot] = changeUserCode;
+        }
+    }
+
+    /**
+     * この表より後に保存したログの表を取り込みます。
+     * 既に記録している項目はそのまま残すため、保存した順に取り込めば全体を先頭から記録した場合と同じ結果になります。
+     *
+     * @param later 後に保存したログの表
+     */
+    void mergeLater(TaskHistoryTable later) {
+        for (int i = 0; i < later.used.length; i++) {
+            if (!later.used[i]) continue;
+            int slot = slotOf(later.taskCodes[i]);
+            if (createdDays[slot] == NONE) {
+                createdDays[slot] = later.createdDays[i];
+            }
+            if (startedDays[slot] == NONE) {
+                startedDays[slot] = later.startedDays[i];
+                startedUserCodes[slot] = later.startedUserCodes[i];
+            }
+            if (completedDays[slot] == NONE) {
+                completedDays[slot] = later.completedDays[i];
+                completedUserCodes[slot] = later.completedUserCodes[i];
+            }
+        }
+    }
+
+    /**
+     * 記録したタスクの数を取得します。
+     * @return タスクの数
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * 記録した全てのタスクを順不同で処理します。
+     * @param visitor タスクごとに呼び出される処理
+     */
+    void forEach(HistoryVisitor visitor) {
+        for (int i = 0; i < used.length; i++) {
+            if (!used[i]) continue;
+            visitor.visit(taskCodes[i], createdDays[i], startedDays[i], startedUserCodes[i], completedDays[i],
+                    completedUserCodes[i]);
+        }
+    }
+
+    /**
+     * タスクコードの位置を取得します。無い場合は全ての項目を未記録として追加します。
+     */
+    private int slotOf(int taskCode) {
+        int mask = used.length - 1;
+        int index = mix(taskCode) & mask;
+        while (used[index]) {
+            if (taskCodes[index] == taskCode) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        // 負荷率が1/2を超える場合は拡張してから追加する
+        if ((size + 1) * 2 > used.length) {
+            resize(used.length << 1);
+            return slotOf(taskCode);
+        }
+        used[index] = true;
+        taskCodes[index] = taskCode;
+        size++;
+        return index;
+    }
+
+    private void resize(int capacity) {
+        int[] oldTaskCodes = taskCodes;
+        boolean[] oldUsed = used;
+        int[] oldCreatedDays = createdDays;
+        int[] oldStartedDays = startedDays;
+        int[] oldStartedUserCodes = startedUserCodes;
+        int[] oldCompletedDays = completedDays;
+        int[] oldCompletedUserCodes = completedUserCodes;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (!oldUsed[i]) continue;
+            int index = mix(oldTaskCodes[i]) & mask;
+            while (used[index]) {
+                index = (index + 1) & mask;
+            }
+            used[index] = true;
+            taskCodes[index] = oldTaskCodes[i];
+            createdDays[index] = oldCreatedDays[i];
+            startedDays[index] = oldStartedDays[i];
+            startedUserCodes[index] = oldStartedUserCodes[i];
+            completedDays[index] = oldCompletedDays[i];
+            completedUserCodes[index] = oldCompletedUserCodes[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        taskCodes = new int[capacity];
+        used = new boolean[capacity];
+        createdDays = new int[capacity];
+        startedDays = new int[capacity];
+        startedUserCodes = new int[capacity];
+        completedDays = new int[capacity];
+        completedUserCodes = new int[capacity];
+        Arrays.fill(createdDays, NONE);
+        Arrays.fill(startedDays, NONE);
+        Arrays.fill(completedDays, NONE);
+    }
+
+    /**
+     * タスクコードのハッシュ値です。{@link CycleTimeAnalyzer}は上位のビットで表を分けるため、表の中では下位のビットを使います。
+     * @param taskCode タスクコード
+     * @return ハッシュ値
+     */
+    static int mix(int taskCode) {
+        int h = taskCode * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,217 @@
+package com.taskapp.logic;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.List;
+
+import com.taskapp.model.Task;
+import com.taskapp.model.TaskSummary;
+import com.taskapp.model.User;
+
+/**
+ * タスク一覧の各行を出力先の文字コードのバイト列に組み立て、まとめて書き込むクラスです。
+ *
+ * <p>行ごとにSystem.out.printlnを呼び出すと、PrintStreamのロックと書き込み・フラッシュが行の数だけ発生します。
+ * このクラスは固定の文言とステータス名をあらかじめバイト列にしておき、
+ * 可変のタスクコード・タスク名・担当者名だけを作業用のバッファに直接書き込みます。
+ * バッファが一杯になった時点と最後に1回だけ出力先へ書き込みます。</p>
+ *
+ * <p>出力は、同じ文字コードのPrintStreamで次の行を1件ずつprintlnした場合とバイト単位で同じです。</p>
+ * <pre>
+ * {コード}. タスク名：{タスク名}, 担当者名：{あなた|担当者名}が担当しています, ステータス：{未着手|着手中|完了}
+ * </pre>
+ *
+ * <p>作業用のバッファと文字コードの変換器は、描画のたびに作らずスレッドごとに1つ持って使い回します。
+ * そのため、インスタンスは複数のスレッドで共有できます。</p>
+ */
+final class TaskListRenderer {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Charset charset;
+
+    private final byte[] nameLabel;
+
+    private final byte[] repUserLabel;
+
+    private final byte[] statusLabel;
+
+    private final byte[] you;
+
+    private final byte[] lineSeparator;
+
+    /**
+     * ステータスごとのステータス名
+     */
+    private final byte[][] statuses = new byte[TaskSummary.STATUSES][];
+
+    /**
+     * 0から9の数字
+     */
+    private final byte[][] digits = new byte[10][];
+
+    private final byte[] minus;
+
+    /**
+     * スレッドごとの作業用のバッファと文字コードの変換器
+     */
+    private final ThreadLocal<Output> outputs = ThreadLocal.withInitial(Output::new);
+
+    /**
+     * @param charset 出力先の文字コード
+     */
+    TaskListRenderer(Charset charset) {
+        this.charset = charset;
+        nameLabel = encode(". タスク名：");
+        repUserLabel = encode(", 担当者名：");
+        statusLabel = encode("が担当しています, ステータス：");
+        you = encode("あなた");
+        lineSeparator = encode(System.lineSeparator());
+        for (int status = 0; status < statuses.length; status++) {
+            statuses[status] = encode(TaskLogic.statusName(status));
+        }
+        for (int i = 0; i < digits.length; i++) {
+            digits[i] = encode(String.valueOf((char) ('0' + i)));
+        }
+        minus = encode("-");
+    }
+
+    Charset charset() {
+        return charset;
+    }
+
+    /**
+     * タスクの一覧を書き込みます。書き込んだ後に出力先をフラッシュします。
+     *
+     * @param tasks 表示するタスク
+     * @param loginUser ログインユーザー
+     * @param out 出力先
+     * @throws IOException 書き込みに失敗した場合
+     */
+    void render(List<Task> tasks, User loginUser, OutputStream out) throws IOException {
+        Output output = outputs.get();
+        output.open(out);
+        try {
+            renderRows(tasks, loginUser, output);
+            output.flush();
+        } finally {
+            output.close();
+        }
+    }
+
+    private void renderRows(List<Task> tasks, User loginUser, Output output) throws IOException {
+        for (Task task : tasks) {
+            output.writeInt(task.getCode());
+            output.write(nameLabel);
+            output.write(task.getName());
+            output.write(repUserLabel);
+            // だれが担当しているか判定
+            User repUser = task.getRepUser();
+            if (repUser.getCode() == loginUser.getCode()) {
+                output.write(you);
+            } else {
+                output.write(repUser.getName());
+            }
+            output.write(statusLabel);
+            output.write(statusOf(task.getStatus()));
+            output.write(lineSeparator);
+        }
+    }
+
+    /**
+     * ステータス名を取得します。1・2以外は集計と同じく未着手として扱います。
+     */
+    private byte[] statusOf(int status) {
+        return statuses[TaskSummary.statusOf(status)];
+    }
+
+    /**
+     * PrintStreamと同じく、表せない文字を置換文字にしてバイト列にします。
+     */
+    private byte[] encode(String text) {
+        return text.getBytes(charset);
+    }
+
+    /**
+     * 作業用のバッファと文字コードの変換器を持つ、スレッドごとの書き込み用のオブジェクトです。
+     */
+    private final class Output {
+        private OutputStream out;
+
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        private final CharsetEncoder encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        /**
+         * 書き込みを始めます。前回の書き込みが途中で失敗した場合に残ったバイト列は捨てます。
+         */
+        void open(OutputStream out) {
+            this.out = out;
+            buffer.clear();
+        }
+
+        /**
+         * 書き込みを終えます。出力先を保持し続けないよう参照を外します。
+         */
+        void close() {
+            out = null;
+        }
+
+        void write(byte[] bytes) throws IOException {
+            if (buffer.remaining() < bytes.length) {
+                drain();
+                if (bytes.length > buffer.capacity()) {
+                    out.write(bytes);
+                    return;
+                }
+            }
+            buffer.put(bytes);
+        }
+
+        void write(String text) throws IOException {
+            CharBuffer chars = CharBuffer.wrap(text);
+            encoder.reset();
+            // 置換する設定のため、結果はバッファの不足（OVERFLOW）か完了（UNDERFLOW）のどちらか
+            while (encoder.encode(chars, buffer, true).isOverflow()) {
+                drain();
+            }
+            while (encoder.flush(buffer).isOverflow()) {
+                drain();
+            }
+        }
+
+        void writeInt(int value) throws IOException {
+            if (value < 0) {
+                write(minus);
+            }
+            // Integer.MIN_VALUEの絶対値はintに収まらないため、負の側で桁を求める
+            int negative = value < 0 ? value : -value;
+            int divisor = 1;
+            while (negative / divisor <= -10) {
+                divisor *= 10;
+            }
+            for (; divisor > 0; divisor /= 10) {
+                write(digits[-(negative / divisor)]);
+                negative %= divisor;
+            }
+        }
+
+        void flush() throws IOException {
+            drain();
+            out.flush();
+        }
+
+        private void drain() throws IOException {
+            if (buffer.position() > 0) {
+                out.write(buffer.array(), 0, buffer.position());
+                buffer.clear();
+            }
+        }
+    }
+}
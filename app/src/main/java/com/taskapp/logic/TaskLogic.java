@@ -1,21 +1,59 @@
 package com.taskapp.logic;
 
+import java.io.IOException;
+import java.io.PrintStream;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntUnaryOperator;
 
 import com.taskapp.dataaccess.LogDataAccess;
 import com.taskapp.dataaccess.TaskDataAccess;
 import com.taskapp.dataaccess.UserDataAccess;
 import com.taskapp.exception.AppException;
+import com.taskapp.metrics.Metrics;
+import com.taskapp.metrics.OperationMetrics;
 import com.taskapp.model.User;
 import com.taskapp.model.Task;
+import com.taskapp.model.TaskSummary;
 import com.taskapp.model.Log;
 
 public class TaskLogic {
+    private static final String[] STATUS_NAMES = { "未着手", "着手中", "完了" };
+
+    // 操作ごとの計測
+    private static final OperationMetrics SHOW_ALL = Metrics.operation("TaskLogic.showAll");
+    private static final OperationMetrics SHOW_PAGE = Metrics.operation("TaskLogic.showPage");
+    private static final OperationMetrics FIND_PAGE = Metrics.operation("TaskLogic.findPage");
+    private static final OperationMetrics GET_SUMMARY = Metrics.operation("TaskLogic.getSummary");
+    private static final OperationMetrics SHOW_SUMMARY = Metrics.operation("TaskLogic.showSummary");
+    private static final OperationMetrics SAVE = Metrics.operation("TaskLogic.save");
+    private static final OperationMetrics SAVE_ALL = Metrics.operation("TaskLogic.saveAll");
+    private static final OperationMetrics CHANGE_STATUS = Metrics.operation("TaskLogic.changeStatus");
+    private static final OperationMetrics DELETE = Metrics.operation("TaskLogic.delete");
+
+    /**
+     * タスクコードごとのロックの数（2のべき乗）
+     */
+    private static final int TASK_LOCKS = 64;
+
     private final TaskDataAccess taskDataAccess;
     private final LogDataAccess logDataAccess;
     private final UserDataAccess userDataAccess;
 
+    /**
+     * タスクコードのハッシュで分けたロック。
+     * サーバーモードでは全セッションが1つのTaskLogicを共有するため、同じタスクへのステータス変更・削除は、
+     * 確認から更新・ログの保存までを1件ずつ行います。2つのセッションが同じ確認を通り、変更やログを重複させることはありません。
+     * 待っている仮想スレッドがOSのスレッドを占有しないよう、モニターではなくReentrantLockを使います。
+     */
+    private final ReentrantLock[] taskLocks = newTaskLocks();
+
+    /**
+     * 直前に使ったタスク一覧の出力。System.outの文字コードが変わった場合は作り直します。
+     */
+    private volatile TaskListRenderer renderer;
 
     public TaskLogic() {
         taskDataAccess = new TaskDataAccess();
@@ -37,31 +75,217 @@ public class TaskLogic {
 
     /**
      * 全てのタスクを表示します。
+     * 各行はバッファに組み立て、System.outへはまとめて書き込みます。
      *
+     * @see com.taskapp.logic.TaskListRenderer
      * @see com.taskapp.dataaccess.TaskDataAccess#findAll()
      * @param loginUser ログインユーザー
      */
     public void showAll(User loginUser) {
+        Metrics.Sample sample = SHOW_ALL.start();
+        try {
+            doShowAll(loginUser);
+        } finally {
+            SHOW_ALL.stop(sample);
+        }
+    }
+
+    private void doShowAll(User loginUser) {
         List<Task> tasks = taskDataAccess.findAll();
 
-        tasks.forEach(task -> {
-            // ステータスの判定
-            String status = "未着手";
-            if (task.getStatus() == 1) {
-                status = "着手中";
-            } else if (task.getStatus() == 2) {
-                status = "完了";
-            }
+        PrintStream out = System.out;
+        try {
+            renderer(out).render(tasks, loginUser, out);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * タスク一覧のうち、指定したページのタスクだけを表示します。
+     * データ層からはそのページの範囲（と次のページの有無を判定する1件）だけを取得するため、
+     * タスクの件数にかかわらず表示までの時間はほぼ一定です。
+     * 各行の形式は{@link #showAll(User)}と同じで、最後に何件目までを表示したかを出力します。
+     *
+     * @see com.taskapp.dataaccess.TaskDataAccess#findPage(int, int)
+     * @param loginUser ログインユーザー
+     * @param page ページ番号（0から）
+     * @param pageSize 1ページあたりの件数（1以上）
+     * @return 次のページがある場合はtrue
+     */
+    public boolean showPage(User loginUser, int page, int pageSize) {
+        if (page < 0 || pageSize < 1) {
+            throw new IllegalArgumentException("page: " + page + ", pageSize: " + pageSize);
+        }
+        Metrics.Sample sample = SHOW_PAGE.start();
+        try {
+            return doShowPage(loginUser, page, pageSize);
+        } finally {
+            SHOW_PAGE.stop(sample);
+        }
+    }
+
+    private boolean doShowPage(User loginUser, int page, int pageSize) {
+        long offset = (long) page * pageSize;
+        if (offset > Integer.MAX_VALUE) {
+            return false;
+        }
+        List<Task> tasks = taskDataAccess.findPage((int) offset, pageSize + 1);
+        boolean hasNext = tasks.size() > pageSize;
+        if (hasNext) {
+            tasks = tasks.subList(0, pageSize);
+        }
+
+        PrintStream out = System.out;
+        try {
+            renderer(out).render(tasks, loginUser, out);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+        if (tasks.isEmpty()) {
+            System.out.println("表示するタスクがありません。");
+        } else {
+            System.out.println((page + 1) + "ページ目（" + (offset + 1) + "～" + (offset + tasks.size()) + "件目）");
+        }
+        return hasNext;
+    }
+
+    /**
+     * タスクが表示されるページ番号を取得します。
+     *
+     * @see com.taskapp.dataaccess.TaskDataAccess#indexOf(int)
+     * @param code タスクコード
+     * @param pageSize 1ページあたりの件数（1以上）
+     * @return ページ番号（0から）
+     * @throws AppException タスクコードが存在しない場合にスローされます
+     */
+    public int findPage(int code, int pageSize) throws AppException {
+        Metrics.Sample sample = FIND_PAGE.start();
+        try {
+            return doFindPage(code, pageSize);
+        } finally {
+            FIND_PAGE.stop(sample);
+        }
+    }
+
+    private int doFindPage(int code, int pageSize) throws AppException {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize: " + pageSize);
+        }
+        int index = taskDataAccess.indexOf(code);
+        if (index < 0) {
+            throw new AppException("存在するタスクコードを入力してください");
+        }
+        return index / pageSize;
+    }
+
+    /**
+     * ステータス別・担当ユーザー別のタスク件数を取得します。
+     * 件数は保存・ステータス変更・削除のたびに差分だけ更新されているため、タスクの件数にかかわらず全件を走査しません。
+     *
+     * @see com.taskapp.dataaccess.TaskDataAccess#summary()
+     * @return タスク件数の集計
+     */
+    public TaskSummary getSummary() {
+        Metrics.Sample sample = GET_SUMMARY.start();
+        try {
+            return taskDataAccess.summary();
+        } finally {
+            GET_SUMMARY.stop(sample);
+        }
+    }
+
+    /**
+     * ステータス別と、担当ユーザーごとのステータス別のタスク件数を表示します。
+     *
+     * @see #getSummary()
+     * @param loginUser ログインユーザー
+     */
+    public void showSummary(User loginUser) {
+        Metrics.Sample sample = SHOW_SUMMARY.start();
+        try {
+            doShowSummary(loginUser);
+        } finally {
+            SHOW_SUMMARY.stop(sample);
+        }
+    }
 
+    private void doShowSummary(User loginUser) {
+        TaskSummary summary = taskDataAccess.summary();
+        StringBuilder text = new StringBuilder();
+        text.append("全体：");
+        appendCounts(text, summary::getCount);
+        text.append(System.lineSeparator()).append("担当者別：");
+        for (int repUserCode : summary.getRepUserCodes()) {
+            text.append(System.lineSeparator());
             // だれが担当しているか判定
-            String name = "あなた";
-            if (!(task.getRepUser().getCode() == loginUser.getCode())) {
-                name = task.getRepUser().getName();
+            if (repUserCode == TaskSummary.NO_REP_USER) {
+                text.append("担当者なし");
+            } else if (repUserCode == loginUser.getCode()) {
+                text.append("あなた");
+            } else {
+                User repUser = userDataAccess.findByCode(repUserCode);
+                text.append(repUser == null ? "ユーザーコード" + repUserCode : repUser.getName());
             }
+            text.append("：");
+            appendCounts(text, status -> summary.getCount(repUserCode, status));
+        }
+        System.out.println(text);
+    }
+
+    /**
+     * 「未着手 n件, 着手中 n件, 完了 n件（合計 n件）」の形式で件数を追加します。
+     * @param countOf ステータスから件数を求める関数
+     */
+    private static void appendCounts(StringBuilder text, IntUnaryOperator countOf) {
+        int total = 0;
+        for (int status = 0; status < TaskSummary.STATUSES; status++) {
+            int count = countOf.applyAsInt(status);
+            total += count;
+            if (status > 0) {
+                text.append(", ");
+            }
+            text.append(statusName(status)).append(' ').append(count).append("件");
+        }
+        text.append("（合計 ").append(total).append("件）");
+    }
+
+    /**
+     * ステータス名を取得します。1・2以外は未着手として扱います。
+     * タスク一覧と件数の表示は、どちらもこの名前を使います。
+     * @param status タスクのステータス
+     * @return ステータス名
+     */
+    static String statusName(int status) {
+        return STATUS_NAMES[TaskSummary.statusOf(status)];
+    }
 
-            System.out.println(task.getCode() + ". タスク名：" + task.getName() +
-                    ", 担当者名：" + name + "が担当しています, ステータス：" + status);
-        });
+    private static ReentrantLock[] newTaskLocks() {
+        ReentrantLock[] locks = new ReentrantLock[TASK_LOCKS];
+        for (int i = 0; i < TASK_LOCKS; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
+
+    /**
+     * タスクコードのロックを取得します。
+     */
+    private ReentrantLock taskLock(int code) {
+        return taskLocks[code & (TASK_LOCKS - 1)];
+    }
+
+    /**
+     * 出力先の文字コードに合わせたタスク一覧の出力を取得します。
+     */
+    private TaskListRenderer renderer(PrintStream out) {
+        TaskListRenderer current = renderer;
+        if (current == null || !current.charset().equals(out.charset())) {
+            current = new TaskListRenderer(out.charset());
+            renderer = current;
+        }
+        return current;
     }
 
     /**
@@ -78,6 +302,15 @@ public class TaskLogic {
      */
     public void save(int code, String name, int repUserCode,
                     User loginUser) throws AppException {
+        Metrics.Sample sample = SAVE.start();
+        try {
+            doSave(code, name, repUserCode, loginUser);
+        } finally {
+            SAVE.stop(sample);
+        }
+    }
+
+    private void doSave(int code, String name, int repUserCode, User loginUser) throws AppException {
 
         User user = userDataAccess.findByCode(repUserCode);
 
@@ -97,8 +330,55 @@ public class TaskLogic {
         System.out.println(task.getName() + "の登録が完了しました。");
     }
 
+    /**
+     * 複数の新しいタスクをまとめて保存します。
+     * 先に全ての担当ユーザーコードを確認し、1件でも担当ユーザーが未指定または存在しない場合は何も保存しません。
+     * タスクとログは、それぞれファイルを1回開くだけで全件書き込みます。
+     *
+     * @see com.taskapp.dataaccess.UserDataAccess#findByCode(int)
+     * @see com.taskapp.dataaccess.TaskDataAccess#saveAll(List)
+     * @see com.taskapp.dataaccess.LogDataAccess#saveAll(List)
+     * @param tasks 保存するタスク（担当ユーザーはコードのみ使用します）
+     * @param loginUser ログインユーザー
+     * @throws AppException 担当ユーザーが未指定、またはユーザーコードが存在しない場合に、該当するタスクを示してスローされます
+     */
+    public void saveAll(List<Task> tasks, User loginUser) throws AppException {
+        Metrics.Sample sample = SAVE_ALL.start();
+        try {
+            doSaveAll(tasks, loginUser);
+        } finally {
+            SAVE_ALL.stop(sample);
+        }
+    }
+
+    private void doSaveAll(List<Task> tasks, User loginUser) throws AppException {
+        List<Task> newTasks = new ArrayList<>(tasks.size());
+        List<Log> logs = new ArrayList<>(tasks.size());
+        LocalDate today = LocalDate.now();
+
+        for (Task task : tasks) {
+            User user = task.getRepUser() == null ? null : userDataAccess.findByCode(task.getRepUser().getCode());
+
+            // ユーザーが存在したか確認
+            if (user == null) {
+                throw new AppException("タスクコード" + task.getCode() + "（" + task.getName()
+                        + "）: 存在するユーザーコードを入力してください");
+            }
+
+            newTasks.add(new Task(task.getCode(), task.getName(), 0, user));
+            logs.add(new Log(task.getCode(), loginUser.getCode(), 0, today));
+        }
+
+        // 新規タスクと登録したログをまとめて保存
+        taskDataAccess.saveAll(newTasks);
+        logDataAccess.saveAll(logs);
+
+        System.out.println(newTasks.size() + "件のタスクの登録が完了しました。");
+    }
+
     /**
      * タスクのステータスを変更します。
+     * 同じタスクのステータス変更・削除とは重ならないように行います。
      *
      * @see com.taskapp.dataaccess.TaskDataAccess#findByCode(int)
      * @see com.taskapp.dataaccess.TaskDataAccess#update(com.taskapp.model.Task)
@@ -110,6 +390,18 @@ public class TaskLogic {
      */
     public void changeStatus(int code, int status,
                             User loginUser) throws AppException {
+        Metrics.Sample sample = CHANGE_STATUS.start();
+        ReentrantLock lock = taskLock(code);
+        lock.lock();
+        try {
+            doChangeStatus(code, status, loginUser);
+        } finally {
+            lock.unlock();
+            CHANGE_STATUS.stop(sample);
+        }
+    }
+
+    private void doChangeStatus(int code, int status, User loginUser) throws AppException {
 
         // 入力されたコードに一致するタスクを取得
         Task task = taskDataAccess.findByCode(code);
@@ -136,6 +428,7 @@ public class TaskLogic {
 
     /**
      * タスクを削除します。
+     * 同じタスクのステータス変更・削除とは重ならないように行います。
      *
      * @see com.taskapp.dataaccess.TaskDataAccess#findByCode(int)
      * @see com.taskapp.dataaccess.TaskDataAccess#delete(int)
@@ -144,6 +437,18 @@ public class TaskLogic {
      * @throws AppException タスクコードが存在しない、またはタスクのステータスが完了でない場合にスローされます
      */
     public void delete(int code) throws AppException {
+        Metrics.Sample sample = DELETE.start();
+        ReentrantLock lock = taskLock(code);
+        lock.lock();
+        try {
+            doDelete(code);
+        } finally {
+            lock.unlock();
+            DELETE.stop(sample);
+        }
+    }
+
+    private void doDelete(int code) throws AppException {
         // 入力されたコードのタスクが存在するか判定
         Task task = taskDataAccess.findByCode(code);
 
@@ -2,10 +2,14 @@ package com.taskapp.logic;
 
 import com.taskapp.dataaccess.UserDataAccess;
 import com.taskapp.exception.AppException;
+import com.taskapp.metrics.Metrics;
+import com.taskapp.metrics.OperationMetrics;
 import com.taskapp.model.User;
 
 
 public class UserLogic {
+    private static final OperationMetrics LOGIN = Metrics.operation("UserLogic.login");
+
     private final UserDataAccess userDataAccess;
 
     public UserLogic() {
@@ -30,6 +34,15 @@ public class UserLogic {
      * @throws AppException メールアドレスとパスワードが一致するユーザーが存在しない場合にスローされます
      */
     public User login(String email, String password) throws AppException {
+        Metrics.Sample sample = LOGIN.start();
+        try {
+            return doLogin(email, password);
+        } finally {
+            LOGIN.stop(sample);
+        }
+    }
+
+    private User doLogin(String email, String password) throws AppException {
         User user = userDataAccess.findByEmailAndPassword(email, password);
         
         if (user == null) {
@@ -0,0 +1,220 @@
+package com.taskapp.metrics;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * 操作ごとの計測値を管理します。
+ *
+ * <p>計測はシステムプロパティ「taskapp.metrics」がtrueの場合だけ行います。
+ * 判定は起動時に決まる定数で行うため、無効な場合の計測処理はJITコンパイラによって取り除かれます。
+ * 有効な場合は、各操作をJMXのMBeanとして登録します。
+ * さらにシステムプロパティ「taskapp.metrics.dumpInterval」に秒数を指定すると、
+ * その間隔で全操作の集計を標準エラー出力に書き出します。</p>
+ */
+public final class Metrics {
+    /**
+     * 計測が有効か。起動時のシステムプロパティ「taskapp.metrics」で決まります。
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("taskapp.metrics");
+
+    private static final ConcurrentMap<String, OperationMetrics> OPERATIONS = new ConcurrentHashMap<>();
+
+    /**
+     * スレッドごとの累計の読み込み・書き込みバイト数
+     */
+    private static final ThreadLocal<long[]> IO = ThreadLocal.withInitial(() -> new long[2]);
+
+    static {
+        long interval = Long.getLong("taskapp.metrics.dumpInterval", 0);
+        if (ENABLED && interval > 0) {
+            startReporter(interval, TimeUnit.SECONDS, System.err);
+        }
+    }
+
+    private Metrics() {
+    }
+
+    /**
+     * 操作の計測値を取得します。初めて使う名前の場合は作成し、計測が有効ならMBeanとして登録します。
+     * @param name 操作の名前（「クラス名.メソッド名」）
+     * @return 操作の計測値
+     */
+    public static OperationMetrics operation(String name) {
+        return OPERATIONS.computeIfAbsent(name, key -> {
+            OperationMetrics operation = new OperationMetrics(key);
+            if (ENABLED) {
+                register(operation);
+            }
+            return operation;
+        });
+    }
+
+    /**
+     * 登録済みの全操作の計測値を名前順に取得します。
+     * @return 操作の計測値のリスト
+     */
+    public static List<OperationMetrics> operations() {
+        List<OperationMetrics> operations = new ArrayList<>(OPERATIONS.values());
+        operations.sort(Comparator.comparing(OperationMetrics::getName));
+        return operations;
+    }
+
+    /**
+     * 呼び出したスレッドが読み込んだバイト数を加算します。計測中の操作の読み込み量になります。
+     * @param bytes バイト数
+     */
+    public static void addBytesRead(long bytes) {
+        if (ENABLED) {
+            IO.get()[0] += bytes;
+        }
+    }
+
+    /**
+     * 呼び出したスレッドが書き込んだバイト数を加算します。計測中の操作の書き込み量になります。
+     * @param bytes バイト数
+     */
+    public static void addBytesWritten(long bytes) {
+        if (ENABLED) {
+            IO.get()[1] += bytes;
+        }
+    }
+
+    /**
+     * 読み込んだバイト数を数えるストリームで包みます。計測が無効な場合はそのまま返します。
+     * @param in 包むストリーム
+     * @return 読み込んだバイト数を数えるストリーム
+     */
+    public static InputStream countRead(InputStream in) {
+        if (!ENABLED) {
+            return in;
+        }
+        return new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    addBytesRead(1);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int n = super.read(b, off, len);
+                if (n > 0) {
+                    addBytesRead(n);
+                }
+                return n;
+            }
+        };
+    }
+
+    /**
+     * 書き込んだバイト数を数えるストリームで包みます。計測が無効な場合はそのまま返します。
+     * @param out 包むストリーム
+     * @return 書き込んだバイト数を数えるストリーム
+     */
+    public static OutputStream countWritten(OutputStream out) {
+        if (!ENABLED) {
+            return out;
+        }
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+                addBytesWritten(1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+                addBytesWritten(len);
+            }
+        };
+    }
+
+    /**
+     * 全操作の集計を表形式の文字列にします。呼び出されていない操作は省きます。
+     * @return 集計の文字列
+     */
+    public static String dump() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("%-34s %10s %10s %10s %10s %10s %10s %12s %12s%n",
+                "operation", "count", "mean(us)", "p50(us)", "p90(us)", "p99(us)", "max(us)", "read(B)",
+                "written(B)"));
+        for (OperationMetrics operation : operations()) {
+            if (operation.getCount() == 0) continue;
+            text.append(String.format("%-34s %10d %10.1f %10.1f %10.1f %10.1f %10.1f %12d %12d%n",
+                    operation.getName(), operation.getCount(), operation.getMeanNanos() / 1_000.0,
+                    operation.getP50Nanos() / 1_000.0, operation.getP90Nanos() / 1_000.0,
+                    operation.getP99Nanos() / 1_000.0, operation.getMaxNanos() / 1_000.0,
+                    operation.getBytesRead(), operation.getBytesWritten()));
+        }
+        return text.toString();
+    }
+
+    /**
+     * 一定間隔で全操作の集計を書き出すデーモンスレッドを開始します。
+     * @param period 間隔
+     * @param unit 間隔の単位
+     * @param out 書き出し先
+     * @return 開始したスレッドの実行サービス（停止に使います）
+     */
+    public static ScheduledExecutorService startReporter(long period, TimeUnit unit, PrintStream out) {
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(() -> out.print(dump()), period, period, unit);
+        return reporter;
+    }
+
+    static long[] ioCounters() {
+        return IO.get();
+    }
+
+    private static void register(OperationMetrics operation) {
+        try {
+            ObjectName objectName = new ObjectName("com.taskapp:type=Operation,name=" + operation.getName());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(operation, objectName);
+        } catch (JMException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * 計測中の1回の呼び出しの開始時点の状態です。
+     */
+    public static final class Sample {
+        final long startNanos;
+
+        final long startRead;
+
+        final long startWritten;
+
+        Sample() {
+            long[] io = IO.get();
+            startRead = io[0];
+            startWritten = io[1];
+            startNanos = System.nanoTime();
+        }
+    }
+}
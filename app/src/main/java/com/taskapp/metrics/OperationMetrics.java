@@ -0,0 +1,189 @@
+package com.taskapp.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 1つの操作（publicメソッド）の呼び出し回数・所要時間・入出力バイト数を集計します。
+ * 所要時間は2のべき乗ごとの区間で数えるヒストグラムで保持するため、記録は数回の加算だけで済みます。
+ *
+ * <pre>
+ * Metrics.Sample sample = OPERATION.start();
+ * try {
+ *     // 計測する処理
+ * } finally {
+ *     OPERATION.stop(sample);
+ * }
+ * </pre>
+ * 計測が無効な場合、startはnullを返し、stopは何もしません。
+ */
+public final class OperationMetrics implements OperationMetricsMXBean {
+    private static final int BUCKETS = 64;
+
+    private final String name;
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    private final LongAdder bytesRead = new LongAdder();
+
+    private final LongAdder bytesWritten = new LongAdder();
+
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    OperationMetrics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 計測を開始します。
+     * @return 計測中の状態、計測が無効な場合はnull
+     */
+    public Metrics.Sample start() {
+        if (!Metrics.ENABLED) {
+            return null;
+        }
+        return new Metrics.Sample();
+    }
+
+    /**
+     * 計測を終了し、開始からの所要時間と、同じスレッドで行った入出力のバイト数を記録します。
+     * @param sample {@link #start()}の戻り値
+     */
+    public void stop(Metrics.Sample sample) {
+        if (sample == null) {
+            return;
+        }
+        long[] io = Metrics.ioCounters();
+        record(System.nanoTime() - sample.startNanos, io[0] - sample.startRead, io[1] - sample.startWritten);
+    }
+
+    /**
+     * 1回分の呼び出しを記録します。
+     * @param nanos 所要時間
+     * @param read 読み込んだバイト数
+     * @param written 書き込んだバイト数
+     */
+    void record(long nanos, long read, long written) {
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        histogram.incrementAndGet(bucketOf(nanos));
+        if (read > 0) {
+            bytesRead.add(read);
+        }
+        if (written > 0) {
+            bytesWritten.add(written);
+        }
+    }
+
+    /**
+     * 集計を0に戻します。
+     */
+    public void reset() {
+        count.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+        bytesRead.reset();
+        bytesWritten.reset();
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram.set(i, 0);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    @Override
+    public double getMeanNanos() {
+        long count = getCount();
+        return count == 0 ? 0.0 : (double) getTotalNanos() / count;
+    }
+
+    @Override
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    @Override
+    public long getP50Nanos() {
+        return percentile(0.50);
+    }
+
+    @Override
+    public long getP90Nanos() {
+        return percentile(0.90);
+    }
+
+    @Override
+    public long getP99Nanos() {
+        return percentile(0.99);
+    }
+
+    @Override
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    @Override
+    public long[] getHistogram() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = histogram.get(i);
+        }
+        return counts;
+    }
+
+    /**
+     * 指定した割合の呼び出しが収まる所要時間を、ヒストグラムの区間の上限で近似します。
+     * @param ratio 0.0から1.0の割合
+     * @return 所要時間（ナノ秒）、記録が無い場合は0
+     */
+    long percentile(double ratio) {
+        long[] counts = getHistogram();
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(total * ratio);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return i == 0 ? 0 : Math.min(1L << i, getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+
+    /**
+     * 所要時間が属する区間を求めます。区間iは[2^(i-1), 2^i)ナノ秒です。
+     */
+    static int bucketOf(long nanos) {
+        return nanos <= 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos));
+    }
+}
@@ -0,0 +1,35 @@
+package com.taskapp.metrics;
+
+/**
+ * 1つの操作の計測値をJMXで公開するためのインターフェースです。
+ * ObjectNameは「com.taskapp:type=Operation,name=クラス名.メソッド名」です。
+ */
+public interface OperationMetricsMXBean {
+    String getName();
+
+    long getCount();
+
+    long getTotalNanos();
+
+    double getMeanNanos();
+
+    long getMaxNanos();
+
+    /**
+     * 50%の呼び出しが収まる所要時間の上限（2のべき乗単位の近似値）
+     */
+    long getP50Nanos();
+
+    long getP90Nanos();
+
+    long getP99Nanos();
+
+    long getBytesRead();
+
+    long getBytesWritten();
+
+    /**
+     * 所要時間のヒストグラム。添え字iは[2^(i-1), 2^i)ナノ秒の呼び出し回数です。
+     */
+    long[] getHistogram();
+}
@@ -0,0 +1,203 @@
+package com.taskapp.model;
+
+import java.util.Arrays;
+
+/**
+ * ステータスの変更履歴から求めた、タスクの待ち時間と作業時間です。
+ * 待ち時間は未着手（登録）から着手中まで、作業時間は着手中から完了までの日数です。
+ * ログは日付単位のため、同じ日の変更は0日になります。
+ *
+ * <p>ユーザー別の集計では、待ち時間は着手中に変更したユーザー、作業時間は完了に変更したユーザーの値とします。
+ * インスタンスは不変です。</p>
+ */
+public final class CycleTimeReport {
+    /**
+     * 変更履歴が揃っていないため、日数を求められないことを表す値
+     */
+    public static final int NOT_MEASURED = -1;
+
+    private final int[] taskCodes;
+
+    private final int[] waitDays;
+
+    private final int[] workDays;
+
+    private final Stats waitStats;
+
+    private final Stats workStats;
+
+    private final int[] userCodes;
+
+    private final Stats[] userWaitStats;
+
+    private final Stats[] userWorkStats;
+
+    /**
+     * @param taskCodes 変更履歴のあるタスクのコード（昇順）
+     * @param waitDays taskCodesと同じ順の待ち時間。求められない場合は{@link #NOT_MEASURED}
+     * @param workDays taskCodesと同じ順の作業時間。求められない場合は{@link #NOT_MEASURED}
+     * @param waitStats 全体の待ち時間の統計
+     * @param workStats 全体の作業時間の統計
+     * @param userCodes 変更したユーザーのコード（昇順）
+     * @param userWaitStats userCodesと同じ順の、ユーザーごとの待ち時間の統計
+     * @param userWorkStats userCodesと同じ順の、ユーザーごとの作業時間の統計
+     */
+    public CycleTimeReport(int[] taskCodes, int[] waitDays, int[] workDays, Stats waitStats, Stats workStats,
+            int[] userCodes, Stats[] userWaitStats, Stats[] userWorkStats) {
+        this.taskCodes = taskCodes;
+        this.waitDays = waitDays;
+        this.workDays = workDays;
+        this.waitStats = waitStats;
+        this.workStats = workStats;
+        this.userCodes = userCodes;
+        this.userWaitStats = userWaitStats;
+        this.userWorkStats = userWorkStats;
+    }
+
+    /**
+     * 変更履歴のあるタスクのコードを昇順で取得します。
+     * @return タスクコード
+     */
+    public int[] getTaskCodes() {
+        return taskCodes.clone();
+    }
+
+    /**
+     * タスクの待ち時間を取得します。
+     * @param taskCode タスクコード
+     * @return 日数、求められない場合は{@link #NOT_MEASURED}
+     */
+    public int getWaitDays(int taskCode) {
+        int i = Arrays.binarySearch(taskCodes, taskCode);
+        return i < 0 ? NOT_MEASURED : waitDays[i];
+    }
+
+    /**
+     * タスクの作業時間を取得します。
+     * @param taskCode タスクコード
+     * @return 日数、求められない場合は{@link #NOT_MEASURED}
+     */
+    public int getWorkDays(int taskCode) {
+        int i = Arrays.binarySearch(taskCodes, taskCode);
+        return i < 0 ? NOT_MEASURED : workDays[i];
+    }
+
+    /**
+     * 全てのタスクの待ち時間の統計を取得します。
+     * @return 統計
+     */
+    public Stats getWaitStats() {
+        return waitStats;
+    }
+
+    /**
+     * 全てのタスクの作業時間の統計を取得します。
+     * @return 統計
+     */
+    public Stats getWorkStats() {
+        return workStats;
+    }
+
+    /**
+     * 着手中・完了への変更を1件以上行ったユーザーのコードを昇順で取得します。
+     * @return ユーザーコード
+     */
+    public int[] getUserCodes() {
+        return userCodes.clone();
+    }
+
+    /**
+     * ユーザーが着手中に変更したタスクの待ち時間の統計を取得します。
+     * @param userCode ユーザーコード
+     * @return 統計。該当するタスクが無い場合は件数0の統計
+     */
+    public Stats getWaitStats(int userCode) {
+        int i = Arrays.binarySearch(userCodes, userCode);
+        return i < 0 ? Stats.EMPTY : userWaitStats[i];
+    }
+
+    /**
+     * ユーザーが完了に変更したタスクの作業時間の統計を取得します。
+     * @param userCode ユーザーコード
+     * @return 統計。該当するタスクが無い場合は件数0の統計
+     */
+    public Stats getWorkStats(int userCode) {
+        int i = Arrays.binarySearch(userCodes, userCode);
+        return i < 0 ? Stats.EMPTY : userWorkStats[i];
+    }
+
+    /**
+     * 日数の件数・平均・パーセンタイルです。パーセンタイルは最近接順位法で求めます。
+     */
+    public static final class Stats {
+        /**
+         * 件数0の統計
+         */
+        public static final Stats EMPTY = new Stats(new int[0]);
+
+        /**
+         * 昇順に並べた日数
+         */
+        private final int[] sortedDays;
+
+        private final double mean;
+
+        private Stats(int[] sortedDays) {
+            this.sortedDays = sortedDays;
+            long sum = 0;
+            for (int days : sortedDays) {
+                sum += days;
+            }
+            this.mean = sortedDays.length == 0 ? 0 : (double) sum / sortedDays.length;
+        }
+
+        /**
+         * 昇順に並べた日数から統計を作成します。配列はそのまま保持するため、呼び出し側で変更しないでください。
+         * @param sortedDays 昇順に並べた日数
+         * @return 統計
+         */
+        public static Stats ofSorted(int[] sortedDays) {
+            return sortedDays.length == 0 ? EMPTY : new Stats(sortedDays);
+        }
+
+        /**
+         * 件数を取得します。
+         * @return 件数
+         */
+        public int getCount() {
+            return sortedDays.length;
+        }
+
+        /**
+         * 平均の日数を取得します。
+         * @return 平均、件数0の場合は0
+         */
+        public double getMean() {
+            return mean;
+        }
+
+        /**
+         * パーセンタイルの日数を取得します。値が小さい方からpercent%以上を占める最小の日数です。
+         * @param percent 0より大きく100以下の百分率
+         * @return 日数、件数0の場合は{@link CycleTimeReport#NOT_MEASURED}
+         */
+        public int getPercentile(double percent) {
+            if (!(percent > 0 && percent <= 100)) {
+                throw new IllegalArgumentException("percent: " + percent);
+            }
+            if (sortedDays.length == 0) {
+                return NOT_MEASURED;
+            }
+            int rank = (int) Math.ceil(percent / 100 * sortedDays.length);
+            return sortedDays[Math.max(rank, 1) - 1];
+        }
+
+        /**
+         * 最大の日数を取得します。
+         * @return 日数、件数0の場合は{@link CycleTimeReport#NOT_MEASURED}
+         */
+        public int getMax() {
+            return sortedDays.length == 0 ? NOT_MEASURED : sortedDays[sortedDays.length - 1];
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.taskapp.model;
+
+import java.util.Arrays;
+
+/**
+ * ステータス別・担当ユーザー別のタスク件数です。
+ * ステータスは0（未着手）・1（着手中）・2（完了）で、それ以外のステータスは一覧表示と同じく未着手として数えます。
+ * インスタンスは不変です。
+ */
+public final class TaskSummary {
+    /**
+     * 集計するステータスの数
+     */
+    public static final int STATUSES = 3;
+
+    /**
+     * 担当ユーザーがいないタスクの担当ユーザーコード
+     */
+    public static final int NO_REP_USER = Integer.MIN_VALUE;
+
+    private final int[] statusCounts;
+
+    private final int[] repUserCodes;
+
+    private final int[][] repUserCounts;
+
+    /**
+     * @param statusCounts ステータスごとの件数
+     * @param repUserCodes 担当ユーザーコード（昇順）
+     * @param repUserCounts repUserCodesと同じ順の、担当ユーザーごとのステータスごとの件数
+     */
+    public TaskSummary(int[] statusCounts, int[] repUserCodes, int[][] repUserCounts) {
+        this.statusCounts = statusCounts;
+        this.repUserCodes = repUserCodes;
+        this.repUserCounts = repUserCounts;
+    }
+
+    /**
+     * 集計に使うステータスを取得します。1・2以外は未着手（0）とします。
+     * @param status タスクのステータス
+     * @return 集計に使うステータス
+     */
+    public static int statusOf(int status) {
+        return status == 1 || status == 2 ? status : 0;
+    }
+
+    /**
+     * ステータスのタスク件数を取得します。
+     * @param status ステータス
+     * @return 件数
+     */
+    public int getCount(int status) {
+        return status < 0 || status >= STATUSES ? 0 : statusCounts[status];
+    }
+
+    /**
+     * 担当ユーザーのステータスのタスク件数を取得します。
+     * @param repUserCode 担当ユーザーコード
+     * @param status ステータス
+     * @return 件数
+     */
+    public int getCount(int repUserCode, int status) {
+        int i = Arrays.binarySearch(repUserCodes, repUserCode);
+        return i < 0 || status < 0 || status >= STATUSES ? 0 : repUserCounts[i][status];
+    }
+
+    /**
+     * 全てのタスク件数を取得します。
+     * @return 件数
+     */
+    public int getTotal() {
+        return Arrays.stream(statusCounts).sum();
+    }
+
+    /**
+     * タスクを1件以上担当しているユーザーのコードを昇順で取得します。
+     * 担当ユーザーがいないタスクがある場合は、先頭に{@link #NO_REP_USER}を含みます。
+     * @return 担当ユーザーコード
+     */
+    public int[] getRepUserCodes() {
+        return repUserCodes.clone();
+    }
+}
@@ -0,0 +1,18 @@
+package com.taskapp.server;
+
+/**
+ * 接続が切れたため、セッションを終了することを表す例外です。
+ * TaskUIの入力待ちのループは入力の失敗を捕捉して繰り返すため、
+ * それらに捕捉されない非検査例外としてセッションの処理を抜けます。
+ */
+class SessionClosedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    SessionClosedException() {
+        super("セッションの接続が切れました");
+    }
+
+    SessionClosedException(Throwable cause) {
+        super("セッションの接続が切れました", cause);
+    }
+}
@@ -0,0 +1,243 @@
+package com.taskapp.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * System.outへの出力を、呼び出したスレッドのセッションに振り分けるPrintStreamです。
+ * TaskUIやロジック層はSystem.outに直接出力するため、System.outをこのクラスに差し替え、
+ * セッションを処理するスレッドごとに出力先を切り替えます。
+ * セッションに割り当てていないスレッドの出力は、差し替え前のSystem.outにそのまま渡します。
+ *
+ * <p>セッションごとに専用のPrintStreamを作り、全ての出力メソッドをそのPrintStreamに委譲します。
+ * このクラス自身のロックは使わないため、多数のセッションが同時に出力しても1つのモニターで待ち合わせることはありません。</p>
+ *
+ * <p>出力はいったんメモリ上のバッファにため、入力待ちの直前に{@link SessionReader}が接続へ書き込みます。
+ * PrintStreamのロックを保持したまま接続への書き込みで待つことがないため、
+ * 相手の受信が遅くても他のセッションの出力を止めません。</p>
+ */
+final class SessionOutput extends PrintStream {
+    private static final ThreadLocal<PrintStream> SESSION = new ThreadLocal<>();
+
+    private final PrintStream original;
+
+    private SessionOutput(PrintStream original) {
+        super(OutputStream.nullOutputStream(), false, original.charset());
+        this.original = original;
+    }
+
+    /**
+     * System.outをこのクラスに差し替えます。既に差し替えている場合は何もしません。
+     */
+    static synchronized void install() {
+        if (!(System.out instanceof SessionOutput)) {
+            System.setOut(new SessionOutput(System.out));
+        }
+    }
+
+    /**
+     * 呼び出したスレッドのSystem.outへの出力先を、指定したバッファに書き込むPrintStreamに切り替えます。
+     * @param buffer セッションの出力をためるバッファ
+     */
+    static void bind(ByteArrayOutputStream buffer) {
+        SESSION.set(new PrintStream(buffer, false, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 呼び出したスレッドのSystem.outへの出力先を元に戻します。
+     */
+    static void unbind() {
+        SESSION.remove();
+    }
+
+    /**
+     * 呼び出したスレッドの出力先を取得します。
+     */
+    private PrintStream target() {
+        PrintStream session = SESSION.get();
+        return session != null ? session : original;
+    }
+
+    @Override
+    public Charset charset() {
+        return target().charset();
+    }
+
+    @Override
+    public void flush() {
+        target().flush();
+    }
+
+    /**
+     * 接続やSystem.outを閉じるのはサーバーの役割のため、何もしません。
+     */
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public boolean checkError() {
+        return target().checkError();
+    }
+
+    @Override
+    public void write(int b) {
+        target().write(b);
+    }
+
+    @Override
+    public void write(byte[] buf, int off, int len) {
+        target().write(buf, off, len);
+    }
+
+    @Override
+    public void write(byte[] buf) {
+        target().write(buf, 0, buf.length);
+    }
+
+    @Override
+    public void writeBytes(byte[] buf) {
+        target().write(buf, 0, buf.length);
+    }
+
+    @Override
+    public void print(boolean b) {
+        target().print(b);
+    }
+
+    @Override
+    public void print(char c) {
+        target().print(c);
+    }
+
+    @Override
+    public void print(int i) {
+        target().print(i);
+    }
+
+    @Override
+    public void print(long l) {
+        target().print(l);
+    }
+
+    @Override
+    public void print(float f) {
+        target().print(f);
+    }
+
+    @Override
+    public void print(double d) {
+        target().print(d);
+    }
+
+    @Override
+    public void print(char[] s) {
+        target().print(s);
+    }
+
+    @Override
+    public void print(String s) {
+        target().print(s);
+    }
+
+    @Override
+    public void print(Object obj) {
+        target().print(obj);
+    }
+
+    @Override
+    public void println() {
+        target().println();
+    }
+
+    @Override
+    public void println(boolean x) {
+        target().println(x);
+    }
+
+    @Override
+    public void println(char x) {
+        target().println(x);
+    }
+
+    @Override
+    public void println(int x) {
+        target().println(x);
+    }
+
+    @Override
+    public void println(long x) {
+        target().println(x);
+    }
+
+    @Override
+    public void println(float x) {
+        target().println(x);
+    }
+
+    @Override
+    public void println(double x) {
+        target().println(x);
+    }
+
+    @Override
+    public void println(char[] x) {
+        target().println(x);
+    }
+
+    @Override
+    public void println(String x) {
+        target().println(x);
+    }
+
+    @Override
+    public void println(Object x) {
+        target().println(x);
+    }
+
+    @Override
+    public PrintStream printf(String format, Object... args) {
+        target().printf(format, args);
+        return this;
+    }
+
+    @Override
+    public PrintStream printf(Locale l, String format, Object... args) {
+        target().printf(l, format, args);
+        return this;
+    }
+
+    @Override
+    public PrintStream format(String format, Object... args) {
+        target().format(format, args);
+        return this;
+    }
+
+    @Override
+    public PrintStream format(Locale l, String format, Object... args) {
+        target().format(l, format, args);
+        return this;
+    }
+
+    @Override
+    public PrintStream append(CharSequence csq) {
+        target().append(csq);
+        return this;
+    }
+
+    @Override
+    public PrintStream append(CharSequence csq, int start, int end) {
+        target().append(csq, start, end);
+        return this;
+    }
+
+    @Override
+    public PrintStream append(char c) {
+        target().append(c);
+        return this;
+    }
+}
@@ -0,0 +1,77 @@
+package com.taskapp.server;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 1つの接続から入力を読み込むTaskUI用のリーダーです。
+ * 入力を待つ前に、それまでにたまったセッションの出力（入力を促す表示など）を接続に書き込みます。
+ * 接続が切れた場合はnullを返す代わりに{@link SessionClosedException}を投げ、セッションを終了させます。
+ *
+ * <p>BufferedReaderを継承したクラスの読み込みはモニターのロックを保持したまま入力を待つため、
+ * 仮想スレッドがOSのスレッドを占有してしまいます。
+ * そのため読み込みは継承元ではなく、内部に持つBufferedReaderに任せます。</p>
+ */
+final class SessionReader extends BufferedReader {
+    private final BufferedReader in;
+
+    private final ByteArrayOutputStream buffer;
+
+    private final OutputStream out;
+
+    /**
+     * @param in 接続からの入力（UTF-8）
+     * @param buffer セッションの出力をためているバッファ
+     * @param out 接続への出力
+     */
+    SessionReader(InputStream in, ByteArrayOutputStream buffer, OutputStream out) {
+        super(Reader.nullReader());
+        this.in = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.buffer = buffer;
+        this.out = out;
+    }
+
+    /**
+     * たまった出力を接続に書き込んでから、1行読み込みます。
+     * @return 読み込んだ行（改行を除く）
+     * @throws SessionClosedException 接続が切れた場合
+     */
+    @Override
+    public String readLine() {
+        try {
+            flushOutput();
+            String line = in.readLine();
+            if (line == null) {
+                throw new SessionClosedException();
+            }
+            return line;
+        } catch (IOException e) {
+            throw new SessionClosedException(e);
+        }
+    }
+
+    /**
+     * たまった出力を接続に書き込みます。
+     * @throws IOException 書き込みに失敗した場合
+     */
+    void flushOutput() throws IOException {
+        if (buffer.size() > 0) {
+            // writeToはバッファのロックを保持したまま書き込むため、取り出してから書き込む
+            byte[] bytes = buffer.toByteArray();
+            buffer.reset();
+            out.write(bytes);
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
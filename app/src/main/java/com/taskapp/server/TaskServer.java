@@ -0,0 +1,149 @@
+package com.taskapp.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.taskapp.logic.TaskLogic;
+import com.taskapp.logic.UserLogic;
+import com.taskapp.ui.TaskUI;
+
+/**
+ * TCPで接続したユーザーごとにTaskUIのメニューを実行するサーバーです。
+ * 接続ごとに仮想スレッドを1つ割り当てるため、多数の同時接続でもOSのスレッドを接続数だけ使いません。
+ * 全てのセッションで1つのUserLogic・TaskLogicを共有します。
+ * 入出力はUTF-8の行単位で、ログアウトするか接続が切れるとセッションを終了します。
+ */
+public class TaskServer implements Closeable {
+    public static final int DEFAULT_PORT = 5000;
+
+    /**
+     * 停止時にセッションの終了を待つ最大の秒数
+     */
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+
+    private final ServerSocket serverSocket;
+
+    private final UserLogic userLogic;
+
+    private final TaskLogic taskLogic;
+
+    private final ExecutorService sessions = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * 処理中のセッションの接続。停止時にまとめて閉じます。
+     */
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 指定したポートで接続の受け付けを準備します。
+     *
+     * @param port 待ち受けるポート（0の場合は空いているポート）
+     * @param userLogic 全セッションで共有するユーザーのロジック
+     * @param taskLogic 全セッションで共有するタスクのロジック
+     * @throws IOException ポートを開けなかった場合
+     */
+    public TaskServer(int port, UserLogic userLogic, TaskLogic taskLogic) throws IOException {
+        this.serverSocket = new ServerSocket(port);
+        this.userLogic = userLogic;
+        this.taskLogic = taskLogic;
+        SessionOutput.install();
+    }
+
+    /**
+     * 待ち受けているポートを取得します。
+     * @return ポート番号
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * 処理中のセッション数を取得します。
+     * @return セッション数
+     */
+    public int getActiveSessions() {
+        return connections.size();
+    }
+
+    /**
+     * {@link #close()}が呼ばれるまで接続を受け付け、接続ごとに仮想スレッドでセッションを開始します。
+     */
+    public void serve() {
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (SocketException e) {
+                // closeによる停止
+                break;
+            } catch (IOException e) {
+                e.printStackTrace();
+                continue;
+            }
+            connections.add(socket);
+            sessions.submit(() -> runSession(socket));
+        }
+    }
+
+    /**
+     * 接続の受け付けを止め、処理中のセッションの接続を全て閉じます。
+     * セッションの終了は{@value #CLOSE_TIMEOUT_SECONDS}秒まで待ち、それでも終わらないセッションには割り込みます。
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Socket socket : connections) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        sessions.shutdown();
+        try {
+            if (!sessions.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                sessions.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            sessions.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 1つの接続でTaskUIのメニューを実行します。
+     * このスレッドのSystem.outへの出力は、接続ごとのバッファを経由して接続に書き込まれます。
+     */
+    private void runSession(Socket socket) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (socket) {
+            SessionReader reader = new SessionReader(socket.getInputStream(), buffer, socket.getOutputStream());
+            SessionOutput.bind(buffer);
+            try {
+                new TaskUI(reader, userLogic, taskLogic).displayMenu();
+                // ログアウトの表示を送る
+                reader.flushOutput();
+            } catch (SessionClosedException e) {
+                // 接続が切れたためセッションを終了する
+            } catch (RuntimeException e) {
+                // 他のセッションは続けられるよう、このセッションだけを終了する
+                e.printStackTrace();
+            } finally {
+                SessionOutput.unbind();
+            }
+        } catch (IOException e) {
+            // 相手が先に接続を閉じた場合など
+        } finally {
+            connections.remove(socket);
+        }
+    }
+}
@@ -10,6 +10,13 @@ import com.taskapp.logic.UserLogic;
 import com.taskapp.model.User;
 
 public class TaskUI {
+    /**
+     * タスク一覧の1ページあたりの件数の初期値
+     */
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    private static final int MAX_PAGE_SIZE = 1_000;
+
     private final BufferedReader reader;
 
     private final UserLogic userLogic;
@@ -18,6 +25,15 @@ public class TaskUI {
 
     private User loginUser;
 
+    /**
+     * タスク一覧で表示中のページ番号（0から）
+     */
+    private int page;
+
+    private int pageSize = DEFAULT_PAGE_SIZE;
+
+    private boolean hasNextPage;
+
     public TaskUI() {
         reader = new BufferedReader(new InputStreamReader(System.in));
         userLogic = new UserLogic();
@@ -40,9 +56,10 @@ public class TaskUI {
      * メニューを表示し、ユーザーの入力に基づいてアクションを実行します。
      *
      * @see #inputLogin()
-     * @see com.taskapp.logic.TaskLogic#showAll(User)
+     * @see #showCurrentPage()
      * @see #selectSubMenu()
      * @see #inputNewInformation()
+     * @see com.taskapp.logic.TaskLogic#showSummary(User)
      */
     public void displayMenu() {
         System.out.println("タスク管理アプリケーションにようこそ!!");
@@ -54,8 +71,8 @@ public class TaskUI {
         boolean flg = true;
         while (flg) {
             try {
-                System.out.println("以下1~3のメニューから好きな選択肢を選んでください。");
-                System.out.println("1. タスク一覧, 2. タスク新規登録, 3. ログアウト");
+                System.out.println("以下1~4のメニューから好きな選択肢を選んでください。");
+                System.out.println("1. タスク一覧, 2. タスク新規登録, 3. ログアウト, 4. タスクの集計");
                 System.out.print("選択肢：");
                 String selectMenu = reader.readLine();
 
@@ -63,8 +80,9 @@ public class TaskUI {
 
                 switch (selectMenu) {
                     case "1":
-                        // 一覧表示
-                        taskLogic.showAll(loginUser);
+                        // 一覧表示（1ページ目から）
+                        page = 0;
+                        showCurrentPage();
                         // ステータス更新メニュー
                         selectSubMenu();
                         break;
@@ -76,8 +94,12 @@ public class TaskUI {
                         System.out.println("ログアウトしました。");
                         flg = false;
                         break;
+                    case "4":
+                        // ステータス別・担当者別の件数
+                        taskLogic.showSummary(loginUser);
+                        break;
                     default:
-                        System.out.println("選択肢が誤っています。1~3の中から選択してください。");
+                        System.out.println("選択肢が誤っています。1~4の中から選択してください。");
                         break;
                 }
             } catch (IOException e) {
@@ -159,17 +181,20 @@ public class TaskUI {
     }
 
     /**
-     * タスクのステータス変更または削除を選択するサブメニューを表示します。
+     * タスクのステータス変更・削除、またはタスク一覧のページ移動を選択するサブメニューを表示します。
      *
      * @see #inputChangeInformation()
      * @see #inputDeleteInformation()
+     * @see #inputJumpInformation()
+     * @see #inputPageSize()
      */
     public void selectSubMenu() {
         boolean flg = true;
         while (flg) {
             try {
-                System.out.println("以下1~3から好きな選択肢を選んでください。");
+                System.out.println("以下1~7から好きな選択肢を選んでください。");
                 System.out.println("1. タスクのステータス変更, 2. タスク削除, 3. メインメニューに戻る");
+                System.out.println("4. 次のページ, 5. 前のページ, 6. タスクコードのページへ移動, 7. 表示件数の変更");
                 System.out.print("選択肢：");
                 String selectMenu = reader.readLine();
 
@@ -187,8 +212,32 @@ public class TaskUI {
                     case "3":
                         flg = false;
                         break;
+                    case "4":
+                        if (!hasNextPage) {
+                            System.out.println("最後のページです。");
+                            break;
+                        }
+                        page++;
+                        showCurrentPage();
+                        break;
+                    case "5":
+                        if (page == 0) {
+                            System.out.println("最初のページです。");
+                            break;
+                        }
+                        page--;
+                        showCurrentPage();
+                        break;
+                    case "6":
+                        // 指定したタスクのページへ移動
+                        inputJumpInformation();
+                        break;
+                    case "7":
+                        // 1ページの件数を変更
+                        inputPageSize();
+                        break;
                     default:
-                        System.out.println("選択肢が誤っています。1~2の中から選択してください。");
+                        System.out.println("選択肢が誤っています。1~7の中から選択してください。");
                         break;
                 }
             } catch (IOException e) {
@@ -275,6 +324,77 @@ public class TaskUI {
         }
     }
 
+    /**
+     * タスク一覧の表示中のページを表示します。
+     *
+     * @see com.taskapp.logic.TaskLogic#showPage(User, int, int)
+     */
+    private void showCurrentPage() {
+        hasNextPage = taskLogic.showPage(loginUser, page, pageSize);
+    }
+
+    /**
+     * ユーザーからタスクコードを受け取り、そのタスクを含むページを表示します。
+     *
+     * @see #isNumeric(String)
+     * @see com.taskapp.logic.TaskLogic#findPage(int, int)
+     */
+    public void inputJumpInformation() {
+        boolean flg = true;
+        while (flg) {
+            try {
+                System.out.print("表示するタスクコードを入力してください：");
+                String code = reader.readLine();
+                if (code.isEmpty() || !isNumeric(code)) {
+                    System.out.println("コードは半角の数字で入力してください");
+                    System.out.println();
+                    continue;
+                }
+
+                page = taskLogic.findPage(Integer.parseInt(code), pageSize);
+                System.out.println();
+                showCurrentPage();
+                flg = false;
+            } catch (IOException e) {
+                e.printStackTrace();
+            } catch (AppException e) {
+                System.out.println(e.getMessage());
+            }
+            System.out.println();
+        }
+    }
+
+    /**
+     * ユーザーから1ページあたりの件数を受け取り、表示中の先頭のタスクを含むページを表示し直します。
+     *
+     * @see #isNumeric(String)
+     */
+    public void inputPageSize() {
+        boolean flg = true;
+        while (flg) {
+            try {
+                System.out.print("1ページに表示する件数を入力してください（1~" + MAX_PAGE_SIZE + "）：");
+                String size = reader.readLine();
+                if (size.isEmpty() || !isNumeric(size) || size.length() > 4
+                        || Integer.parseInt(size) < 1 || Integer.parseInt(size) > MAX_PAGE_SIZE) {
+                    System.out.println("件数は1~" + MAX_PAGE_SIZE + "の半角の数字で入力してください");
+                    System.out.println();
+                    continue;
+                }
+
+                int first = page * pageSize;
+                pageSize = Integer.parseInt(size);
+                page = first / pageSize;
+                System.out.println();
+                showCurrentPage();
+                flg = false;
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            System.out.println();
+        }
+    }
+
     /**
      * 指定された文字列が数値であるかどうかを判定します。
      * 負の数は判定対象外とする。
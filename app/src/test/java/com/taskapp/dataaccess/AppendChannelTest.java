@@ -0,0 +1,148 @@
+package com.taskapp.dataaccess;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.taskapp.model.Log;
+
+public class AppendChannelTest {
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        file = tempDir.resolve("data.csv");
+        Files.write(file, "header".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testAppendReturnsOffsetOfText() throws IOException {
+        AppendChannel channel = new AppendChannel(file, StoreOptions.defaults());
+
+        assertThat(channel.append("\nあ", 1)).isEqualTo(6);
+        assertThat(channel.append("\nb", 1)).isEqualTo(10);
+        channel.close();
+
+        assertThat(new String(Files.readAllBytes(file), StandardCharsets.UTF_8)).isEqualTo("header\nあ\nb");
+    }
+
+    @Test
+    public void testGroupCommitWritesWhenRecordsReachLimit() throws IOException {
+        AppendChannel channel = new AppendChannel(file, StoreOptions.defaults().withGroupCommit(3, 0));
+
+        channel.append("\n1", 1);
+        channel.append("\n2", 1);
+        assertThat(Files.size(file)).isEqualTo(6);
+
+        channel.append("\n3", 1);
+        assertThat(Files.size(file)).isEqualTo(12);
+        channel.close();
+    }
+
+    @Test
+    public void testGroupCommitWritesAfterInterval() throws Exception {
+        AppendChannel channel = new AppendChannel(file, StoreOptions.defaults().withGroupCommit(100, 20));
+
+        channel.append("\n1", 1);
+        assertThat(Files.size(file)).isEqualTo(6);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (Files.size(file) == 6 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(Files.size(file)).isEqualTo(8);
+        channel.close();
+    }
+
+    @Test
+    public void testCloseWritesPendingAndReopensReplacedFile() throws IOException {
+        AppendChannel channel = new AppendChannel(file, StoreOptions.defaults().withGroupCommit(100, 0));
+        channel.append("\n1", 1);
+        channel.close();
+        assertThat(Files.readAllLines(file)).containsExactly("header", "1");
+
+        Files.write(file, "replaced".getBytes(StandardCharsets.UTF_8));
+        assertThat(channel.append("\n2", 1)).isEqualTo(8);
+        channel.close();
+        assertThat(Files.readAllLines(file)).containsExactly("replaced", "2");
+    }
+
+    @Test
+    public void testFailedWriteIsKeptAndWrittenAfterReopen() throws IOException {
+        Path full = Paths.get("/dev/full");
+        assumeTrue(Files.isWritable(full));
+        // 書き込むと必ず失敗するファイルを指すリンクを経由して追記する
+        Path link = tempDir.resolve("link.csv");
+        Files.createSymbolicLink(link, full);
+        AppendChannel channel = new AppendChannel(link, StoreOptions.defaults().withGroupCommit(100, 0));
+
+        channel.append("\n1", 1);
+        assertThatThrownBy(channel::flush).isInstanceOf(IOException.class);
+        assertThatThrownBy(channel::flush).isInstanceOf(IOException.class);
+
+        // 書き込めなかった内容は捨てずに残り、開き直したファイルに書き込まれる
+        Files.delete(link);
+        Files.createSymbolicLink(link, file);
+        assertThat(channel.append("\n2", 1)).isEqualTo(8);
+        channel.close();
+        assertThat(Files.readAllLines(file)).containsExactly("header", "1", "2");
+    }
+
+    @Test
+    public void testConcurrentAppendsAreNotLost() throws Exception {
+        AppendChannel channel = new AppendChannel(file, StoreOptions.defaults().withGroupCommit(16, 10));
+        int threads = 8;
+        int perThread = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    channel.append("\n" + thread + "-" + i, 1);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        channel.close();
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(threads * perThread + 1);
+        assertThat(lines.subList(1, lines.size())).doesNotHaveDuplicates();
+    }
+
+    @Test
+    public void testLogDataAccessReadsPendingLogs() {
+        Path logFile = tempDir.resolve("logs.csv");
+        LogDataAccess logDataAccess = new LogDataAccess(logFile.toString(),
+                StoreOptions.defaults().withTombstones(true).withGroupCommit(100, 0));
+        logDataAccess.save(new Log(1, 1, 0, LocalDate.of(2024, 1, 1)));
+        logDataAccess.save(new Log(2, 1, 0, LocalDate.of(2024, 1, 2)));
+        logDataAccess.deleteByTaskCode(1);
+
+        assertThat(logDataAccess.findAll()).extracting(Log::getTaskCode).containsExactly(2);
+    }
+}
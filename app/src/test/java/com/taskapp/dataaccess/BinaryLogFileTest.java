@@ -0,0 +1,108 @@
+package com.taskapp.dataaccess;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.taskapp.dataset.DatasetGenerator;
+import com.taskapp.model.Log;
+
+public class BinaryLogFileTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testAppendAndRandomAccess() throws IOException {
+        Path path = tempDir.resolve("logs.bin");
+        try (BinaryLogFile file = BinaryLogFile.open(path)) {
+            assertThat(file.size()).isZero();
+            file.append(new Log(1, 2, 0, LocalDate.of(2024, 1, 10)));
+            List<Log> logs = new ArrayList<>();
+            for (int i = 0; i < 10_000; i++) {
+                logs.add(new Log(i + 2, i % 7, i % 3, LocalDate.of(1969, 12, 31).plusDays(i)));
+            }
+            file.appendAll(logs);
+            assertThat(file.size()).isEqualTo(10_001);
+        }
+        assertThat(Files.size(path)).isEqualTo(BinaryLogFile.HEADER_SIZE + 10_001L * BinaryLogFile.RECORD_SIZE);
+
+        try (BinaryLogFile file = BinaryLogFile.open(path)) {
+            assertThat(file.size()).isEqualTo(10_001);
+            assertThat(format(file.read(0))).isEqualTo("1,2,0,2024-01-10");
+            assertThat(format(file.read(1))).isEqualTo("2,0,0,1969-12-31");
+            assertThat(format(file.read(10_000))).isEqualTo("10001,3,0,1997-05-17");
+            assertThatThrownBy(() -> file.read(10_001)).isInstanceOf(IndexOutOfBoundsException.class);
+
+            List<Log> all = new ArrayList<>();
+            file.forEach(all::add);
+            assertThat(all).hasSize(10_001);
+            assertThat(format(all.get(5_000))).isEqualTo(format(file.read(5_000)));
+        }
+    }
+
+    @Test
+    public void testIncompleteTrailingRecordIsIgnoredAndOverwritten() throws IOException {
+        Path path = tempDir.resolve("logs.bin");
+        try (BinaryLogFile file = BinaryLogFile.open(path)) {
+            file.append(new Log(1, 1, 0, LocalDate.of(2024, 1, 10)));
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 0, 0, 0, 2, 0, 0 }));
+        }
+
+        try (BinaryLogFile file = BinaryLogFile.open(path)) {
+            assertThat(file.size()).isEqualTo(1);
+            file.append(new Log(2, 1, 1, LocalDate.of(2024, 1, 11)));
+            assertThat(format(file.read(1))).isEqualTo("2,1,1,2024-01-11");
+        }
+        assertThat(Files.size(path)).isEqualTo(BinaryLogFile.HEADER_SIZE + 2L * BinaryLogFile.RECORD_SIZE);
+    }
+
+    @Test
+    public void testRejectsOtherFilesAndVersions() throws IOException {
+        Path csv = tempDir.resolve("logs.csv");
+        Files.writeString(csv, "Code,Name,Status,Rep_User_Code\n1,1,0,2024-01-10\n");
+        assertThatThrownBy(() -> BinaryLogFile.open(csv)).isInstanceOf(IOException.class);
+
+        Path path = tempDir.resolve("logs.bin");
+        BinaryLogFile.open(path).close();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 2 }), 4);
+        }
+        assertThatThrownBy(() -> BinaryLogFile.open(path)).isInstanceOf(IOException.class)
+                .hasMessageContaining("バージョン");
+    }
+
+    @Test
+    public void testCsvRoundTrip() throws IOException {
+        Path csv = tempDir.resolve("logs.csv");
+        new DatasetGenerator(42, 50, 1_000, 5_000).writeLogs(csv);
+        Path binary = tempDir.resolve("logs.bin");
+        Path back = tempDir.resolve("back.csv");
+
+        assertThat(BinaryLogFile.fromCsv(csv, binary)).isEqualTo(5_000);
+        assertThat(BinaryLogFile.toCsv(binary, back)).isEqualTo(5_000);
+
+        List<String> expected = new ArrayList<>();
+        new LogDataAccess(csv.toString()).forEach(log -> expected.add(format(log)));
+        List<String> actual = new ArrayList<>();
+        new LogDataAccess(back.toString()).forEach(log -> actual.add(format(log)));
+        assertThat(actual).isEqualTo(expected);
+        assertThat(Files.size(binary)).isLessThan(Files.size(csv));
+    }
+
+    private static String format(Log log) {
+        return log.getTaskCode() + "," + log.getChangeUserCode() + "," + log.getStatus() + "," + log.getChangeDate();
+    }
+}
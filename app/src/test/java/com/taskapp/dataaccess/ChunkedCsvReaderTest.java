@@ -0,0 +1,87 @@
+package com.taskapp.dataaccess;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ChunkedCsvReaderTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testQuotedNewlinesAreNeverSplit() throws IOException {
+        StringBuilder content = new StringBuilder("Code,Name,Status,Rep_User_Code\r\n");
+        for (int i = 1; i <= 60; i++) {
+            String name = switch (i % 4) {
+                case 0 -> "\"改行\nを含む\r\n名前" + i + "\"";
+                case 1 -> "\"カンマ,と\"\"引用符\"\"" + i + "\"";
+                case 2 -> "タスク" + i;
+                default -> "\"\"";
+            };
+            content.append(i).append(',').append(name).append(",0,1").append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        Path file = write(content.toString());
+        List<String> expected = readSequentially(content.toString());
+
+        // 全ての範囲の大きさで、1つの範囲で読んだ場合と同じ行が同じ順に得られることを確かめる
+        for (long chunkSize = 1; chunkSize <= 64; chunkSize++) {
+            List<List<String>> chunks = new ChunkedCsvReader(file, chunkSize).read(ChunkedCsvReaderTest::rows);
+            assertThat(chunks.stream().flatMap(List::stream).toList()).as("chunkSize %d", chunkSize)
+                    .isEqualTo(expected);
+        }
+        assertThat(new ChunkedCsvReader(file, 64).read(ChunkedCsvReaderTest::rows).size()).isGreaterThan(1);
+    }
+
+    @Test
+    public void testBareQuoteFallsBackToSingleChunk() throws IOException {
+        String content = "Code,Name,Status,Rep_User_Code\n1,ab\"c,0,1\n2,\"x\ny\",0,1\n3,z,0,1\n";
+        Path file = write(content);
+
+        List<List<String>> chunks = new ChunkedCsvReader(file, 4).read(ChunkedCsvReaderTest::rows);
+
+        assertThat(chunks).hasSize(1);
+        assertThat(chunks.get(0)).isEqualTo(readSequentially(content));
+    }
+
+    @Test
+    public void testEmptyAndHeaderOnlyFiles() throws IOException {
+        assertThat(new ChunkedCsvReader(write(""), 4).read(ChunkedCsvReaderTest::rows))
+                .containsExactly(List.of());
+        assertThat(new ChunkedCsvReader(write("Code,Name,Status,Rep_User_Code"), 4).read(ChunkedCsvReaderTest::rows)
+                .stream().flatMap(List::stream).toList()).isEmpty();
+    }
+
+    private static List<String> rows(CsvTokenizer csv) throws IOException {
+        List<String> rows = new ArrayList<>();
+        while (csv.next()) {
+            List<String> fields = new ArrayList<>();
+            for (int i = 0; i < csv.fieldCount(); i++) {
+                fields.add(csv.getString(i));
+            }
+            rows.add(String.join("|", fields));
+        }
+        return rows;
+    }
+
+    private static List<String> readSequentially(String content) throws IOException {
+        try (CsvTokenizer csv = new CsvTokenizer(new StringReader(content))) {
+            csv.next();
+            return rows(csv);
+        }
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = tempDir.resolve("tasks.csv");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,96 @@
+package com.taskapp.dataaccess;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class CsvTokenizerTest {
+    @Test
+    public void testSplitsRowsAndFields() throws IOException {
+        List<List<String>> rows = readAll("Code,Name\n1,taskA\r\n2,\n\n3,taskC\r4,taskD");
+
+        assertThat(rows).containsExactly(
+                List.of("Code", "Name"),
+                List.of("1", "taskA"),
+                List.of("2", ""),
+                List.of(""),
+                List.of("3", "taskC"),
+                List.of("4", "taskD"));
+    }
+
+    @Test
+    public void testQuotedFields() throws IOException {
+        List<List<String>> rows = readAll("1,\"a,b\",\"say \"\"hi\"\"\",\"line1\nline2\"\n2,\"\",x\"y\n");
+
+        assertThat(rows).containsExactly(
+                List.of("1", "a,b", "say \"hi\"", "line1\nline2"),
+                List.of("2", "", "x\"y"));
+    }
+
+    @Test
+    public void testRowsLongerThanBuffers() throws IOException {
+        String name = "x".repeat(200_000);
+        List<List<String>> rows = readAll("1," + name + ",2\n3,4,5,6,7,8,9,10,11,12\n");
+
+        assertThat(rows.get(0)).containsExactly("1", name, "2");
+        assertThat(rows.get(1)).hasSize(10);
+    }
+
+    @Test
+    public void testParsesNumbersAndDates() throws IOException {
+        try (CsvTokenizer csv = new CsvTokenizer(new StringReader(
+                "-12,2147483647,2147483648,1a,2024-02-29,\"2024-03-01\",2023-02-29,1970-01-01"))) {
+            assertThat(csv.next()).isTrue();
+            assertThat(csv.getInt(0)).isEqualTo(-12);
+            assertThat(csv.getInt(1)).isEqualTo(Integer.MAX_VALUE);
+            assertThatThrownBy(() -> csv.getInt(2)).isInstanceOf(NumberFormatException.class);
+            assertThatThrownBy(() -> csv.getInt(3)).isInstanceOf(NumberFormatException.class);
+            assertThat(csv.getEpochDay(4)).isEqualTo(LocalDate.of(2024, 2, 29).toEpochDay());
+            assertThat(csv.getEpochDay(5)).isEqualTo(LocalDate.of(2024, 3, 1).toEpochDay());
+            assertThatThrownBy(() -> csv.getEpochDay(6)).isInstanceOf(DateTimeParseException.class);
+            assertThat(csv.getEpochDay(7)).isZero();
+            assertThat(csv.fieldEquals(3, "1a")).isTrue();
+            assertThat(csv.fieldEquals(3, "1b")).isFalse();
+            assertThat(csv.next()).isFalse();
+        }
+    }
+
+    @Test
+    public void testEpochDayMatchesLocalDate() {
+        for (LocalDate date = LocalDate.of(1999, 1, 1); date.getYear() < 2101; date = date.plusDays(1)) {
+            assertThat(CsvTokenizer.epochDay(date.getYear(), date.getMonthValue(), date.getDayOfMonth()))
+                    .isEqualTo(date.toEpochDay());
+        }
+    }
+
+    @Test
+    public void testQuote() throws IOException {
+        assertThat(CsvTokenizer.quote("taskA")).isEqualTo("taskA");
+        assertThat(CsvTokenizer.quote("a,b")).isEqualTo("\"a,b\"");
+        assertThat(CsvTokenizer.quote("say \"hi\"")).isEqualTo("\"say \"\"hi\"\"\"");
+
+        String value = "a,\"b\"\nc";
+        assertThat(readAll("1," + CsvTokenizer.quote(value)).get(0)).containsExactly("1", value);
+    }
+
+    private static List<List<String>> readAll(String text) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        try (CsvTokenizer csv = new CsvTokenizer(new StringReader(text))) {
+            while (csv.next()) {
+                List<String> row = new ArrayList<>();
+                for (int i = 0; i < csv.fieldCount(); i++) {
+                    row.add(csv.getString(i));
+                }
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
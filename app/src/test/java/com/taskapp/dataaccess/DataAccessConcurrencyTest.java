@@ -0,0 +1,187 @@
+package com.taskapp.dataaccess;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.taskapp.model.Log;
+import com.taskapp.model.Task;
+import com.taskapp.model.User;
+
+/**
+ * 複数のスレッドから同時に読み書きし、更新が失われないことを確認します。
+ */
+public class DataAccessConcurrencyTest {
+    private static final String TEST_FILE_PATH_TASK = "src/test/resources/test_tasks.csv";
+    private static final String TEST_FILE_PATH_LOG = "src/test/resources/test_logs.csv";
+    private static final String TEST_FILE_PATH_USER = "src/test/resources/test_users.csv";
+
+    private static final int WRITERS = 4;
+    private static final int READERS = 4;
+    private static final int TASKS_PER_WRITER = 25;
+    private static final int ROUNDS = 6;
+
+    @TempDir
+    Path tempDir;
+
+    private UserDataAccess userDataAccess;
+
+    @BeforeEach
+    public void setUp() {
+        userDataAccess = new UserDataAccess(TEST_FILE_PATH_USER);
+    }
+
+    static Stream<StoreOptions> taskOptions() {
+        return Stream.of(
+                StoreOptions.defaults(),
+                StoreOptions.defaults().withJournal(true).withGroupCommit(64, 50).withCompaction(0.3, 100));
+    }
+
+    @ParameterizedTest
+    @MethodSource("taskOptions")
+    public void testConcurrentTaskUpdatesAreNotLost(StoreOptions options) throws Exception {
+        Path csvFile = tempDir.resolve("tasks.csv");
+        Files.copy(Paths.get(TEST_FILE_PATH_TASK), csvFile);
+        TaskDataAccess taskDataAccess = new TaskDataAccess(csvFile.toString(), userDataAccess, options);
+        User repUser = userDataAccess.findByCode(1);
+
+        AtomicBoolean done = new AtomicBoolean();
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            int base = 100 + w * TASKS_PER_WRITER;
+            workers.add(() -> {
+                for (int i = 0; i < TASKS_PER_WRITER; i++) {
+                    taskDataAccess.save(new Task(base + i, "task" + (base + i), 0, repUser));
+                }
+                // 一時的なタスクの追加と削除も混ぜる
+                taskDataAccess.save(new Task(-base, "temporary", 0, repUser));
+                for (int round = 1; round <= ROUNDS; round++) {
+                    for (int i = 0; i < TASKS_PER_WRITER; i++) {
+                        Task task = taskDataAccess.findByCode(base + i);
+                        task.setStatus(round);
+                        taskDataAccess.update(task);
+                    }
+                }
+                taskDataAccess.delete(-base);
+                return null;
+            });
+        }
+        for (int r = 0; r < READERS; r++) {
+            workers.add(() -> {
+                int previousSize = 0;
+                while (!done.get()) {
+                    List<Task> tasks = taskDataAccess.findAll();
+                    assertThat(tasks).doesNotContainNull();
+                    assertThat(tasks.stream().filter(task -> task.getCode() > 0).count())
+                            .isGreaterThanOrEqualTo(previousSize);
+                    previousSize = (int) tasks.stream().filter(task -> task.getCode() > 0).count();
+
+                    Task task = taskDataAccess.findByCode(1);
+                    assertThat(task.getName()).isEqualTo("taskA");
+                }
+                return null;
+            });
+        }
+        runAll(workers, done);
+
+        assertFinalTasks(taskDataAccess.findAll());
+        // ファイルから読み直しても同じ内容になる
+        assertFinalTasks(new TaskDataAccess(csvFile.toString(), userDataAccess, options).findAll());
+    }
+
+    @Test
+    public void testConcurrentLogSavesAreNotLost() throws Exception {
+        Path logFile = tempDir.resolve("logs.csv");
+        Files.copy(Paths.get(TEST_FILE_PATH_LOG), logFile);
+        StoreOptions options = StoreOptions.defaults().withTombstones(true).withGroupCommit(64, 50);
+        LogDataAccess logDataAccess = new LogDataAccess(logFile.toString(), options);
+        int initial = logDataAccess.findAll().size();
+        int perWriter = 2_000;
+
+        AtomicBoolean done = new AtomicBoolean();
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            int taskCode = 100 + w;
+            workers.add(() -> {
+                for (int i = 0; i < perWriter; i++) {
+                    logDataAccess.save(new Log(taskCode, 1, i % 3, LocalDate.of(2024, 1, 1)));
+                }
+                // 削除対象のログを保存してから削除する
+                logDataAccess.save(new Log(-taskCode, 1, 0, LocalDate.of(2024, 1, 1)));
+                logDataAccess.deleteByTaskCode(-taskCode);
+                return null;
+            });
+        }
+        for (int r = 0; r < READERS; r++) {
+            workers.add(() -> {
+                int previousSize = 0;
+                while (!done.get()) {
+                    List<Log> logs = logDataAccess.findAll();
+                    int size = (int) logs.stream().filter(log -> log.getTaskCode() >= 0).count();
+                    assertThat(size).isGreaterThanOrEqualTo(previousSize);
+                    previousSize = size;
+                }
+                return null;
+            });
+        }
+        runAll(workers, done);
+
+        assertThat(logDataAccess.findAll()).hasSize(initial + WRITERS * perWriter);
+        assertThat(new LogDataAccess(logFile.toString()).findAll()).hasSize(initial + WRITERS * perWriter);
+    }
+
+    private void assertFinalTasks(List<Task> tasks) {
+        assertThat(tasks).hasSize(4 + WRITERS * TASKS_PER_WRITER);
+        assertThat(tasks).extracting(Task::getCode).doesNotHaveDuplicates();
+        assertThat(tasks.stream().filter(task -> task.getCode() >= 100))
+                .allSatisfy(task -> assertThat(task.getStatus()).isEqualTo(ROUNDS));
+    }
+
+    /**
+     * 全ての処理を同時に開始し、書き込みが全て終わったら読み込みを止めます。
+     * いずれかの処理で発生した例外や検証の失敗は、そのまま呼び出し元に投げます。
+     */
+    private void runAll(List<Callable<Void>> workers, AtomicBoolean done) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(workers.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> worker : workers) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return worker.call();
+                }));
+            }
+            start.countDown();
+            // 先頭のWRITERS件が書き込み、残りが読み込み
+            for (int i = 0; i < WRITERS; i++) {
+                futures.get(i).get();
+            }
+            done.set(true);
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            done.set(true);
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.taskapp.dataaccess;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.taskapp.model.Log;
+import com.taskapp.model.Task;
+
+/**
+ * 外部のツールでCSVを変更した場合に、メモリ上の内容がその変更に追従することを確認します。
+ */
+public class DataAccessFileChangeTest {
+    private static final String TEST_FILE_PATH_TASK = "src/test/resources/test_tasks.csv";
+    private static final String TEST_FILE_PATH_LOG = "src/test/resources/test_logs.csv";
+    private static final String TEST_FILE_PATH_USER = "src/test/resources/test_users.csv";
+
+    @TempDir
+    Path tempDir;
+
+    private Path users;
+
+    private Path tasks;
+
+    private FileChangeDetector detector;
+
+    private UserDataAccess userDataAccess;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        users = tempDir.resolve("users.csv");
+        tasks = tempDir.resolve("tasks.csv");
+        Files.copy(Paths.get(TEST_FILE_PATH_USER), users);
+        Files.copy(Paths.get(TEST_FILE_PATH_TASK), tasks);
+        detector = new FileChangeDetector();
+        userDataAccess = new UserDataAccess(users.toString(), detector);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        detector.close();
+    }
+
+    @Test
+    public void testTaskCsvChangeIsReloaded() throws IOException {
+        TaskDataAccess taskDataAccess = new TaskDataAccess(tasks.toString(), userDataAccess,
+                StoreOptions.defaults(), detector);
+        assertThat(taskDataAccess.findAll()).hasSize(4);
+
+        Files.writeString(tasks, "Code,Name,Status,Rep_User_Code\n7,edited,1,2\n");
+        detector.checkAll();
+
+        assertThat(taskDataAccess.findByCode(1)).isNull();
+        assertThat(taskDataAccess.findPage(0, 10)).extracting(Task::getName).containsExactly("edited");
+        // 変更後のファイルに追記できる
+        taskDataAccess.save(new Task(8, "added", 0, userDataAccess.findByCode(1)));
+        assertThat(new TaskDataAccess(tasks.toString(), userDataAccess).findAll())
+                .extracting(Task::getCode).containsExactly(7, 8);
+    }
+
+    @Test
+    public void testExportToOwnCsvIsNotTreatedAsChange() {
+        TaskDataAccess taskDataAccess = new TaskDataAccess(tasks.toString(), userDataAccess,
+                StoreOptions.defaults().withJournal(true), detector);
+        taskDataAccess.delete(1);
+        taskDataAccess.exportCsv(tasks.toString());
+        taskDataAccess.save(new Task(5, "saved", 0, userDataAccess.findByCode(1)));
+        detector.checkAll();
+
+        // 変更と見なしてCSVからジャーナルを作り直すと、書き出した後の保存が失われる
+        assertThat(taskDataAccess.findAll()).extracting(Task::getCode).containsExactly(2, 3, 4, 5);
+    }
+
+    @Test
+    public void testJournalIsKeptWhenCsvIsEdited() throws IOException {
+        StoreOptions options = StoreOptions.defaults().withJournal(true);
+        TaskDataAccess taskDataAccess = new TaskDataAccess(tasks.toString(), userDataAccess, options, detector);
+        taskDataAccess.save(new Task(5, "saved", 0, userDataAccess.findByCode(1)));
+        taskDataAccess.delete(1);
+
+        Files.writeString(tasks, "Code,Name,Status,Rep_User_Code\n1,taskA,0,1\n9,edited,0,2\n");
+        detector.checkAll();
+
+        // CSVに書き出していない保存・削除は、CSVの変更で失われない
+        assertThat(taskDataAccess.findAll()).extracting(Task::getCode).containsExactly(2, 3, 4, 5);
+        taskDataAccess.save(new Task(6, "added", 0, userDataAccess.findByCode(1)));
+        assertThat(new TaskDataAccess(tasks.toString(), userDataAccess, options).findAll())
+                .extracting(Task::getCode).containsExactly(2, 3, 4, 5, 6);
+    }
+
+    @Test
+    public void testUserCsvChangeUpdatesRepUsersOfLoadedTasks() throws IOException {
+        TaskDataAccess taskDataAccess = new TaskDataAccess(tasks.toString(), userDataAccess,
+                StoreOptions.defaults(), detector);
+        assertThat(taskDataAccess.findByCode(2).getRepUser().getName()).isEqualTo("鈴木二郎");
+
+        Files.writeString(users, Files.readString(users).replace("鈴木二郎", "佐藤二郎"));
+        detector.checkAll();
+
+        assertThat(taskDataAccess.findByCode(2).getRepUser().getName()).isEqualTo("佐藤二郎");
+        assertThat(taskDataAccess.findByCode(2).getRepUser()).isSameAs(userDataAccess.findByCode(2));
+    }
+
+    @Test
+    public void testLogCsvChangeRebuildsOffHeapStore() throws IOException {
+        Path logs = tempDir.resolve("logs.csv");
+        Files.copy(Paths.get(TEST_FILE_PATH_LOG), logs);
+        LogDataAccess logDataAccess = new LogDataAccess(logs.toString(),
+                StoreOptions.defaults().withOffHeapLogs(true).withTombstones(true), detector);
+        int before = logDataAccess.findAll().size();
+        logDataAccess.save(new Log(1, 1, 1, LocalDate.of(2024, 2, 1)));
+        detector.checkAll();
+        assertThat(logDataAccess.findAll()).hasSize(before + 1);
+
+        Files.writeString(logs, System.lineSeparator() + "77,2,2,2024-03-01", StandardOpenOption.APPEND);
+        detector.checkAll();
+
+        assertThat(logDataAccess.findByTaskCode(77)).extracting(Log::getStatus).containsExactly(2);
+        assertThat(logDataAccess.findAll()).hasSize(before + 2);
+        logDataAccess.deleteByTaskCode(77);
+        assertThat(logDataAccess.findByTaskCode(77)).isEmpty();
+    }
+}
@@ -0,0 +1,117 @@
+package com.taskapp.dataaccess;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class FileChangeDetectorTest {
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+
+    private FileChangeDetector detector;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        file = tempDir.resolve("data.csv");
+        Files.writeString(file, "Code,Name\n1,first\n");
+        detector = new FileChangeDetector();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        detector.close();
+    }
+
+    @Test
+    public void testExternalChangeMarksStaleUntilCleared() throws IOException {
+        FileWatch watch = detector.watch(file);
+        detector.checkAll();
+        assertThat(watch.isStale()).isFalse();
+
+        Files.writeString(file, "2,second\n", StandardOpenOption.APPEND);
+        detector.checkAll();
+        assertThat(watch.isStale()).isTrue();
+
+        watch.clear();
+        detector.checkAll();
+        assertThat(watch.isStale()).isFalse();
+    }
+
+    @Test
+    public void testReplacedFileIsDetected() throws IOException {
+        FileWatch watch = detector.watch(file);
+        Path replacement = tempDir.resolve("data.csv.tmp");
+        Files.writeString(replacement, "Code,Name\n1,first\n");
+        Files.setLastModifiedTime(replacement, Files.getLastModifiedTime(file));
+
+        Files.move(replacement, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        detector.checkAll();
+
+        assertThat(watch.isStale()).isTrue();
+    }
+
+    @Test
+    public void testOwnWriteIsNotTreatedAsChange() throws IOException {
+        FileWatch watch = detector.watch(file);
+
+        watch.beginWrite();
+        Files.writeString(file, "2,second\n", StandardOpenOption.APPEND);
+        // 書き込み中は確かめない
+        detector.checkAll();
+        watch.endWrite();
+        detector.checkAll();
+
+        assertThat(watch.isStale()).isFalse();
+    }
+
+    @Test
+    public void testAppendChannelWritesAreOwnWrites() throws IOException {
+        FileWatch watch = detector.watch(file);
+        AppendChannel appender = new AppendChannel(file, StoreOptions.defaults(), watch);
+
+        appender.append("2,second\n", 1);
+        appender.close();
+        detector.checkAll();
+
+        assertThat(watch.isStale()).isFalse();
+        assertThat(Files.readString(file)).endsWith("2,second\n");
+    }
+
+    @Test
+    public void testEachWatchOfSameFileIsMarked() throws IOException {
+        FileWatch first = detector.watch(file);
+        FileWatch second = detector.watch(tempDir.resolve(".").resolve("data.csv"));
+        first.clear();
+
+        Files.writeString(file, "2,second\n", StandardOpenOption.APPEND);
+        detector.checkAll();
+
+        assertThat(first.isStale()).isTrue();
+        assertThat(second.isStale()).isTrue();
+    }
+
+    @Test
+    public void testChangeIsDetectedInBackground() throws Exception {
+        FileWatch watch = detector.watch(file);
+
+        Files.writeString(file, "2,second\n", StandardOpenOption.APPEND);
+
+        // 通知を受けるか、通知が無くても定期的な確認で検知する
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!watch.isStale() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(watch.isStale()).isTrue();
+    }
+}
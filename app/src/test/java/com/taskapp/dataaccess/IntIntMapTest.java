@@ -0,0 +1,50 @@
+package com.taskapp.dataaccess;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class IntIntMapTest {
+
+    @Test
+    public void testPutAndGet() {
+        IntIntMap map = new IntIntMap();
+        assertThat(map.put(1, 10)).isEqualTo(-1);
+        map.put(-5, 0);
+        map.put(0, 7);
+
+        assertThat(map.get(1)).isEqualTo(10);
+        assertThat(map.get(-5)).isZero();
+        assertThat(map.get(0)).isEqualTo(7);
+        assertThat(map.get(2)).isEqualTo(-1);
+        assertThat(map.put(1, 11)).isEqualTo(10);
+        assertThat(map.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void testRemoveKeepsCollidingKeysReachable() {
+        IntIntMap map = new IntIntMap();
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i, i * 2);
+        }
+        for (int i = 0; i < 10_000; i += 2) {
+            assertThat(map.remove(i)).isEqualTo(i * 2);
+        }
+        assertThat(map.remove(0)).isEqualTo(-1);
+        assertThat(map.size()).isEqualTo(5_000);
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(map.get(i)).isEqualTo(i % 2 == 0 ? -1 : i * 2);
+        }
+    }
+
+    @Test
+    public void testClearAndRejectNegativeValue() {
+        IntIntMap map = new IntIntMap(4);
+        map.put(1, 1);
+        map.clear();
+
+        assertThat(map.get(1)).isEqualTo(-1);
+        assertThat(map.size()).isZero();
+        assertThatThrownBy(() -> map.put(1, -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
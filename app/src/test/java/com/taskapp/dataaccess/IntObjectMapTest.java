@@ -0,0 +1,48 @@
+package com.taskapp.dataaccess;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class IntObjectMapTest {
+
+    @Test
+    public void testPutAndGet() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        map.put(1, "a");
+        map.put(-5, "b");
+        map.put(0, "c");
+
+        assertThat(map.get(1)).isEqualTo("a");
+        assertThat(map.get(-5)).isEqualTo("b");
+        assertThat(map.get(0)).isEqualTo("c");
+        assertThat(map.get(2)).isNull();
+        assertThat(map.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void testPutOverwrites() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        map.put(1, "a");
+
+        assertThat(map.put(1, "b")).isEqualTo("a");
+        assertThat(map.get(1)).isEqualTo("b");
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testRemoveKeepsCollidingKeysReachable() {
+        IntObjectMap<Integer> map = new IntObjectMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i, i);
+        }
+        for (int i = 0; i < 10_000; i += 2) {
+            assertThat(map.remove(i)).isEqualTo(i);
+        }
+
+        assertThat(map.size()).isEqualTo(5_000);
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(map.get(i)).isEqualTo(i % 2 == 0 ? null : i);
+        }
+    }
+}
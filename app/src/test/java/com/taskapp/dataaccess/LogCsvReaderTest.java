@@ -0,0 +1,163 @@
+package com.taskapp.dataaccess;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.taskapp.metrics.Metrics;
+import com.taskapp.metrics.OperationMetrics;
+
+public class LogCsvReaderTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testSkipsHeaderBlankAndMalformedLines() throws IOException {
+        Path file = write("Task_Code,Change_User_Code,Status,Change_Date\n"
+                + "1,1,0,2024-01-10\r\n"
+                + "\n"
+                + "2,1,0\n"
+                + "x,1,0,2024-01-10\n"
+                + "3,1,0,2024-02-30\n"
+                + "4,2,1,2024-01-13,extra\n"
+                + "5,2,2,2024-12-31");
+
+        assertThat(readAll(file, LogCsvReader.DEFAULT_WINDOW_SIZE)).containsExactly(
+                "1,1,0,2024-01-10",
+                "5,2,2,2024-12-31");
+    }
+
+    @Test
+    public void testQuotedFields() throws IOException {
+        Path file = write("Task_Code,Change_User_Code,Status,Change_Date\n"
+                + "\"1\",\"1\",\"0\",\"2024-01-10\"\n"
+                + "2,1,\"1\",2024-01-11\n");
+
+        assertThat(readAll(file, LogCsvReader.DEFAULT_WINDOW_SIZE)).containsExactly(
+                "1,1,0,2024-01-10",
+                "2,1,1,2024-01-11");
+    }
+
+    @Test
+    public void testLinesSpanningMappingWindowsAreReadOnce() throws IOException {
+        StringBuilder content = new StringBuilder("Task_Code,Change_User_Code,Status,Change_Date");
+        List<String> expected = new ArrayList<>();
+        LocalDate date = LocalDate.of(2024, 1, 1);
+        for (int i = 1; i <= 500; i++) {
+            String line = i + "," + (i % 7) + "," + (i % 3) + "," + date.plusDays(i);
+            content.append('\n').append(line);
+            expected.add(line);
+        }
+        Path file = write(content.toString());
+
+        // 見出し行より少し長い幅で読み込み、多くの行が境界をまたぐようにする
+        assertThat(readAll(file, 50)).isEqualTo(expected);
+    }
+
+    @Test
+    public void testLineLongerThanWindowIsRejected() throws IOException {
+        Path file = write("Task_Code,Change_User_Code,Status,Change_Date\n1,1,0,2024-01-10\n2,1,0,2024-01-10");
+
+        assertThatThrownBy(() -> readAll(file, 8)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void testEpochDayMatchesLocalDate() throws IOException {
+        StringBuilder content = new StringBuilder("header");
+        List<String> expected = new ArrayList<>();
+        for (LocalDate date = LocalDate.of(1899, 12, 1); date.getYear() < 2101; date = date.plusDays(1)) {
+            content.append("\n1,1,0,").append(date);
+            expected.add("1,1,0," + date);
+        }
+        Path file = write(content.toString());
+
+        assertThat(readAll(file, LogCsvReader.DEFAULT_WINDOW_SIZE)).isEqualTo(expected);
+    }
+
+    @Test
+    public void testReportsLineOffsetsAndSkipsTombstones() throws IOException {
+        String content = "Task_Code,Change_User_Code,Status,Change_Date\n"
+                + "1,1,0,2024-01-10\n"
+                + "#,1,0,2024-01-10\n"
+                + "3,1,0,2024-01-10";
+        Path file = write(content);
+
+        List<Long> offsets = new ArrayList<>();
+        LogCsvReader reader = new LogCsvReader(file);
+        reader.forEach((offset, taskCode, changeUserCode, status, epochDay) -> offsets.add(offset));
+
+        assertThat(offsets).containsExactly((long) content.indexOf("1,1,0"), (long) content.indexOf("3,1,0"));
+        assertThat(reader.tombstones()).isEqualTo(1);
+    }
+
+    @Test
+    public void testAdjacentRangesReadEachLineOnce() throws IOException {
+        StringBuilder content = new StringBuilder("Task_Code,Change_User_Code,Status,Change_Date");
+        List<String> expected = new ArrayList<>();
+        LocalDate date = LocalDate.of(2024, 1, 1);
+        for (int i = 1; i <= 40; i++) {
+            String line = i + "," + (i % 7) + "," + (i % 3) + "," + date.plusDays(i);
+            content.append(i % 2 == 0 ? "\r\n" : "\n").append(line);
+            expected.add(line);
+        }
+        Path file = write(content.toString());
+        long size = Files.size(file);
+
+        // 全ての位置で2つに分け、行の先頭・途中・改行の直後のどこで分けても1回ずつ読めることを確かめる
+        for (long split = 0; split <= size; split++) {
+            List<String> lines = new ArrayList<>();
+            LogCsvReader reader = new LogCsvReader(file, 64);
+            reader.forEach(0, split, (offset, taskCode, changeUserCode, status, epochDay) ->
+                    lines.add(taskCode + "," + changeUserCode + "," + status + "," + LocalDate.ofEpochDay(epochDay)));
+            reader.forEach(split, Long.MAX_VALUE, (offset, taskCode, changeUserCode, status, epochDay) ->
+                    lines.add(taskCode + "," + changeUserCode + "," + status + "," + LocalDate.ofEpochDay(epochDay)));
+            assertThat(lines).as("split at %d", split).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void testRangeReadsAreCountedByCaller() throws IOException {
+        Path file = write("Task_Code,Change_User_Code,Status,Change_Date\n1,1,0,2024-01-10\n2,1,0,2024-01-10\n");
+        long size = Files.size(file);
+        OperationMetrics whole = Metrics.operation("LogCsvReaderTest.whole");
+        OperationMetrics range = Metrics.operation("LogCsvReaderTest.range");
+        whole.reset();
+        range.reset();
+
+        Metrics.Sample sample = whole.start();
+        new LogCsvReader(file).forEach((offset, taskCode, changeUserCode, status, epochDay) -> { });
+        whole.stop(sample);
+        sample = range.start();
+        long first = new LogCsvReader(file).forEach(0, 20, (offset, taskCode, changeUserCode, status, epochDay) -> { });
+        long second = new LogCsvReader(file).forEach(20, Long.MAX_VALUE,
+                (offset, taskCode, changeUserCode, status, epochDay) -> { });
+        range.stop(sample);
+
+        // 範囲ごとの読み込みは別のスレッドで呼ばれるため記録せず、バイト数を返して呼び出し側に任せる
+        assertThat(whole.getBytesRead()).isEqualTo(size);
+        assertThat(range.getBytesRead()).isZero();
+        assertThat(first + second).isEqualTo(size);
+    }
+
+    private List<String> readAll(Path file, long windowSize) throws IOException {
+        List<String> lines = new ArrayList<>();
+        new LogCsvReader(file, windowSize).forEach((offset, taskCode, changeUserCode, status, epochDay) ->
+                lines.add(taskCode + "," + changeUserCode + "," + status + "," + LocalDate.ofEpochDay(epochDay)));
+        return lines;
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = tempDir.resolve("logs.csv");
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
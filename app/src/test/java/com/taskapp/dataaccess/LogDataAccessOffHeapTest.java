@@ -0,0 +1,119 @@
+package com.taskapp.dataaccess;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.taskapp.model.Log;
+
+public class LogDataAccessOffHeapTest {
+    private static final String TEST_FILE_PATH = "src/test/resources/test_logs.csv";
+
+    @TempDir
+    Path tempDir;
+
+    private Path logFile;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        logFile = tempDir.resolve("logs.csv");
+        Files.copy(Paths.get(TEST_FILE_PATH), logFile);
+    }
+
+    @Test
+    public void testReadsMatchFile() {
+        LogDataAccess logDataAccess = newDataAccess(StoreOptions.defaults().withOffHeapLogs(true));
+
+        assertThat(format(logDataAccess.findAll())).isEqualTo(format(newDataAccess(StoreOptions.defaults()).findAll()));
+        assertThat(format(logDataAccess.findByTaskCode(3)))
+                .containsExactly("3,1,0,2024-01-10", "3,2,1,2024-01-11", "3,2,2,2024-01-12");
+        assertThat(format(logDataAccess.findByTaskCode(3, LocalDate.of(2024, 1, 11), LocalDate.of(2024, 1, 31))))
+                .containsExactly("3,2,1,2024-01-11", "3,2,2,2024-01-12");
+        assertThat(logDataAccess.findByTaskCode(9)).isEmpty();
+    }
+
+    @Test
+    public void testChangesAreAppliedToFileAndMemory() {
+        LogDataAccess logDataAccess = newDataAccess(StoreOptions.defaults().withTombstones(true).withOffHeapLogs(true));
+        logDataAccess.findAll();
+
+        logDataAccess.save(new Log(5, 1, 0, LocalDate.of(2024, 2, 1)));
+        logDataAccess.saveAll(List.of(new Log(3, 2, 0, LocalDate.of(2024, 2, 2)), new Log(6, 1, 0, LocalDate.of(2024, 2, 2))));
+        logDataAccess.deleteByTaskCode(4);
+
+        List<String> expected = List.of("1,1,0,2024-01-10", "2,1,0,2024-01-10", "3,1,0,2024-01-10",
+                "3,2,1,2024-01-11", "3,2,2,2024-01-12", "5,1,0,2024-02-01", "3,2,0,2024-02-02", "6,1,0,2024-02-02");
+        assertThat(format(logDataAccess.findAll())).isEqualTo(expected);
+        assertThat(format(newDataAccess(StoreOptions.defaults()).findAll())).isEqualTo(expected);
+        assertThat(logDataAccess.findByTaskCode(3)).hasSize(4);
+    }
+
+    @Test
+    public void testDeleteByRewritingFile() {
+        LogDataAccess logDataAccess = newDataAccess(StoreOptions.defaults().withOffHeapLogs(true));
+
+        logDataAccess.deleteByTaskCode(3);
+
+        assertThat(logDataAccess.findAll()).extracting(Log::getTaskCode).containsExactly(1, 2, 4, 4);
+        assertThat(logDataAccess.findByTaskCode(3)).isEmpty();
+        assertThat(newDataAccess(StoreOptions.defaults()).findAll()).extracting(Log::getTaskCode)
+                .containsExactly(1, 2, 4, 4);
+    }
+
+    @Test
+    public void testFindByTaskCodeWithoutOffHeapLogs() {
+        LogDataAccess logDataAccess = newDataAccess(StoreOptions.defaults());
+
+        assertThat(format(logDataAccess.findByTaskCode(4))).containsExactly("4,1,0,2024-01-10", "4,2,1,2024-01-13");
+    }
+
+    @Test
+    public void testVisitParallelCoversAllLogsInOrder() throws IOException {
+        // ファイル・ヒープの外のどちらも複数の範囲に分かれる件数にする
+        StringBuilder content = new StringBuilder("Task_Code,Change_User_Code,Status,Change_Date");
+        for (int i = 0; i < 600_000; i++) {
+            content.append('\n').append(i / 3 + 1).append(',').append(i % 5 + 1).append(',').append(i % 3)
+                    .append(',').append(LocalDate.of(2024, 1, 1).plusDays(i % 400));
+        }
+        Files.writeString(logFile, content);
+
+        for (StoreOptions options : List.of(StoreOptions.defaults(), StoreOptions.defaults().withOffHeapLogs(true))) {
+            LogDataAccess logDataAccess = newDataAccess(options);
+            List<RangeCollector> ranges = logDataAccess.visitParallel(RangeCollector::new);
+
+            assertThat(ranges.size()).isGreaterThan(1);
+            assertThat(ranges.stream().flatMap(range -> range.lines.stream()).toList())
+                    .isEqualTo(format(logDataAccess.findAll()));
+        }
+    }
+
+    private LogDataAccess newDataAccess(StoreOptions options) {
+        return new LogDataAccess(logFile.toString(), options);
+    }
+
+    private static List<String> format(List<Log> logs) {
+        return logs.stream()
+                .map(log -> log.getTaskCode() + "," + log.getChangeUserCode() + "," + log.getStatus() + ","
+                        + log.getChangeDate())
+                .toList();
+    }
+
+    private static final class RangeCollector implements LogDataAccess.LogVisitor {
+        private final List<String> lines = new ArrayList<>();
+
+        @Override
+        public void visit(int taskCode, int changeUserCode, int status, long epochDay) {
+            lines.add(taskCode + "," + changeUserCode + "," + status + "," + LocalDate.ofEpochDay(epochDay));
+        }
+    }
+}
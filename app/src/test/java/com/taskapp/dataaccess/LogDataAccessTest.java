@@ -17,6 +17,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
+import com.taskapp.metrics.Metrics;
+import com.taskapp.metrics.OperationMetrics;
 import com.taskapp.model.Log;
 
 public class LogDataAccessTest {
@@ -67,6 +69,16 @@ public class LogDataAccessTest {
         assertThat(actuaList).isEqualTo(expectedList);
     }
 
+    @Test
+    public void testFindAllCountsBytesReadOnCallingThread() throws IOException {
+        OperationMetrics findAll = Metrics.operation("LogDataAccess.findAll");
+        findAll.reset();
+
+        new LogDataAccess(TEST_FILE_PATH, StoreOptions.defaults()).findAll();
+
+        assertThat(findAll.getBytesRead()).isEqualTo(Files.size(Paths.get(TEST_FILE_PATH)));
+    }
+
     @Tag("Q5")
     @Test
     public void testDeleteByTaskCode() {
@@ -86,6 +98,17 @@ public class LogDataAccessTest {
         assertThat(logs).doesNotContain(log2);
     }
 
+    @Test
+    public void testForEach() {
+        List<Log> visited = new ArrayList<>();
+        logDataAccess.forEach(visited::add);
+
+        List<Log> expectedList = readLogsFromFile(TEST_FILE_PATH);
+        assertThat(visited).isEqualTo(expectedList);
+        assertThat(visited).extracting(Log::getChangeDate)
+                .isEqualTo(expectedList.stream().map(Log::getChangeDate).toList());
+    }
+
     private List<Log> readLogsFromFile(String filePath) {
         List<Log> logs = new ArrayList<>();
         try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
@@ -0,0 +1,103 @@
+package com.taskapp.dataaccess;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.taskapp.model.Log;
+
+public class LogDataAccessTombstoneTest {
+    private static final String TEST_FILE_PATH = "src/test/resources/test_logs.csv";
+
+    @TempDir
+    Path tempDir;
+
+    private Path logFile;
+    private LogDataAccess logDataAccess;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        logFile = tempDir.resolve("logs.csv");
+        Files.copy(Paths.get(TEST_FILE_PATH), logFile);
+        logDataAccess = newDataAccess(StoreOptions.defaults().withTombstones(true));
+    }
+
+    @Test
+    public void testDeleteMarksRowsInPlace() throws IOException {
+        long sizeBefore = Files.size(logFile);
+
+        logDataAccess.deleteByTaskCode(3);
+
+        assertThat(Files.size(logFile)).isEqualTo(sizeBefore);
+        assertThat(Files.readAllLines(logFile).stream().filter(line -> line.startsWith("#"))).hasSize(3);
+        assertThat(logDataAccess.findAll()).extracting(Log::getTaskCode).containsExactly(1, 2, 4, 4);
+        assertThat(newDataAccess(StoreOptions.defaults()).findAll()).extracting(Log::getTaskCode)
+                .containsExactly(1, 2, 4, 4);
+    }
+
+    @Test
+    public void testDefaultsDeleteWithoutMarks() throws IOException {
+        LogDataAccess rewriting = newDataAccess(StoreOptions.defaults());
+
+        rewriting.deleteByTaskCode(3);
+
+        List<String> lines = Files.readAllLines(logFile);
+        assertThat(lines).hasSize(5);
+        assertThat(lines).noneMatch(line -> line.startsWith("#"));
+        assertThat(rewriting.findAll()).extracting(Log::getTaskCode).containsExactly(1, 2, 4, 4);
+    }
+
+    @Test
+    public void testLogsSavedAfterIndexIsLoadedCanBeDeleted() {
+        logDataAccess.deleteByTaskCode(1);
+
+        logDataAccess.save(new Log(5, 1, 0, LocalDate.of(2024, 2, 1)));
+        logDataAccess.save(new Log(2, 1, 1, LocalDate.of(2024, 2, 2)));
+        logDataAccess.deleteByTaskCode(2);
+
+        assertThat(logDataAccess.findAll()).extracting(Log::getTaskCode).containsExactly(3, 4, 3, 3, 4, 5);
+    }
+
+    @Test
+    public void testPurgeReclaimsTombstonedRows() throws IOException {
+        logDataAccess.deleteByTaskCode(3);
+        logDataAccess.deleteByTaskCode(4);
+
+        logDataAccess.purgeTombstones();
+
+        List<String> lines = Files.readAllLines(logFile);
+        assertThat(lines).hasSize(3);
+        assertThat(lines).noneMatch(line -> line.startsWith("#"));
+        assertThat(logDataAccess.findAll()).extracting(Log::getTaskCode).containsExactly(1, 2);
+
+        logDataAccess.deleteByTaskCode(1);
+        assertThat(logDataAccess.findAll()).extracting(Log::getTaskCode).containsExactly(2);
+    }
+
+    @Test
+    public void testPurgeRunsInBackgroundWhenGarbageRatioIsExceeded() throws Exception {
+        LogDataAccess purging = newDataAccess(StoreOptions.defaults().withTombstones(true).withCompaction(0.5, 5));
+
+        purging.deleteByTaskCode(3);
+        purging.deleteByTaskCode(4);
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (Files.readAllLines(logFile).size() != 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(Files.readAllLines(logFile)).hasSize(3);
+    }
+
+    private LogDataAccess newDataAccess(StoreOptions options) {
+        return new LogDataAccess(logFile.toString(), options);
+    }
+}
@@ -0,0 +1,116 @@
+package com.taskapp.dataaccess;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class OffHeapLogStoreTest {
+
+    @Test
+    public void testAppendAndScanAcrossChunks() {
+        OffHeapLogStore store = new OffHeapLogStore();
+        for (int i = 0; i < 200_000; i++) {
+            store.append(i % 1_000 + 1, i % 7, i % 3, i - 100);
+        }
+
+        List<long[]> scanned = new ArrayList<>();
+        store.forEach((offset, taskCode, changeUserCode, status, epochDay) ->
+                scanned.add(new long[] { offset, taskCode, changeUserCode, status, epochDay }));
+
+        assertThat(store.size()).isEqualTo(200_000);
+        assertThat(scanned).hasSize(200_000);
+        assertThat(scanned.get(0)).containsExactly(0, 1, 0, 0, -100);
+        assertThat(scanned.get(131_072)).containsExactly(131_072, 73, 4, 2, 130_972);
+        assertThat(store.reservedBytes()).isGreaterThanOrEqualTo(200_000L * OffHeapLogStore.RECORD_SIZE);
+    }
+
+    @Test
+    public void testForEachRangeSkipsDeletedRecords() {
+        OffHeapLogStore store = new OffHeapLogStore();
+        for (int i = 0; i < 100_000; i++) {
+            store.append(i % 10 + 1, 1, i % 3, i);
+        }
+        store.remove(3);
+
+        List<Long> offsets = new ArrayList<>();
+        store.forEach(65_530, 65_545, (offset, taskCode, changeUserCode, status, epochDay) -> offsets.add(offset));
+        store.forEach(99_995, Integer.MAX_VALUE, (offset, taskCode, changeUserCode, status, epochDay) -> offsets.add(offset));
+
+        assertThat(store.length()).isEqualTo(100_000);
+        assertThat(offsets).containsExactly(65_530L, 65_531L, 65_533L, 65_534L, 65_535L, 65_536L, 65_537L,
+                65_538L, 65_539L, 65_540L, 65_541L, 65_543L, 65_544L, 99_995L, 99_996L, 99_997L, 99_998L, 99_999L);
+    }
+
+    @Test
+    public void testForEachByTaskCodeReturnsOnlyThatTaskInOrder() {
+        OffHeapLogStore store = new OffHeapLogStore();
+        for (int i = 0; i < 100_000; i++) {
+            store.append(i % 100, 1, i % 3, i);
+        }
+
+        List<Long> days = new ArrayList<>();
+        store.forEachByTaskCode(42, (offset, taskCode, changeUserCode, status, epochDay) -> {
+            assertThat(taskCode).isEqualTo(42);
+            days.add(epochDay);
+        });
+        assertThat(days).hasSize(1_000).startsWith(42L, 142L).endsWith(99_942L).isSorted();
+
+        days.clear();
+        store.forEachByTaskCode(42, 500, 800, (offset, taskCode, changeUserCode, status, epochDay) -> days.add(epochDay));
+        assertThat(days).containsExactly(542L, 642L, 742L);
+
+        store.forEachByTaskCode(100, (offset, taskCode, changeUserCode, status, epochDay) -> fail("unexpected"));
+    }
+
+    @Test
+    public void testAnyStatusValueIsKept() {
+        OffHeapLogStore store = new OffHeapLogStore();
+        store.append(1, 1, Integer.MIN_VALUE, 0);
+        store.append(2, 1, 0, 0);
+        store.remove(2);
+
+        List<Integer> statuses = new ArrayList<>();
+        store.forEach((offset, taskCode, changeUserCode, status, epochDay) -> statuses.add(status));
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(statuses).containsExactly(Integer.MIN_VALUE);
+    }
+
+    @Test
+    public void testRemoveAndCompaction() {
+        OffHeapLogStore store = new OffHeapLogStore();
+        for (int i = 0; i < 100_000; i++) {
+            store.append(i % 100, 1, 0, i);
+        }
+        long reserved = store.reservedBytes();
+
+        assertThat(store.remove(1)).isEqualTo(1_000);
+        assertThat(store.remove(1)).isZero();
+        assertThat(store.size()).isEqualTo(99_000);
+        for (int taskCode = 2; taskCode < 80; taskCode++) {
+            store.remove(taskCode);
+        }
+
+        // 削除済みが半分を超えた時点で詰め直し、使わなくなったチャンクを手放す
+        assertThat(store.size()).isEqualTo(21_000);
+        assertThat(store.reservedBytes()).isLessThan(reserved);
+        List<Integer> taskCodes = new ArrayList<>();
+        store.forEach((offset, taskCode, changeUserCode, status, epochDay) -> taskCodes.add(taskCode));
+        assertThat(taskCodes).hasSize(21_000).startsWith(0, 80, 81).endsWith(99);
+
+        store.append(1, 2, 1, 200_000);
+        List<Long> days = new ArrayList<>();
+        store.forEachByTaskCode(99, (offset, taskCode, changeUserCode, status, epochDay) -> days.add(epochDay));
+        assertThat(days).hasSize(1_000).startsWith(99L).endsWith(99_999L);
+        days.clear();
+        store.forEachByTaskCode(1, (offset, taskCode, changeUserCode, status, epochDay) -> days.add(epochDay));
+        assertThat(days).containsExactly(200_000L);
+
+        store.clear();
+        assertThat(store.size()).isZero();
+        assertThat(store.reservedBytes()).isZero();
+    }
+}
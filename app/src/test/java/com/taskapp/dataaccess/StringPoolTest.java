@@ -0,0 +1,35 @@
+package com.taskapp.dataaccess;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class StringPoolTest {
+
+    @Test
+    public void testInternReturnsSameIdForEqualStrings() {
+        StringPool pool = new StringPool();
+        String first = new String("task");
+        int id = pool.intern(first);
+
+        assertThat(pool.intern(new String("task"))).isEqualTo(id);
+        assertThat(pool.get(id)).isSameAs(first);
+        assertThat(pool.intern("other")).isNotEqualTo(id);
+        assertThat(pool.size()).isEqualTo(2);
+    }
+
+    @Test
+    public void testManyStringsAndCopy() {
+        StringPool pool = new StringPool();
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(pool.intern("name" + i)).isEqualTo(i);
+        }
+        StringPool copy = pool.copy();
+        pool.intern("added");
+
+        assertThat(copy.size()).isEqualTo(10_000);
+        assertThat(copy.intern("name1234")).isEqualTo(1234);
+        assertThat(copy.get(9_999)).isEqualTo("name9999");
+        assertThat(copy.intern("added")).isEqualTo(10_000);
+    }
+}
@@ -0,0 +1,175 @@
+package com.taskapp.dataaccess;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.taskapp.model.Task;
+import com.taskapp.model.User;
+
+public class TaskDataAccessJournalTest {
+    private static final String TEST_FILE_PATH = "src/test/resources/test_tasks.csv";
+    private static final String TEST_FILE_PATH_USER = "src/test/resources/test_users.csv";
+
+    @TempDir
+    Path tempDir;
+
+    private Path csvFile;
+    private Path journalFile;
+    private UserDataAccess userDataAccess;
+    private TaskDataAccess taskDataAccess;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        csvFile = tempDir.resolve("tasks.csv");
+        journalFile = tempDir.resolve("tasks.csv.journal");
+        Files.copy(Paths.get(TEST_FILE_PATH), csvFile);
+
+        userDataAccess = new UserDataAccess(TEST_FILE_PATH_USER);
+        taskDataAccess = newDataAccess();
+    }
+
+    @Test
+    public void testMutationsAppendToJournalWithoutRewritingCsv() throws IOException {
+        List<String> csvBefore = Files.readAllLines(csvFile);
+        User repUser = userDataAccess.findByCode(1);
+
+        taskDataAccess.save(new Task(5, "Task 5", 0, repUser));
+        taskDataAccess.update(new Task(1, "taskA", 1, repUser));
+        taskDataAccess.delete(3);
+
+        assertThat(Files.readAllLines(csvFile)).isEqualTo(csvBefore);
+        List<String> journal = Files.readAllLines(journalFile, StandardCharsets.UTF_8);
+        assertThat(journal.subList(journal.size() - 3, journal.size()))
+                .containsExactly("S,5,0,1,Task 5", "U,1,1,1,taskA", "D,3");
+    }
+
+    @Test
+    public void testStateIsRestoredByReplayingJournal() {
+        User repUser = userDataAccess.findByCode(1);
+        taskDataAccess.save(new Task(5, "Task, 5", 0, repUser));
+        taskDataAccess.update(new Task(1, "taskA", 1, repUser));
+        taskDataAccess.delete(3);
+
+        TaskDataAccess reopened = newDataAccess();
+
+        assertThat(reopened.findAll()).extracting(Task::getCode).containsExactly(1, 2, 4, 5);
+        assertThat(reopened.findByCode(1).getStatus()).isEqualTo(1);
+        assertThat(reopened.findByCode(5).getName()).isEqualTo("Task, 5");
+        assertThat(reopened.findByCode(3)).isNull();
+    }
+
+    @Test
+    public void testNameWithNewlineIsReplayedAsOneRecord() {
+        User repUser = userDataAccess.findByCode(1);
+        taskDataAccess.save(new Task(5, "x\nD,1", 0, repUser));
+        taskDataAccess.update(new Task(2, "a\r\n\"U\",2,0,1,b", 1, repUser));
+
+        TaskDataAccess reopened = newDataAccess();
+
+        // 名前の改行以降が削除・更新のレコードとして再生されないこと
+        assertThat(reopened.findAll()).extracting(Task::getCode).containsExactly(1, 2, 3, 4, 5);
+        assertThat(reopened.findByCode(5).getName()).isEqualTo("x\nD,1");
+        assertThat(reopened.findByCode(2).getName()).isEqualTo("a\r\n\"U\",2,0,1,b");
+    }
+
+    @Test
+    public void testRecordsWithExtraFieldsAreIgnored() throws IOException {
+        Files.writeString(journalFile, "#snapshot\nS,1,0,1,taskA\nS,2,0,2,a,b,c\nU,1,2,1,d, e\n");
+
+        TaskDataAccess reopened = newDataAccess();
+
+        assertThat(reopened.findByCode(2)).isNull();
+        assertThat(reopened.findByCode(1).getName()).isEqualTo("taskA");
+        assertThat(reopened.findByCode(1).getStatus()).isZero();
+    }
+
+    @Test
+    public void testExportCsvWritesCurrentState() throws IOException {
+        User repUser = userDataAccess.findByCode(2);
+        taskDataAccess.update(new Task(2, "taskB", 1, repUser));
+        taskDataAccess.delete(1);
+
+        Path exportFile = tempDir.resolve("export.csv");
+        taskDataAccess.exportCsv(exportFile.toString());
+
+        assertThat(Files.readAllLines(exportFile)).containsExactly(
+                "Code,Name,Status,Rep_User_Code",
+                "2,taskB,1,2",
+                "3,taskC,2,2",
+                "4,taskD,1,2");
+    }
+
+    @Test
+    public void testCompactRewritesJournalWithLiveRecordsOnly() throws IOException {
+        User repUser = userDataAccess.findByCode(1);
+        for (int status = 0; status < 3; status++) {
+            taskDataAccess.update(new Task(1, "taskA", status, repUser));
+        }
+        taskDataAccess.delete(3);
+
+        taskDataAccess.compact();
+
+        assertThat(Files.readAllLines(journalFile, StandardCharsets.UTF_8)).containsExactly(
+                "#snapshot",
+                "S,1,2,1,taskA",
+                "S,2,0,2,taskB",
+                "S,4,1,2,taskD");
+        assertThat(newDataAccess().findAll()).extracting(Task::getCode).containsExactly(1, 2, 4);
+        assertThat(taskDataAccess.getCompactionStats().getCompactions()).isEqualTo(1);
+    }
+
+    @Test
+    public void testCompactionRunsInBackgroundWhenGarbageRatioIsExceeded() throws Exception {
+        TaskDataAccess compacting = new TaskDataAccess(csvFile.toString(), userDataAccess,
+                StoreOptions.defaults().withJournal(true).withCompaction(0.5, 10));
+        User repUser = userDataAccess.findByCode(1);
+
+        for (int i = 0; i < 100; i++) {
+            compacting.update(new Task(1, "taskA", i % 3, repUser));
+        }
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (compacting.getCompactionStats().getCompactions() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(compacting.getCompactionStats().getCompactions()).isPositive();
+
+        // 圧縮中に追記されたレコードも失われていないこと
+        Thread.sleep(100);
+        assertThat(newDataAccess().findByCode(1).getStatus()).isEqualTo(99 % 3);
+        assertThat(Files.readAllLines(journalFile).size()).isLessThan(100);
+    }
+
+    @Test
+    public void testEachCompactionWritesItsOwnTemporaryFile() throws IOException {
+        TaskJournal journal = new TaskJournal(journalFile, StoreOptions.defaults());
+        User repUser = userDataAccess.findByCode(1);
+        journal.writeSnapshot(List.of(new Task(1, "snapshot", 0, repUser)));
+
+        Path first = journal.writeCompacted(List.of(new Task(1, "first", 0, repUser)));
+        Path second = journal.writeCompacted(List.of(new Task(2, "second", 0, repUser)));
+
+        // 同時に書き出しても、一方の一時ファイルをもう一方が上書きしない
+        assertThat(first).isNotEqualTo(second);
+        assertThat(Files.readAllLines(first)).containsExactly("#snapshot", "S,1,0,1,first");
+        journal.commitCompacted(second, 1, -1);
+        assertThat(Files.readAllLines(journalFile)).containsExactly("#snapshot", "S,2,0,1,second");
+        assertThat(first).exists();
+        assertThat(journal.snapshots()).isEqualTo(1);
+        Files.delete(first);
+    }
+
+    private TaskDataAccess newDataAccess() {
+        return new TaskDataAccess(csvFile.toString(), userDataAccess, StoreOptions.defaults().withJournal(true));
+    }
+}
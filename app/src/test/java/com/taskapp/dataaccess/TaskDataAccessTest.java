@@ -3,6 +3,7 @@ package com.taskapp.dataaccess;
 import static org.assertj.core.api.Assertions.*;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.FileReader;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -16,8 +17,10 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import com.taskapp.model.Task;
+import com.taskapp.model.TaskSummary;
 import com.taskapp.model.User;
 
 public class TaskDataAccessTest {
@@ -51,6 +54,36 @@ public class TaskDataAccessTest {
         Files.delete(backupFile);
     }
 
+    @Test
+    public void testParallelLoadMatchesSequentialRead(@TempDir Path tempDir) throws IOException {
+        // 範囲を小さくして複数の範囲に分け、改行を含むタスク名が範囲の境目をまたぐようにする
+        long chunkSize = 4_096;
+        Path file = tempDir.resolve("tasks.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("Code,Name,Status,Rep_User_Code");
+            for (int code = 1; code <= 3_000; code++) {
+                writer.newLine();
+                String name = code % 97 == 0 ? CsvTokenizer.quote("改行\nと\"引用符\"," + code) : "タスク" + code;
+                writer.write(code + "," + name + "," + code % 3 + "," + (code % 2 + 1));
+            }
+        }
+
+        TaskDataAccess loaded = new TaskDataAccess(file.toString(), userDataAccess);
+        loaded.loadChunkSize = chunkSize;
+        List<Task> tasks = loaded.findAll();
+        List<Task> expected = new TaskDataAccess(file.toString(), userDataAccess).findPage(0, 3_000);
+
+        assertThat(Files.size(file)).isGreaterThan(10 * chunkSize);
+        assertThat(tasks).hasSize(3_000);
+        assertThat(tasks).extracting(Task::getCode, Task::getName, Task::getStatus)
+                .isEqualTo(expected.stream().map(task -> tuple(task.getCode(), task.getName(), task.getStatus()))
+                        .toList());
+        assertThat(loaded.findByCode(97 * 30).getName()).isEqualTo("改行\nと\"引用符\"," + 97 * 30);
+        assertThat(loaded.findByCode(1).getName()).isEqualTo("タスク1");
+        assertThat(loaded.summary().getCount(2, 1)).isEqualTo(expected.stream()
+                .filter(task -> task.getRepUser().getCode() == 2 && task.getStatus() == 1).count());
+    }
+
     @Tag("Q3")
     @Test
     public void testSave() {
@@ -129,6 +162,119 @@ public class TaskDataAccessTest {
         assertThat(tasks).doesNotContain(task2);
     }
 
+    @Test
+    public void testFindByCodeFollowsUpdateAndDelete() {
+        User repUser = new User(1, "鈴木一郎", "test1@example.com", "password1");
+        taskDataAccess.save(new Task(5, "Task 5", 0, repUser));
+
+        Task task = taskDataAccess.findByCode(5);
+        task.setStatus(1);
+        assertThat(taskDataAccess.findByCode(5).getStatus()).isEqualTo(0);
+
+        taskDataAccess.update(task);
+        assertThat(taskDataAccess.findByCode(5).getStatus()).isEqualTo(1);
+
+        taskDataAccess.delete(5);
+        assertThat(taskDataAccess.findByCode(5)).isNull();
+    }
+
+    @Test
+    public void testFailedRewriteLeavesTableUnchanged() throws IOException {
+        User repUser = userDataAccess.findByCode(1);
+        List<Task> before = taskDataAccess.findAll();
+        String content = Files.readString(Paths.get(TEST_FILE_PATH));
+        // 一時ファイルの位置にディレクトリを置き、書き直しを失敗させる
+        Path blocker = Files.createDirectory(Paths.get(TEST_FILE_PATH + ".tmp"));
+        try {
+            taskDataAccess.update(new Task(2, "Updated Task 2", 2, repUser));
+            taskDataAccess.delete(3);
+        } finally {
+            Files.delete(blocker);
+        }
+
+        assertThat(Files.readString(Paths.get(TEST_FILE_PATH))).isEqualTo(content);
+        assertThat(taskDataAccess.findAll()).isEqualTo(before);
+        assertThat(taskDataAccess.findByCode(2).getName()).isEqualTo("taskB");
+        assertThat(taskDataAccess.findByCode(3)).isNotNull();
+        assertThat(taskDataAccess.summary().getTotal()).isEqualTo(4);
+
+        // 書き込めるようになれば、同じ変更がファイルとメモリの両方に反映される
+        taskDataAccess.delete(3);
+        assertThat(readTasksFromFile(TEST_FILE_PATH)).extracting(Task::getCode).containsExactly(1, 2, 4);
+        assertThat(taskDataAccess.findByCode(3)).isNull();
+    }
+
+    @Test
+    public void testFailedLoadIsNeitherKeptNorWritten(@TempDir Path tempDir) throws IOException {
+        Path file = tempDir.resolve("tasks.csv");
+        TaskDataAccess missing = new TaskDataAccess(file.toString(), userDataAccess);
+
+        assertThat(missing.findAll()).isEmpty();
+        missing.delete(1);
+        missing.update(new Task(2, "Updated Task 2", 2, userDataAccess.findByCode(1)));
+        missing.exportCsv(file.toString());
+
+        // 空のタスク表からCSVを書き直さない
+        assertThat(file).doesNotExist();
+
+        // 読み込めるようになれば、次の参照で読み込み直す
+        Files.copy(Paths.get(TEST_FILE_PATH), file);
+        assertThat(missing.findAll()).extracting(Task::getCode).containsExactly(1, 2, 3, 4);
+    }
+
+    @Test
+    public void testNameWithCommaAndQuoteIsQuoted() {
+        User repUser = new User(1, "鈴木一郎", "test1@example.com", "password1");
+        taskDataAccess.save(new Task(5, "A,\"B\"", 0, repUser));
+        // 書き直した後も読み込めることを確認する
+        taskDataAccess.update(new Task(5, "A,\"B\"", 1, repUser));
+
+        Task task = new TaskDataAccess(TEST_FILE_PATH, userDataAccess).findByCode(5);
+        assertThat(task.getName()).isEqualTo("A,\"B\"");
+        assertThat(task.getStatus()).isEqualTo(1);
+    }
+
+    @Test
+    public void testFindPageBeforeAndAfterLoading() {
+        List<Task> expectedList = readTasksFromFile(TEST_FILE_PATH);
+
+        // 一覧を読み込む前はファイルの先頭から必要な行だけを読む
+        assertThat(taskDataAccess.findPage(1, 2)).isEqualTo(expectedList.subList(1, 3));
+        assertThat(taskDataAccess.findPage(3, 10)).isEqualTo(expectedList.subList(3, 4));
+        assertThat(taskDataAccess.findPage(10, 10)).isEmpty();
+
+        taskDataAccess.delete(2);
+        assertThat(taskDataAccess.findPage(1, 2)).extracting(Task::getCode).containsExactly(3, 4);
+        assertThatThrownBy(() -> taskDataAccess.findPage(-1, 2)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testIndexOf() {
+        assertThat(taskDataAccess.indexOf(3)).isEqualTo(2);
+        taskDataAccess.delete(1);
+        assertThat(taskDataAccess.indexOf(3)).isEqualTo(1);
+        assertThat(taskDataAccess.indexOf(1)).isEqualTo(-1);
+    }
+
+    @Test
+    public void testSummaryMatchesFindAll() {
+        User repUser = userDataAccess.findByCode(1);
+        taskDataAccess.save(new Task(5, "Task 5", 0, repUser));
+        taskDataAccess.update(new Task(2, "taskB", 2, userDataAccess.findByCode(2)));
+        taskDataAccess.delete(4);
+
+        TaskSummary summary = taskDataAccess.summary();
+        List<Task> tasks = taskDataAccess.findAll();
+        assertThat(summary.getTotal()).isEqualTo(tasks.size());
+        for (int status = 0; status < TaskSummary.STATUSES; status++) {
+            int expected = status;
+            assertThat(summary.getCount(status))
+                    .isEqualTo(tasks.stream().filter(task -> task.getStatus() == expected).count());
+        }
+        assertThat(summary.getCount(1, 0)).isEqualTo(2);
+        assertThat(summary.getCount(2, 2)).isEqualTo(2);
+    }
+
     private List<Task> readTasksFromFile(String filePath) {
         List<Task> tasks = new ArrayList<>();
         try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
@@ -149,4 +295,4 @@ public class TaskDataAccessTest {
         }
         return tasks;
     }
-}
\ No newline at end of file
+}
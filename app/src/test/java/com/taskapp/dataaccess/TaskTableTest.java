@@ -0,0 +1,265 @@
+package com.taskapp.dataaccess;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.taskapp.model.Task;
+import com.taskapp.model.TaskSummary;
+import com.taskapp.model.User;
+
+public class TaskTableTest {
+    private final User user = new User(1, "鈴木一郎", "test1@example.com", "password1");
+
+    @Test
+    public void testFindReturnsLastRowForDuplicateCode() {
+        TaskTable table = new TaskTable();
+        table.add(new Task(1, "first", 0, user));
+        table.add(new Task(2, "other", 0, user));
+        table.add(new Task(1, "second", 1, user));
+
+        assertThat(table.find(1).getName()).isEqualTo("second");
+        assertThat(table.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void testReplaceAndRemoveAffectAllRowsWithCode() {
+        TaskTable table = new TaskTable();
+        table.add(new Task(1, "first", 0, user));
+        table.add(new Task(2, "other", 0, user));
+        table.add(new Task(1, "second", 1, user));
+
+        table.replace(new Task(1, "updated", 2, user));
+        assertThat(table.rows()).extracting(Task::getName).containsExactly("updated", "other", "updated");
+
+        table.remove(1);
+        assertThat(table.rows()).extracting(Task::getName).containsExactly("other");
+        assertThat(table.find(1)).isNull();
+    }
+
+    @Test
+    public void testReplaceMissingCodeDoesNothing() {
+        TaskTable table = new TaskTable();
+        table.add(new Task(1, "first", 0, user));
+
+        table.replace(new Task(9, "missing", 0, user));
+
+        assertThat(table.find(9)).isNull();
+        assertThat(table.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testFoundTaskIsDetachedFromTable() {
+        TaskTable table = new TaskTable();
+        table.add(new Task(1, "first", 0, user));
+
+        Task found = table.find(1);
+        found.setStatus(2);
+
+        assertThat(table.find(1).getStatus()).isZero();
+        assertThat(table.find(1).getName()).isEqualTo("first");
+        assertThat(table.find(1).getRepUser()).isSameAs(user);
+    }
+
+    @Test
+    public void testNullRepUserAndPooledNames() {
+        TaskTable table = new TaskTable();
+        table.add(new Task(1, new String("same"), 0, null));
+        table.add(new Task(2, new String("same"), 0, user));
+
+        assertThat(table.find(1).getRepUser()).isNull();
+        assertThat(table.find(1).getName()).isSameAs(table.find(2).getName());
+    }
+
+    @Test
+    public void testCompactionKeepsOrderAndIndex() {
+        TaskTable table = new TaskTable();
+        for (int code = 1; code <= 3_000; code++) {
+            table.add(new Task(code, "task" + code, code % 3, user));
+        }
+        table.add(new Task(2_999, "duplicate", 1, user));
+        for (int code = 1; code <= 2_000; code++) {
+            table.remove(code);
+        }
+
+        assertThat(table.size()).isEqualTo(1_001);
+        assertThat(table.rows()).extracting(Task::getCode).first().isEqualTo(2_001);
+        assertThat(table.rows().get(1_000).getName()).isEqualTo("duplicate");
+        assertThat(table.find(1_000)).isNull();
+        assertThat(table.find(2_999).getName()).isEqualTo("duplicate");
+
+        table.replace(new Task(2_999, "updated", 2, user));
+        assertThat(table.rows()).filteredOn(task -> task.getCode() == 2_999)
+                .extracting(Task::getName).containsExactly("updated", "updated");
+        table.add(new Task(1, "again", 0, user));
+        assertThat(table.find(1).getName()).isEqualTo("again");
+    }
+
+    @Test
+    public void testStatusOutsideByteRangeIsKept() {
+        TaskTable table = new TaskTable();
+        table.add(new Task(1, "min", Integer.MIN_VALUE, user));
+        table.add(new Task(2, "negative", -128, user));
+        table.add(new Task(3, "large", 128, user));
+        table.add(new Task(4, "removed", 0, user));
+        table.remove(4);
+
+        assertThat(table.size()).isEqualTo(3);
+        assertThat(table.rows()).extracting(Task::getStatus).containsExactly(Integer.MIN_VALUE, -128, 128);
+        assertThat(table.find(3).getStatus()).isEqualTo(128);
+        assertThat(table.copy().rows()).extracting(Task::getCode).containsExactly(1, 2, 3);
+        // 0・1・2以外のステータスは未着手として集計する
+        assertThat(table.summary().getCount(0)).isEqualTo(3);
+        assertThat(table.summary().getTotal()).isEqualTo(3);
+    }
+
+    @Test
+    public void testCopyIsIndependent() {
+        TaskTable table = new TaskTable();
+        table.add(new Task(1, "first", 0, user));
+        table.add(new Task(2, "second", 0, user));
+        table.remove(1);
+
+        TaskTable copy = table.copy();
+        table.replace(new Task(2, "updated", 1, user));
+        table.add(new Task(3, "third", 0, user));
+
+        assertThat(copy.rows()).extracting(Task::getName).containsExactly("second");
+        assertThat(copy.find(2).getStatus()).isZero();
+        assertThat(copy.find(3)).isNull();
+    }
+
+    @Test
+    public void testSliceSkipsRemovedRows() {
+        TaskTable table = new TaskTable();
+        for (int code = 1; code <= 5; code++) {
+            table.add(new Task(code, "task" + code, 0, user));
+        }
+        table.remove(2);
+
+        assertThat(table.slice(0, 2)).extracting(Task::getCode).containsExactly(1, 3);
+        assertThat(table.slice(2, 10)).extracting(Task::getCode).containsExactly(4, 5);
+        assertThat(table.slice(4, 10)).isEmpty();
+        assertThat(table.slice(1, 0)).isEmpty();
+    }
+
+    @Test
+    public void testIndexOfCountsLiveRowsOnly() {
+        TaskTable table = new TaskTable();
+        table.add(new Task(1, "first", 0, user));
+        table.add(new Task(2, "second", 0, user));
+        table.add(new Task(3, "third", 0, user));
+        table.remove(1);
+
+        assertThat(table.indexOf(3)).isEqualTo(1);
+        assertThat(table.indexOf(1)).isEqualTo(-1);
+        assertThat(table.indexOf(9)).isEqualTo(-1);
+    }
+
+    @Test
+    public void testSliceAndIndexOfAcrossBlocks() {
+        TaskTable table = new TaskTable();
+        for (int code = 1; code <= 20_000; code++) {
+            table.add(new Task(code, "task" + code, 0, user));
+        }
+        // 詰め直さない件数で、ブロックの境目をまたいで削除する
+        for (int code = 1; code <= 20_000; code++) {
+            if (code % 5 == 0 || code >= 4_090 && code <= 8_200) {
+                table.remove(code);
+            }
+        }
+        List<Task> rows = table.rows();
+
+        for (int index = 0; index < rows.size(); index += 7) {
+            int code = rows.get(index).getCode();
+            assertThat(table.slice(index, 1)).extracting(Task::getCode).containsExactly(code);
+            assertThat(table.indexOf(code)).isEqualTo(index);
+        }
+        assertThat(table.slice(rows.size() - 1, 10)).hasSize(1);
+        assertThat(table.slice(rows.size(), 10)).isEmpty();
+    }
+
+    @Test
+    public void testSummaryFollowsAddReplaceAndRemove() {
+        User other = new User(2, "鈴木二郎", "test2@example.com", "password2");
+        TaskTable table = new TaskTable();
+        table.add(new Task(1, "first", 0, user));
+        table.add(new Task(2, "second", 1, other));
+        table.add(new Task(3, "third", 2, other));
+        table.add(new Task(4, "broken", 9, null));
+
+        TaskSummary summary = table.summary();
+        assertThat(summary.getCount(0)).isEqualTo(2);
+        assertThat(summary.getCount(1)).isEqualTo(1);
+        assertThat(summary.getCount(2)).isEqualTo(1);
+        assertThat(summary.getRepUserCodes()).containsExactly(TaskSummary.NO_REP_USER, 1, 2);
+        assertThat(summary.getCount(TaskSummary.NO_REP_USER, 0)).isEqualTo(1);
+
+        table.replace(new Task(1, "first", 2, other));
+        table.remove(2);
+
+        summary = table.summary();
+        assertThat(summary.getCount(0)).isEqualTo(1);
+        assertThat(summary.getCount(1)).isZero();
+        assertThat(summary.getCount(2)).isEqualTo(2);
+        assertThat(summary.getTotal()).isEqualTo(3);
+        // 担当しているタスクが無くなったユーザーは含めない
+        assertThat(summary.getRepUserCodes()).containsExactly(TaskSummary.NO_REP_USER, 2);
+        assertThat(summary.getCount(2, 2)).isEqualTo(2);
+        assertThat(summary.getCount(1, 0)).isZero();
+    }
+
+    @Test
+    public void testSummaryIsReusedUntilChangedAndSurvivesCompaction() {
+        TaskTable table = new TaskTable();
+        for (int code = 1; code <= 3_000; code++) {
+            table.add(new Task(code, "task" + code, code % 3, user));
+        }
+        TaskSummary summary = table.summary();
+        assertThat(table.summary()).isSameAs(summary);
+
+        for (int code = 1; code <= 2_000; code++) {
+            table.remove(code);
+        }
+
+        assertThat(table.summary()).isNotSameAs(summary);
+        assertThat(table.summary().getTotal()).isEqualTo(1_000);
+        assertThat(table.copy().summary().getCount(1, 0)).isEqualTo(table.summary().getCount(1, 0));
+        long status0 = table.rows().stream().filter(task -> task.getStatus() == 0).count();
+        assertThat(table.summary().getCount(0)).isEqualTo(status0);
+    }
+
+    @Test
+    public void testAddAllAppendsRowsInOrder() {
+        User other = new User(2, "鈴木二郎", "test2@example.com", "password2");
+        TaskTable table = new TaskTable();
+        table.add(new Task(1, "first", 0, user));
+        table.add(new Task(2, "same", 1, user));
+        TaskTable chunk = new TaskTable();
+        chunk.add(new Task(3, new String("same"), 2, other));
+        chunk.add(new Task(4, "removed", 0, other));
+        chunk.add(new Task(1, "again", 1, null));
+        chunk.remove(4);
+
+        table.addAll(chunk);
+
+        assertThat(table.rows()).extracting(Task::getCode).containsExactly(1, 2, 3, 1);
+        assertThat(table.find(1).getName()).isEqualTo("again");
+        assertThat(table.find(3).getName()).isSameAs(table.find(2).getName());
+        assertThat(table.find(3).getRepUser()).isSameAs(other);
+        assertThat(table.indexOf(3)).isEqualTo(2);
+
+        // 同じコードの全ての行が置き換わることを確かめる
+        table.replace(new Task(1, "replaced", 2, user));
+        assertThat(table.rows()).filteredOn(task -> task.getCode() == 1).extracting(Task::getName)
+                .containsExactly("replaced", "replaced");
+
+        TaskSummary summary = table.summary();
+        assertThat(summary.getTotal()).isEqualTo(4);
+        assertThat(summary.getCount(2)).isEqualTo(3);
+        assertThat(summary.getCount(2, 2)).isEqualTo(1);
+        assertThat(summary.getRepUserCodes()).containsExactly(1, 2);
+    }
+}
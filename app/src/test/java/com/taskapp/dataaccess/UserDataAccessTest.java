@@ -2,9 +2,15 @@ package com.taskapp.dataaccess;
 
 import static org.assertj.core.api.Assertions.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import com.taskapp.model.User;
 
@@ -35,4 +41,111 @@ public class UserDataAccessTest {
 
         assertThat(actualUser).isEqualToComparingFieldByField(expectedUser);
     }
+
+    @Test
+    public void testFindByCodeReturnsSharedInstance() {
+        User first = userDataAccess.findByCode(2);
+        User second = userDataAccess.findByCode(2);
+
+        assertThat(first).isSameAs(second);
+    }
+
+    @Test
+    public void testFindByCodeNotFound() {
+        assertThat(userDataAccess.findByCode(99)).isNull();
+    }
+
+    @Test
+    public void testFindByEmailAndPasswordNotFound() {
+        assertThat(userDataAccess.findByEmailAndPassword("test1@example.com", "password2")).isNull();
+        assertThat(userDataAccess.findByEmailAndPassword("unknown@example.com", "password1")).isNull();
+        assertThat(userDataAccess.findByEmailAndPassword(null, null)).isNull();
+    }
+
+    @Test
+    public void testFindByEmailAndPasswordReturnsRegisteredInstance() {
+        User user = userDataAccess.findByEmailAndPassword("test2@example.com", "password2");
+
+        assertThat(user).isSameAs(userDataAccess.findByCode(2));
+    }
+
+    @Test
+    public void testFindByEmailAndPasswordPrefersFirstRow(@TempDir Path tempDir) throws IOException {
+        Path users = tempDir.resolve("users.csv");
+        Files.writeString(users, "Code,Name,Email,Password\n"
+                + "1,first,same@example.com,password\n"
+                + "2,second,same@example.com,password\n"
+                + "3,third,same@example.com,other\n");
+        UserDataAccess dataAccess = new UserDataAccess(users.toString());
+
+        assertThat(dataAccess.findByEmailAndPassword("same@example.com", "password").getCode()).isEqualTo(1);
+        assertThat(dataAccess.findByEmailAndPassword("same@example.com", "other").getCode()).isEqualTo(3);
+    }
+
+    @Test
+    public void testChangedFileIsReloadedOnlyAfterDetection(@TempDir Path tempDir) throws IOException {
+        Path users = tempDir.resolve("users.csv");
+        Files.writeString(users, "Code,Name,Email,Password\n1,first,first@example.com,password1\n");
+        try (FileChangeDetector detector = new FileChangeDetector()) {
+            UserDataAccess dataAccess = new UserDataAccess(users.toString(), detector);
+            User first = dataAccess.findByCode(1);
+
+            Files.writeString(users, "Code,Name,Email,Password\n1,renamed,first@example.com,changed01\n"
+                    + "2,second,second@example.com,password2\n");
+            detector.checkAll();
+
+            assertThat(dataAccess.findByEmailAndPassword("first@example.com", "password1")).isNull();
+            assertThat(dataAccess.findByEmailAndPassword("first@example.com", "changed01").getName())
+                    .isEqualTo("renamed");
+            assertThat(dataAccess.findByEmailAndPassword("second@example.com", "password2")).isNotNull();
+            assertThat(dataAccess.findByCode(1)).isNotSameAs(first);
+        }
+    }
+
+    @Test
+    public void testWithoutDetectorMissReloadsChangedFile(@TempDir Path tempDir) throws IOException {
+        Path users = tempDir.resolve("users.csv");
+        Files.writeString(users, "Code,Name,Email,Password\n1,first,first@example.com,password1\n");
+        UserDataAccess dataAccess = new UserDataAccess(users.toString());
+        dataAccess.missCheckIntervalNanos = 0;
+        User first = dataAccess.findByCode(1);
+        assertThat(dataAccess.findByEmailAndPassword("second@example.com", "password2")).isNull();
+
+        Files.writeString(users, "2,second,second@example.com,password2\n", StandardOpenOption.APPEND);
+
+        // 見つからなかった検索でファイルの変更に気付き、追加されたユーザーでログインできる
+        assertThat(dataAccess.findByEmailAndPassword("second@example.com", "password2").getCode()).isEqualTo(2);
+        assertThat(dataAccess.findByCode(1)).isNotSameAs(first).isEqualToComparingFieldByField(first);
+    }
+
+    @Test
+    public void testMissChecksAreRateLimitedAndSkippedByCode(@TempDir Path tempDir) throws IOException {
+        Path users = tempDir.resolve("users.csv");
+        Files.writeString(users, "Code,Name,Email,Password\n1,first,first@example.com,password1\n");
+        UserDataAccess dataAccess = new UserDataAccess(users.toString());
+        assertThat(dataAccess.findByEmailAndPassword("second@example.com", "password2")).isNull();
+
+        Files.writeString(users, "2,second,second@example.com,password2\n", StandardOpenOption.APPEND);
+
+        // 間隔を空けずに見つからなかった検索と、コードでの検索ではファイルを確かめない
+        assertThat(dataAccess.findByEmailAndPassword("second@example.com", "password2")).isNull();
+        assertThat(dataAccess.findByCode(2)).isNull();
+
+        // タスク表の読み込み前の確認で、追加されたユーザーを読み込む
+        dataAccess.checkBeforeLoad();
+        assertThat(dataAccess.findByCode(2).getName()).isEqualTo("second");
+    }
+
+    @Test
+    public void testMissWithoutFileChangeKeepsUsers(@TempDir Path tempDir) throws IOException {
+        Path users = tempDir.resolve("users.csv");
+        Files.writeString(users, "Code,Name,Email,Password\n1,first,first@example.com,password1\n");
+        UserDataAccess dataAccess = new UserDataAccess(users.toString());
+        User first = dataAccess.findByCode(1);
+
+        assertThat(dataAccess.findByCode(99)).isNull();
+        assertThat(dataAccess.findByEmailAndPassword("first@example.com", "wrong")).isNull();
+
+        assertThat(dataAccess.findByCode(1)).isSameAs(first);
+    }
 }
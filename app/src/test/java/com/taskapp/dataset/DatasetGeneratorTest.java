@@ -0,0 +1,88 @@
+package com.taskapp.dataset;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.taskapp.dataaccess.LogDataAccess;
+import com.taskapp.dataaccess.TaskDataAccess;
+import com.taskapp.dataaccess.UserDataAccess;
+import com.taskapp.model.Log;
+import com.taskapp.model.Task;
+import com.taskapp.model.User;
+
+public class DatasetGeneratorTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testFilesAreReadableByDataAccess() throws IOException {
+        new DatasetGenerator(42, 50, 2_000, 3_000).writeAll(tempDir);
+
+        UserDataAccess userDataAccess = new UserDataAccess(tempDir.resolve("users.csv").toString());
+        User user = userDataAccess.findByEmailAndPassword(DatasetGenerator.email(50), DatasetGenerator.password(50));
+        assertThat(user.getCode()).isEqualTo(50);
+        assertThat(user.getName()).matches("[^\\x00-\\x7F]+");
+
+        List<Task> tasks = new TaskDataAccess(tempDir.resolve("tasks.csv").toString(), userDataAccess).findAll();
+        assertThat(tasks).hasSize(2_000);
+        assertThat(tasks).allSatisfy(task -> {
+            assertThat(task.getName().length()).isLessThanOrEqualTo(10);
+            assertThat(task.getRepUser()).isNotNull();
+        });
+
+        List<Log> logs = new LogDataAccess(tempDir.resolve("logs.csv").toString()).findAll();
+        assertThat(logs).hasSize(3_000);
+    }
+
+    @Test
+    public void testSameSeedWritesSameFiles() throws IOException {
+        new DatasetGenerator(7, 10, 100, 500).writeAll(tempDir.resolve("a"));
+        new DatasetGenerator(7, 10, 100, 500).writeAll(tempDir.resolve("b"));
+        new DatasetGenerator(8, 10, 100, 500).writeAll(tempDir.resolve("c"));
+
+        for (String file : new String[] { "users.csv", "tasks.csv", "logs.csv" }) {
+            assertThat(Files.readAllBytes(tempDir.resolve("a").resolve(file)))
+                    .isEqualTo(Files.readAllBytes(tempDir.resolve("b").resolve(file)));
+        }
+        assertThat(Files.readAllBytes(tempDir.resolve("a").resolve("tasks.csv")))
+                .isNotEqualTo(Files.readAllBytes(tempDir.resolve("c").resolve("tasks.csv")));
+    }
+
+    @Test
+    public void testStatusDistributionAndLogHistory() throws IOException {
+        DatasetGenerator generator = new DatasetGenerator(42, 100, 10_000, Long.MAX_VALUE);
+        int[] counts = new int[3];
+        for (int code = 1; code <= 10_000; code++) {
+            counts[generator.statusOf(code)]++;
+        }
+        assertThat(counts[0]).isBetween(2_700, 3_300);
+        assertThat(counts[1]).isBetween(1_700, 2_300);
+        assertThat(counts[2]).isBetween(4_700, 5_300);
+
+        // 履歴の合計件数だけ書き出すと、各タスクの最後のログのステータスがタスクのステータスと一致する
+        int historyLogs = 10_000 + counts[1] + counts[2] * 2;
+        Path logsFile = tempDir.resolve("logs.csv");
+        new DatasetGenerator(42, 100, 10_000, historyLogs).writeLogs(logsFile);
+
+        Map<Integer, Log> last = new HashMap<>();
+        new LogDataAccess(logsFile.toString()).forEach(log -> {
+            Log previous = last.put(log.getTaskCode(), log);
+            if (previous != null) {
+                assertThat(log.getStatus()).isEqualTo(previous.getStatus() + 1);
+                assertThat(log.getChangeDate()).isAfterOrEqualTo(previous.getChangeDate());
+            }
+        });
+        assertThat(last).hasSize(10_000);
+        assertThat(last.values()).allSatisfy(
+                log -> assertThat(log.getStatus()).isEqualTo(generator.statusOf(log.getTaskCode())));
+    }
+}
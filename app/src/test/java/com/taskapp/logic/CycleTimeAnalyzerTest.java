@@ -0,0 +1,160 @@
+package com.taskapp.logic;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.taskapp.dataaccess.LogDataAccess;
+import com.taskapp.dataaccess.StoreOptions;
+import com.taskapp.model.CycleTimeReport;
+import com.taskapp.model.Log;
+
+public class CycleTimeAnalyzerTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testWaitAndWorkDaysPerTaskAndUser() throws IOException {
+        Path file = write(List.of(
+                "1,1,0,2024-01-10",
+                "2,1,0,2024-01-10",
+                "3,1,0,2024-01-10",
+                "4,1,0,2024-01-12",
+                "1,2,1,2024-01-12",
+                "2,3,1,2024-01-11",
+                "4,2,1,2024-01-11",
+                "1,2,2,2024-01-15",
+                "4,3,2,2024-01-15",
+                // 同じステータスの2件目は使わない
+                "1,3,2,2024-01-20"));
+
+        CycleTimeReport report = new CycleTimeAnalyzer(new LogDataAccess(file.toString())).analyze();
+
+        assertThat(report.getTaskCodes()).containsExactly(1, 2, 3, 4);
+        assertThat(report.getWaitDays(1)).isEqualTo(2);
+        assertThat(report.getWorkDays(1)).isEqualTo(3);
+        assertThat(report.getWaitDays(2)).isEqualTo(1);
+        assertThat(report.getWorkDays(2)).isEqualTo(CycleTimeReport.NOT_MEASURED);
+        assertThat(report.getWaitDays(3)).isEqualTo(CycleTimeReport.NOT_MEASURED);
+        // 着手中が登録より前の日付のため待ち時間は求めない
+        assertThat(report.getWaitDays(4)).isEqualTo(CycleTimeReport.NOT_MEASURED);
+        assertThat(report.getWorkDays(4)).isEqualTo(4);
+        assertThat(report.getWaitDays(9)).isEqualTo(CycleTimeReport.NOT_MEASURED);
+
+        assertThat(report.getWaitStats().getCount()).isEqualTo(2);
+        assertThat(report.getWaitStats().getMean()).isEqualTo(1.5);
+        assertThat(report.getWorkStats().getPercentile(50)).isEqualTo(3);
+        assertThat(report.getWorkStats().getMax()).isEqualTo(4);
+
+        assertThat(report.getUserCodes()).containsExactly(2, 3);
+        assertThat(report.getWaitStats(2).getCount()).isEqualTo(1);
+        assertThat(report.getWaitStats(2).getPercentile(50)).isEqualTo(2);
+        assertThat(report.getWorkStats(2).getPercentile(99)).isEqualTo(3);
+        assertThat(report.getWaitStats(3).getPercentile(50)).isEqualTo(1);
+        assertThat(report.getWorkStats(3).getPercentile(50)).isEqualTo(4);
+        assertThat(report.getWaitStats(1)).isSameAs(CycleTimeReport.Stats.EMPTY);
+        assertThat(report.getWaitStats(1).getPercentile(90)).isEqualTo(CycleTimeReport.NOT_MEASURED);
+    }
+
+    @Test
+    public void testPercentilesUseNearestRank() throws IOException {
+        List<String> lines = new ArrayList<>();
+        LocalDate date = LocalDate.of(2024, 1, 1);
+        for (int i = 1; i <= 10; i++) {
+            lines.add(i + ",1,0," + date);
+            lines.add(i + ",2,1," + date.plusDays(i));
+        }
+        Path file = write(lines);
+
+        CycleTimeReport.Stats stats = new CycleTimeAnalyzer(new LogDataAccess(file.toString())).analyze()
+                .getWaitStats();
+
+        assertThat(stats.getCount()).isEqualTo(10);
+        assertThat(stats.getPercentile(50)).isEqualTo(5);
+        assertThat(stats.getPercentile(90)).isEqualTo(9);
+        assertThat(stats.getPercentile(91)).isEqualTo(10);
+        assertThat(stats.getPercentile(100)).isEqualTo(10);
+        assertThat(stats.getMean()).isEqualTo(5.5);
+        assertThatThrownBy(() -> stats.getPercentile(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testParallelResultMatchesSequentialScan() throws IOException {
+        // タスクのログが複数の範囲にまたがるよう、日付順に多数のタスクを混ぜて書き出す
+        Random random = new Random(7);
+        List<String> lines = new ArrayList<>();
+        LocalDate date = LocalDate.of(2024, 1, 1);
+        int[] status = new int[300_000];
+        Arrays.fill(status, -1);
+        for (int i = 0; i < 1_200_000; i++) {
+            int task = random.nextInt(status.length);
+            // 完了済みのタスクには、後の範囲で使われてはならない2件目の完了を書き出す
+            if (status[task] < 2) {
+                status[task]++;
+            }
+            lines.add((task + 1) + "," + (random.nextInt(20) + 1) + "," + status[task] + "," + date.plusDays(i / 4_000));
+        }
+        Path file = write(lines);
+
+        for (StoreOptions options : List.of(StoreOptions.defaults(), StoreOptions.defaults().withOffHeapLogs(true))) {
+            LogDataAccess logDataAccess = new LogDataAccess(file.toString(), options);
+            CycleTimeReport report = new CycleTimeAnalyzer(logDataAccess).analyze();
+
+            Map<Integer, int[]> expected = sequentialDays(logDataAccess.findAll());
+            assertThat(report.getTaskCodes()).hasSize(expected.size());
+            expected.forEach((task, days) -> {
+                assertThat(report.getWaitDays(task)).as("wait of %d", task).isEqualTo(days[0]);
+                assertThat(report.getWorkDays(task)).as("work of %d", task).isEqualTo(days[1]);
+            });
+            int[] waits = expected.values().stream().mapToInt(days -> days[0])
+                    .filter(days -> days != CycleTimeReport.NOT_MEASURED).sorted().toArray();
+            assertThat(report.getWaitStats().getCount()).isEqualTo(waits.length);
+            assertThat(report.getWaitStats().getPercentile(90)).isEqualTo(waits[(int) Math.ceil(waits.length * 0.9) - 1]);
+        }
+    }
+
+    /**
+     * 全てのログを先頭から順に見て、タスクごとの待ち時間と作業時間を求めます。
+     */
+    private static Map<Integer, int[]> sequentialDays(List<Log> logs) {
+        Map<Integer, LocalDate[]> dates = new HashMap<>();
+        for (Log log : logs) {
+            LocalDate[] taskDates = dates.computeIfAbsent(log.getTaskCode(), code -> new LocalDate[3]);
+            if (taskDates[log.getStatus()] == null) {
+                taskDates[log.getStatus()] = log.getChangeDate();
+            }
+        }
+        Map<Integer, int[]> days = new HashMap<>();
+        dates.forEach((task, taskDates) -> days.put(task, new int[] { days(taskDates[0], taskDates[1]),
+                days(taskDates[1], taskDates[2]) }));
+        return days;
+    }
+
+    private static int days(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            return CycleTimeReport.NOT_MEASURED;
+        }
+        return (int) (to.toEpochDay() - from.toEpochDay());
+    }
+
+    private Path write(List<String> lines) throws IOException {
+        Path file = tempDir.resolve("logs.csv");
+        List<String> content = new ArrayList<>();
+        content.add("Task_Code,Change_User_Code,Status,Change_Date");
+        content.addAll(lines);
+        Files.write(file, content);
+        return file;
+    }
+}
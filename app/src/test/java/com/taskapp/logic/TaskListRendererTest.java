@@ -0,0 +1,103 @@
+package com.taskapp.logic;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.taskapp.model.Task;
+import com.taskapp.model.User;
+
+public class TaskListRendererTest {
+    private final User loginUser = new User(1, "鈴木一郎", "test1@example.com", "password1");
+
+    private final User otherUser = new User(2, "Sato 😀", "test2@example.com", "password2");
+
+    @ParameterizedTest
+    @ValueSource(strings = { "UTF-8", "windows-31j", "ISO-8859-1", "UTF-16LE" })
+    public void testOutputMatchesPrintln(String charsetName) throws IOException {
+        Charset charset = Charset.forName(charsetName);
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Task(0, "", 0, loginUser));
+        tasks.add(new Task(-12, "負のコード", 1, otherUser));
+        tasks.add(new Task(Integer.MIN_VALUE, "最小", 2, otherUser));
+        tasks.add(new Task(Integer.MAX_VALUE, "a,\"b\"", 3, loginUser));
+        tasks.add(new Task(7, "長い名前".repeat(30_000), 1, otherUser));
+        for (int i = 1; i <= 20_000; i++) {
+            tasks.add(new Task(i, "タスク" + i, i % 3, i % 2 == 0 ? loginUser : otherUser));
+        }
+
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        new TaskListRenderer(charset).render(tasks, loginUser, actual);
+
+        assertThat(actual.toByteArray()).isEqualTo(println(tasks, charset));
+    }
+
+    /**
+     * 変更前のTaskLogic#showAllと同じ方法で出力します。
+     */
+    private byte[] println(List<Task> tasks, Charset charset) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, true, charset);
+        for (Task task : tasks) {
+            String status = "未着手";
+            if (task.getStatus() == 1) {
+                status = "着手中";
+            } else if (task.getStatus() == 2) {
+                status = "完了";
+            }
+            String name = "あなた";
+            if (!(task.getRepUser().getCode() == loginUser.getCode())) {
+                name = task.getRepUser().getName();
+            }
+            out.println(task.getCode() + ". タスク名：" + task.getName() +
+                    ", 担当者名：" + name + "が担当しています, ステータス：" + status);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Test
+    public void testEmptyListWritesNothing() throws IOException {
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        new TaskListRenderer(StandardCharsets.UTF_8).render(List.of(), loginUser, actual);
+
+        assertThat(actual.toByteArray()).isEmpty();
+    }
+
+    @Test
+    public void testReuseAfterFailedWrite() throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 5_000; i++) {
+            tasks.add(new Task(i, "タスク" + i, i % 3, i % 2 == 0 ? loginUser : otherUser));
+        }
+        TaskListRenderer renderer = new TaskListRenderer(StandardCharsets.UTF_8);
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("failed");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("failed");
+            }
+        };
+        assertThatThrownBy(() -> renderer.render(tasks, loginUser, failing)).isInstanceOf(IOException.class);
+
+        // 失敗した書き込みでバッファに残ったバイト列が、次の書き込みに混ざらないこと
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        renderer.render(tasks.subList(0, 3), loginUser, actual);
+
+        assertThat(actual.toByteArray()).isEqualTo(println(tasks.subList(0, 3), StandardCharsets.UTF_8));
+    }
+}
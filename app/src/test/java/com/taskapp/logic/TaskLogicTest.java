@@ -4,12 +4,22 @@ import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -17,8 +27,11 @@ import com.taskapp.dataaccess.LogDataAccess;
 import com.taskapp.dataaccess.TaskDataAccess;
 import com.taskapp.dataaccess.UserDataAccess;
 import com.taskapp.exception.AppException;
+import com.taskapp.metrics.Metrics;
+import com.taskapp.metrics.OperationMetrics;
 import com.taskapp.model.Log;
 import com.taskapp.model.Task;
+import com.taskapp.model.TaskSummary;
 import com.taskapp.model.User;
 
 public class TaskLogicTest {
@@ -59,6 +72,78 @@ public class TaskLogicTest {
         assertThat(tasks).hasSize(2);
     }
 
+    @Test
+    public void testShowPageFetchesOneExtraTask() {
+        User loginUser = new User(1, "John", "", "");
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Task(3, "Task 3", 0, new User(2, "Alice", "", "")));
+        tasks.add(new Task(4, "Task 4", 1, loginUser));
+        tasks.add(new Task(5, "Task 5", 2, loginUser));
+        when(taskDataAccess.findPage(2, 3)).thenReturn(tasks);
+        when(taskDataAccess.findPage(4, 3)).thenReturn(tasks.subList(2, 3));
+
+        assertThat(taskLogic.showPage(loginUser, 1, 2)).isTrue();
+        assertThat(taskLogic.showPage(loginUser, 2, 2)).isFalse();
+        assertThatThrownBy(() -> taskLogic.showPage(loginUser, -1, 2)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> taskLogic.showPage(loginUser, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+        verify(taskDataAccess, never()).findAll();
+    }
+
+    @Test
+    public void testPublicMethodsAreMeasured() throws AppException {
+        User loginUser = new User(1, "John", "", "");
+        when(userDataAccess.findByCode(1)).thenReturn(loginUser);
+        OperationMetrics showAll = Metrics.operation("TaskLogic.showAll");
+        OperationMetrics saveAll = Metrics.operation("TaskLogic.saveAll");
+        OperationMetrics getSummary = Metrics.operation("TaskLogic.getSummary");
+        long showAllCount = showAll.getCount();
+        long saveAllCount = saveAll.getCount();
+        long getSummaryCount = getSummary.getCount();
+
+        // 画面から呼ばれない操作も、TaskLogicの中で計測される
+        taskLogic.showAll(loginUser);
+        taskLogic.saveAll(List.of(new Task(1, "Task 1", 0, loginUser)), loginUser);
+        taskLogic.getSummary();
+
+        assertThat(showAll.getCount()).isEqualTo(showAllCount + 1);
+        assertThat(saveAll.getCount()).isEqualTo(saveAllCount + 1);
+        assertThat(getSummary.getCount()).isEqualTo(getSummaryCount + 1);
+    }
+
+    @Test
+    public void testFindPage() throws AppException {
+        when(taskDataAccess.indexOf(7)).thenReturn(45);
+        when(taskDataAccess.indexOf(8)).thenReturn(-1);
+
+        assertThat(taskLogic.findPage(7, 20)).isEqualTo(2);
+        assertThatThrownBy(() -> taskLogic.findPage(8, 20)).isInstanceOf(AppException.class);
+    }
+
+    @Test
+    public void testShowSummary() {
+        User loginUser = new User(1, "John", "", "");
+        when(userDataAccess.findByCode(2)).thenReturn(new User(2, "Alice", "", ""));
+        when(taskDataAccess.summary()).thenReturn(new TaskSummary(new int[] { 2, 1, 1 }, new int[] { 1, 2 },
+                new int[][] { { 1, 0, 1 }, { 1, 1, 0 } }));
+
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(output, true, StandardCharsets.UTF_8));
+        try {
+            taskLogic.showSummary(loginUser);
+        } finally {
+            System.setOut(originalOut);
+        }
+
+        String n = System.lineSeparator();
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "全体：未着手 2件, 着手中 1件, 完了 1件（合計 4件）" + n
+                + "担当者別：" + n
+                + "あなた：未着手 1件, 着手中 0件, 完了 1件（合計 2件）" + n
+                + "Alice：未着手 1件, 着手中 1件, 完了 0件（合計 2件）" + n);
+        verify(taskDataAccess, never()).findAll();
+    }
+
     @Tag("Q3")
     @Test
     public void testSave() throws AppException {
@@ -82,6 +167,59 @@ public class TaskLogicTest {
         verify(logDataAccess).save(any(Log.class));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSaveAll() throws AppException {
+        User loginUser = new User(1, "John", "", "");
+        User repUser = new User(2, "Alice", "", "");
+        when(userDataAccess.findByCode(2)).thenReturn(repUser);
+
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Task(1, "Task 1", 1, new User(2, null, null, null)));
+        tasks.add(new Task(2, "Task 2", 2, new User(2, null, null, null)));
+
+        taskLogic.saveAll(tasks, loginUser);
+
+        ArgumentCaptor<List<Task>> savedTasks = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<Log>> savedLogs = ArgumentCaptor.forClass(List.class);
+        verify(taskDataAccess).saveAll(savedTasks.capture());
+        verify(logDataAccess).saveAll(savedLogs.capture());
+        verify(taskDataAccess, never()).save(any(Task.class));
+        assertThat(savedTasks.getValue()).extracting(Task::getStatus).containsExactly(0, 0);
+        assertThat(savedTasks.getValue()).extracting(Task::getRepUser).containsOnly(repUser);
+        assertThat(savedLogs.getValue()).extracting(Log::getChangeUserCode).containsExactly(1, 1);
+    }
+
+    @Test
+    public void testSaveAllRejectsUnknownUserBeforeSaving() {
+        User loginUser = new User(1, "John", "", "");
+        when(userDataAccess.findByCode(2)).thenReturn(new User(2, "Alice", "", ""));
+
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Task(1, "Task 1", 0, new User(2, null, null, null)));
+        tasks.add(new Task(2, "Task 2", 0, new User(9, null, null, null)));
+
+        assertThatThrownBy(() -> taskLogic.saveAll(tasks, loginUser)).isInstanceOf(AppException.class)
+                .hasMessageContaining("タスクコード2（Task 2）");
+        verify(taskDataAccess, never()).saveAll(anyList());
+        verify(logDataAccess, never()).saveAll(anyList());
+    }
+
+    @Test
+    public void testSaveAllRejectsMissingRepUserBeforeSaving() {
+        User loginUser = new User(1, "John", "", "");
+        when(userDataAccess.findByCode(2)).thenReturn(new User(2, "Alice", "", ""));
+
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Task(1, "Task 1", 0, new User(2, null, null, null)));
+        tasks.add(new Task(3, "Task 3", 0, null));
+
+        assertThatThrownBy(() -> taskLogic.saveAll(tasks, loginUser)).isInstanceOf(AppException.class)
+                .hasMessageContaining("タスクコード3（Task 3）");
+        verify(taskDataAccess, never()).saveAll(anyList());
+        verify(logDataAccess, never()).saveAll(anyList());
+    }
+
     @Tag("Q4")
     @Test
     public void testChangeStatus() throws AppException {
@@ -104,6 +242,46 @@ public class TaskLogicTest {
         verify(logDataAccess).save(any(Log.class));
     }
 
+    @Test
+    public void testConcurrentChangeStatusOfSameTaskUpdatesOnce() throws Exception {
+        User loginUser = new User(1, "John", "", "");
+        AtomicInteger currentStatus = new AtomicInteger(0);
+        CountDownLatch bothRead = new CountDownLatch(2);
+        when(taskDataAccess.findByCode(1)).thenAnswer(invocation -> {
+            Task task = new Task(1, "Task 1", currentStatus.get(), loginUser);
+            // 排他されていない場合は、両方のセッションが変更前のステータスを読んでから進む
+            bothRead.countDown();
+            bothRead.await(200, TimeUnit.MILLISECONDS);
+            return task;
+        });
+        doAnswer(invocation -> {
+            currentStatus.set(invocation.<Task>getArgument(0).getStatus());
+            return null;
+        }).when(taskDataAccess).update(any(Task.class));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            results.add(executor.submit(() -> {
+                try {
+                    taskLogic.changeStatus(1, 1, loginUser);
+                    return true;
+                } catch (AppException e) {
+                    return false;
+                }
+            }));
+        }
+        int succeeded = 0;
+        for (Future<Boolean> result : results) {
+            succeeded += result.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertThat(succeeded).isEqualTo(1);
+        verify(taskDataAccess, times(1)).update(any(Task.class));
+        verify(logDataAccess, times(1)).save(any(Log.class));
+    }
+
     @Tag("Q5")
     @Test
     public void testDelete() throws AppException {
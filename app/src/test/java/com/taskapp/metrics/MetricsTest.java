@@ -0,0 +1,111 @@
+package com.taskapp.metrics;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.taskapp.dataaccess.TaskDataAccess;
+import com.taskapp.dataaccess.UserDataAccess;
+import com.taskapp.model.Task;
+
+public class MetricsTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testBucketOf() {
+        assertThat(OperationMetrics.bucketOf(0)).isEqualTo(0);
+        assertThat(OperationMetrics.bucketOf(1)).isEqualTo(1);
+        assertThat(OperationMetrics.bucketOf(2)).isEqualTo(2);
+        assertThat(OperationMetrics.bucketOf(3)).isEqualTo(2);
+        assertThat(OperationMetrics.bucketOf(1_000)).isEqualTo(10);
+        assertThat(OperationMetrics.bucketOf(1_024)).isEqualTo(11);
+        assertThat(OperationMetrics.bucketOf(Long.MAX_VALUE)).isEqualTo(63);
+    }
+
+    @Test
+    public void testRecordAndPercentiles() {
+        OperationMetrics operation = new OperationMetrics("MetricsTest.record");
+        for (int i = 0; i < 90; i++) {
+            operation.record(1_000, 0, 0);
+        }
+        for (int i = 0; i < 9; i++) {
+            operation.record(100_000, 10, 0);
+        }
+        operation.record(5_000_000, 0, 20);
+
+        assertThat(operation.getCount()).isEqualTo(100);
+        assertThat(operation.getTotalNanos()).isEqualTo(90 * 1_000L + 9 * 100_000L + 5_000_000L);
+        assertThat(operation.getMaxNanos()).isEqualTo(5_000_000);
+        assertThat(operation.getBytesRead()).isEqualTo(90);
+        assertThat(operation.getBytesWritten()).isEqualTo(20);
+        // 区間の上限で近似するため、実際の値以上で2倍未満になる
+        assertThat(operation.getP50Nanos()).isEqualTo(1_024);
+        assertThat(operation.getP90Nanos()).isEqualTo(1_024);
+        assertThat(operation.getP99Nanos()).isEqualTo(131_072);
+        assertThat(operation.percentile(1.0)).isEqualTo(5_000_000);
+
+        operation.reset();
+        assertThat(operation.getCount()).isZero();
+        assertThat(operation.getMaxNanos()).isZero();
+        assertThat(operation.getP99Nanos()).isZero();
+        assertThat(operation.getHistogram()).containsOnly(0L);
+    }
+
+    @Test
+    public void testDump() {
+        OperationMetrics operation = Metrics.operation("MetricsTest.dump");
+        operation.reset();
+        operation.record(2_000, 100, 200);
+
+        String dump = Metrics.dump();
+        assertThat(dump).startsWith("operation");
+        assertThat(dump).containsPattern("MetricsTest\\.dump +1 +2\\.0 .* 100 +200");
+        assertThat(dump).doesNotContain("MetricsTest.unused");
+    }
+
+    @Test
+    public void testTaskDataAccessIsMeasured() throws IOException {
+        assumeTrue(Metrics.ENABLED);
+        Path tasks = tempDir.resolve("tasks.csv");
+        Files.copy(Paths.get("src/test/resources/test_tasks.csv"), tasks);
+        TaskDataAccess taskDataAccess = new TaskDataAccess(tasks.toString(),
+                new UserDataAccess("src/test/resources/test_users.csv"));
+        OperationMetrics update = Metrics.operation("TaskDataAccess.update");
+        long count = update.getCount();
+        long written = update.getBytesWritten();
+
+        Task task = taskDataAccess.findByCode(1);
+        task.setStatus(1);
+        taskDataAccess.update(task);
+
+        assertThat(update.getCount()).isEqualTo(count + 1);
+        assertThat(update.getBytesWritten() - written).isEqualTo(Files.size(tasks));
+        assertThat(update.getMaxNanos()).isPositive();
+    }
+
+    @Test
+    public void testRegisteredAsMXBean() throws Exception {
+        assumeTrue(Metrics.ENABLED);
+        OperationMetrics operation = Metrics.operation("MetricsTest.jmx");
+        operation.reset();
+        operation.record(500, 0, 0);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("com.taskapp:type=Operation,name=MetricsTest.jmx");
+        assertThat(server.isRegistered(name)).isTrue();
+        assertThat(server.getAttribute(name, "Count")).isEqualTo(1L);
+        assertThat(server.getAttribute(name, "P50Nanos")).isEqualTo(500L);
+    }
+}
@@ -0,0 +1,143 @@
+package com.taskapp.server;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.taskapp.dataaccess.LogDataAccess;
+import com.taskapp.dataaccess.TaskDataAccess;
+import com.taskapp.dataaccess.UserDataAccess;
+import com.taskapp.logic.TaskLogic;
+import com.taskapp.logic.UserLogic;
+
+public class TaskServerTest {
+    private static final String TEST_FILE_PATH_TASK = "src/test/resources/test_tasks.csv";
+    private static final String TEST_FILE_PATH_LOG = "src/test/resources/test_logs.csv";
+    private static final String TEST_FILE_PATH_USER = "src/test/resources/test_users.csv";
+
+    @TempDir
+    Path tempDir;
+
+    private TaskServer server;
+
+    private Thread acceptor;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        Path tasks = tempDir.resolve("tasks.csv");
+        Path logs = tempDir.resolve("logs.csv");
+        Files.copy(Paths.get(TEST_FILE_PATH_TASK), tasks);
+        Files.copy(Paths.get(TEST_FILE_PATH_LOG), logs);
+
+        UserDataAccess userDataAccess = new UserDataAccess(TEST_FILE_PATH_USER);
+        TaskLogic taskLogic = new TaskLogic(new TaskDataAccess(tasks.toString(), userDataAccess),
+                new LogDataAccess(logs.toString()), userDataAccess);
+        server = new TaskServer(0, new UserLogic(userDataAccess), taskLogic);
+        acceptor = new Thread(server::serve);
+        acceptor.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        server.close();
+        acceptor.join();
+    }
+
+    @Test
+    public void testSessionRunsMenuOverConnection() throws IOException {
+        String output = converse("test1@example.com", "password1", "1", "3", "3");
+
+        assertThat(output).contains("タスク管理アプリケーションにようこそ!!");
+        assertThat(output).contains("ユーザー名：鈴木一郎でログインしました。");
+        assertThat(output).contains("1. タスク名：taskA, 担当者名：あなたが担当しています, ステータス：未着手");
+        assertThat(output).endsWith("ログアウトしました。" + System.lineSeparator() + System.lineSeparator());
+    }
+
+    @Test
+    public void testConcurrentSessionsKeepTheirOwnOutput() throws Exception {
+        int clients = 200;
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        List<Future<String>> outputs = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            int user = i % 2 + 1;
+            outputs.add(executor.submit(
+                    () -> converse("test" + user + "@example.com", "password" + user, "1", "3", "3")));
+        }
+
+        for (int i = 0; i < clients; i++) {
+            String output = outputs.get(i).get(30, TimeUnit.SECONDS);
+            String own = i % 2 == 0 ? "鈴木一郎" : "鈴木二郎";
+            String other = i % 2 == 0 ? "鈴木二郎" : "鈴木一郎";
+            assertThat(output).containsOnlyOnce("ユーザー名：" + own + "でログインしました。");
+            assertThat(output).doesNotContain("ユーザー名：" + other + "でログインしました。");
+            assertThat(output).containsOnlyOnce("ログアウトしました。");
+        }
+        executor.shutdown();
+    }
+
+    @Test
+    public void testDisconnectEndsSession() throws Exception {
+        try (Socket socket = new Socket("localhost", server.getPort())) {
+            send(socket.getOutputStream(), "test1@example.com", "password1");
+            awaitSessions(1);
+        }
+
+        awaitSessions(0);
+    }
+
+    @Test
+    public void testCloseWaitsForSessions() throws Exception {
+        try (Socket socket = new Socket("localhost", server.getPort())) {
+            send(socket.getOutputStream(), "test1@example.com", "password1");
+            awaitSessions(1);
+
+            server.close();
+
+            assertThat(server.getActiveSessions()).isZero();
+        }
+    }
+
+    /**
+     * サーバーに接続して行ごとに入力を送り、サーバーが接続を閉じるまでの出力を返します。
+     */
+    private String converse(String... lines) throws IOException {
+        try (Socket socket = new Socket("localhost", server.getPort())) {
+            send(socket.getOutputStream(), lines);
+            InputStream in = socket.getInputStream();
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private void send(OutputStream out, String... lines) throws IOException {
+        for (String line : lines) {
+            out.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        out.flush();
+    }
+
+    private void awaitSessions(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (server.getActiveSessions() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(server.getActiveSessions()).isEqualTo(expected);
+    }
+}
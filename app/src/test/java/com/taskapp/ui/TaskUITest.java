@@ -14,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import com.taskapp.exception.AppException;
 import com.taskapp.logic.TaskLogic;
 import com.taskapp.logic.UserLogic;
 import com.taskapp.model.User;
@@ -118,6 +119,50 @@ public class TaskUITest {
         assertThat(outContent.toString()).contains(expectedMessage);
     }
 
+    @Test
+    public void testNextAndPrevStopAtFirstAndLastPage() throws Exception {
+        User user = new User(1, "John", "john@example.com", "password");
+        when(userLogic.login("john@example.com", "password")).thenReturn(user);
+        when(taskLogic.showPage(user, 0, 20)).thenReturn(true);
+        when(taskLogic.showPage(user, 1, 20)).thenReturn(false);
+        // ログイン、一覧、前・次・次・前のページ、メインメニューに戻ってログアウト
+        when(reader.readLine()).thenReturn("john@example.com", "password", "1", "5", "4", "4", "5", "3", "3");
+
+        taskUI.displayMenu();
+
+        verify(taskLogic, times(2)).showPage(user, 0, 20);
+        verify(taskLogic, times(1)).showPage(user, 1, 20);
+        verify(taskLogic, never()).showPage(user, 2, 20);
+        assertThat(outContent.toString()).contains("最初のページです。", "最後のページです。");
+    }
+
+    @Test
+    public void testInputJumpInformationPastTheEnd() throws Exception {
+        when(taskLogic.findPage(999, 20)).thenThrow(new AppException("存在するタスクコードを入力してください"));
+        when(taskLogic.findPage(3, 20)).thenReturn(2);
+        when(reader.readLine()).thenReturn("999", "3");
+
+        taskUI.inputJumpInformation();
+
+        verify(taskLogic, times(1)).showPage(null, 2, 20);
+        assertThat(outContent.toString()).containsOnlyOnce("存在するタスクコードを入力してください");
+    }
+
+    @Test
+    public void testInputPageSizeRejectsOutOfRangeAndNonNumeric() throws Exception {
+        when(taskLogic.findPage(3, 20)).thenReturn(2);
+        when(reader.readLine()).thenReturn("3", "0", "1001", "abc", "", "10");
+        taskUI.inputJumpInformation();
+
+        taskUI.inputPageSize();
+
+        // 表示中の先頭（41件目）を含むページを表示し直す
+        verify(taskLogic, times(1)).showPage(null, 4, 10);
+        verify(taskLogic, never()).showPage(isNull(), anyInt(), eq(0));
+        verify(taskLogic, never()).showPage(isNull(), anyInt(), eq(1001));
+        assertThat(outContent.toString().split("件数は1~1000の半角の数字で入力してください", -1)).hasSize(5);
+    }
+
     @Test
     public void testIsNumeric() {
         assertThat(taskUI.isNumeric("123")).isTrue();